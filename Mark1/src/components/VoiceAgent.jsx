@@ -16,7 +16,7 @@ import { rateScene } from "../utils/sceneRatingClient";
 
 import { createSubmitWordRatingTool } from "../utils/submitWordRatingTool";
 
-import { loadPendingReviewUpdates, clearPendingReviewUpdates } from "../utils/reviewSessionStorage";
+import { loadPendingReviewUpdates, clearPendingReviewUpdates, removePendingReviewUpdates } from "../utils/reviewSessionStorage";
 import { saveReviewSession } from "../utils/graphql";
 import PracticeSessionOverlay from "./PracticeSessionOverlay";
 import WordListOverlay from "./WordListOverlay";
@@ -1204,13 +1204,18 @@ function VoiceAgentContent({ onNavigateBack, userId }) {
             return { reviewedWordIds: [], difficultWordIds: [] };
         }
 
-        // Backend CardUpdateInput does NOT include rating/evidence; strip extras
-        const updates = pending.map(({ rating, evidence, ...rest }) => rest);
+        // Backend CardUpdateInput takes the rating (for the review log) but not evidence
+        const updates = pending.map(({ evidence, ...rest }) => rest);
 
         addTranscriptBreadcrumb(`Syncing ${updates.length} review updates`);
-        const result = await saveReviewSession(updates);
+        const result = await saveReviewSession(updates, userId);
 
         if (!result?.success) {
+            // Partial save: keep only the cards that failed for the next attempt
+            const savedIds = (result?.results || []).filter((r) => r.success).map((r) => r.vocabularyId);
+            if (savedIds.length) {
+                await removePendingReviewUpdates(userId, savedIds);
+            }
             throw new Error(result?.message || "saveReviewSession failed");
         }
 
@@ -56,7 +56,7 @@ async function callFsrsWithFallback(payload) {
     throw new Error(`FSRS network unavailable. Tried: ${tried.join(", ")}. Last error: ${lastError?.message || lastError}`);
 }
 
-export async function fsrsReview({ fsrsCard, rating, reviewTime = new Date() }) {
+export async function fsrsReview({ fsrsCard, rating, reviewTime = new Date(), userId = null }) {
     const payload = {
         card: {
             difficulty: fsrsCard?.difficulty ?? null,
@@ -68,6 +68,8 @@ export async function fsrsReview({ fsrsCard, rating, reviewTime = new Date() })
         },
         rating,                                                    // 1-4 (Again/Hard/Good/Easy)
         review_time: reviewTime.toISOString(),
+        // Backend /api/fsrs/review schedules with this user's fitted weights (the Python service ignores it)
+        ...(userId ? { user_id: userId } : {}),
     };
 
     const { data } = await callFsrsWithFallback(payload);
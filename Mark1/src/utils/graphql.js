@@ -169,18 +169,23 @@ export async function deleteVocabularyEntry(userId = DEFAULT_USER_ID, vocabulary
 }
 
 // Save review session updates
-export async function saveReviewSession(updates) {
+export async function saveReviewSession(updates, userId = DEFAULT_USER_ID) {
     const mutation = `
-      mutation SaveReviewSession($updates: [CardUpdateInput!]!) {
-        saveReviewSession(updates: $updates) {
+      mutation SaveReviewSession($userId: String!, $updates: [CardUpdateInput!]!) {
+        saveReviewSession(userId: $userId, updates: $updates) {
           success
           savedCount
           message
+          results {
+            vocabularyId
+            success
+            message
+          }
         }
       }
     `;
 
-    const data = await graphqlRequest(mutation, { updates });
+    const data = await graphqlRequest(mutation, { userId, updates });
     return data?.saveReviewSession;
   }
 
@@ -22,6 +22,17 @@ export async function upsertPendingReviewUpdate(userId, update) {
     return merged;
 }
 
+// Drop the updates the backend has saved; the rest stay pending for the next sync
+export async function removePendingReviewUpdates(userId, vocabularyIds) {
+    const saved = new Set(vocabularyIds);
+    const remaining = (await loadPendingReviewUpdates(userId)).filter((u) => !saved.has(u.vocabularyId));
+    if (remaining.length) {
+        await storageSet({ [keyForUser(userId)]: remaining });
+    } else {
+        await clearPendingReviewUpdates(userId);
+    }
+}
+
 export async function clearPendingReviewUpdates(userId) {
     await storageRemove([keyForUser(userId)]);
 }
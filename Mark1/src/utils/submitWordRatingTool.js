@@ -80,6 +80,7 @@ export function createSubmitWordRatingTool({ userId, getEntryById, onBreadcrumb
                 const updated = await fsrsReview({
                     fsrsCard: entry.fsrsCard,
                     rating,
+                    userId,
                 });
 
                 const updateForBackend = {
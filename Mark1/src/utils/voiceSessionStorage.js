@@ -87,12 +87,15 @@ export async function createVoiceSession(userId, { title = "New session" } = {})
     return normalizeMeta(data?.createVoiceSession);
 }
 
+// Per session: last loaded snapshot and its version, revalidated with ifNoneMatch
+const loadedSnapshots = new Map();
+
 export async function loadVoiceSessionSnapshot(userId, sessionId) {
     if (!sessionId) return null;
 
     const query = `
-      query VoiceSessionSnapshot($userId: String!, $sessionId: ID!) {
-        voiceSessionSnapshot(userId: $userId, sessionId: $sessionId) {
+      query VoiceSessionSnapshot($userId: String!, $sessionId: ID!, $ifNoneMatch: Int) {
+        voiceSessionSnapshot(userId: $userId, sessionId: $sessionId, ifNoneMatch: $ifNoneMatch) {
           sessionId
           title
           titleSource
@@ -102,14 +105,123 @@ export async function loadVoiceSessionSnapshot(userId, sessionId) {
           transcriptJson
           activeWordsJson
           runtimeContextJson
+          version
+          notModified
         }
       }
     `;
 
-    const data = await graphqlRequest(query, { userId, sessionId });
-    return normalizeSnapshot(data?.voiceSessionSnapshot);
+    const key = String(sessionId);
+    const cached = loadedSnapshots.get(key);
+    const data = await graphqlRequest(query, { userId, sessionId, ifNoneMatch: cached?.version ?? null });
+    let raw = data?.voiceSessionSnapshot;
+    if (raw?.notModified && cached) {
+        raw = cached.raw;
+    } else if (raw?.version != null) {
+        loadedSnapshots.set(key, { version: raw.version, raw });
+    } else {
+        loadedSnapshots.delete(key);
+    }
+
+    const snapshot = normalizeSnapshot(raw);
+    if (snapshot) rememberTranscript(snapshot.sessionId, snapshot.transcriptItems);
+    return snapshot;
 }
 
+// Page backwards through a transcript: omit `before` for the newest items, then pass the
+// returned startIndex while hasMore is true.
+export async function loadVoiceSessionMessages(userId, sessionId, { before = null, limit = 50 } = {}) {
+    if (!sessionId) return null;
+
+    const query = `
+      query VoiceSessionMessages($userId: String!, $sessionId: ID!, $before: Int, $limit: Int) {
+        voiceSessionMessages(userId: $userId, sessionId: $sessionId, before: $before, limit: $limit) {
+          itemsJson
+          startIndex
+          endIndex
+          transcriptLength
+          hasMore
+        }
+      }
+    `;
+
+    const data = await graphqlRequest(query, { userId, sessionId, before, limit });
+    const page = data?.voiceSessionMessages;
+    if (!page) return null;
+    return {
+        items: parseJsonString(page.itemsJson, []),
+        startIndex: page.startIndex,
+        endIndex: page.endIndex,
+        transcriptLength: page.transcriptLength,
+        hasMore: Boolean(page.hasMore),
+    };
+}
+
+// Per session: JSON of each transcript item the backend already has (from the last load/save)
+const persistedTranscripts = new Map();
+
+function rememberTranscript(sessionId, items) {
+    persistedTranscripts.set(String(sessionId), (items || []).map((item) => JSON.stringify(item)));
+}
+
+export async function appendVoiceSessionMessages({
+    userId,
+    sessionId,
+    fromIndex,
+    items = [],
+    title = null,
+    titleSource = null,
+    activeWords = null,
+    runtimeContext = null,
+}) {
+    const mutation = `
+      mutation AppendVoiceSessionMessages(
+        $userId: String!
+        $sessionId: ID!
+        $fromIndex: Int!
+        $messagesJson: String!
+        $title: String
+        $titleSource: String
+        $activeWordsJson: String
+        $runtimeContextJson: String
+      ) {
+        appendVoiceSessionMessages(
+          userId: $userId
+          sessionId: $sessionId
+          fromIndex: $fromIndex
+          messagesJson: $messagesJson
+          title: $title
+          titleSource: $titleSource
+          activeWordsJson: $activeWordsJson
+          runtimeContextJson: $runtimeContextJson
+        ) {
+          sessionId
+          title
+          titleSource
+          createdAt
+          updatedAt
+          messageCount
+        }
+      }
+    `;
+
+    const data = await graphqlRequest(mutation, {
+        userId,
+        sessionId,
+        fromIndex,
+        messagesJson: JSON.stringify(items || []),
+        title,
+        titleSource,
+        activeWordsJson: activeWords == null ? null : JSON.stringify(activeWords),
+        runtimeContextJson: runtimeContext == null ? null : JSON.stringify(runtimeContext),
+    });
+    return normalizeMeta(data?.appendVoiceSessionMessages);
+}
+
+/**
+ * Saves only the transcript tail that changed since the last save of this session,
+ * falling back to a full snapshot the first time (or if the append is rejected).
+ */
 export async function saveVoiceSessionSnapshot({
     userId,
     sessionId,
@@ -123,6 +235,37 @@ export async function saveVoiceSessionSnapshot({
         throw new Error("userId and sessionId are required");
     }
 
+    const persisted = persistedTranscripts.get(String(sessionId));
+    if (persisted) {
+        const current = (transcriptItems || []).map((item) => JSON.stringify(item));
+        let fromIndex = 0;
+        while (fromIndex < persisted.length && fromIndex < current.length && persisted[fromIndex] === current[fromIndex]) {
+            fromIndex += 1;
+        }
+        try {
+            const meta = await appendVoiceSessionMessages({
+                userId,
+                sessionId,
+                fromIndex,
+                items: (transcriptItems || []).slice(fromIndex),
+                title: title || "Untitled session",
+                titleSource,
+                activeWords: activeWords || [],
+                runtimeContext,
+            });
+            persistedTranscripts.set(String(sessionId), current);
+            return {
+                ...meta,
+                transcriptItems: transcriptItems || [],
+                activeWords: activeWords || [],
+                runtimeContext,
+            };
+        } catch (e) {
+            console.warn("transcript append failed, saving full snapshot", e);
+            persistedTranscripts.delete(String(sessionId));
+        }
+    }
+
     const mutation = `
       mutation SaveVoiceSessionSnapshot(
         $userId: String!
@@ -165,7 +308,9 @@ export async function saveVoiceSessionSnapshot({
         runtimeContextJson: runtimeContext == null ? null : JSON.stringify(runtimeContext),
     });
 
-    return normalizeSnapshot(data?.saveVoiceSessionSnapshot);
+    const snapshot = normalizeSnapshot(data?.saveVoiceSessionSnapshot);
+    if (snapshot) rememberTranscript(snapshot.sessionId, snapshot.transcriptItems);
+    return snapshot;
 }
 
 export async function updateVoiceSessionMeta(userId, sessionId, patch = {}) {
@@ -247,28 +392,95 @@ export async function clearActiveVoiceSession(userId) {
     await setActiveVoiceSession(userId, null);
 }
 
+// Per user: review progress as the backend has it (from the last load/save) and its version
+// (null when unknown). Loads revalidate it with ifNoneMatch; saves send a merge patch against it.
+const loadedReviewProgress = new Map();
+
+function isPlainObject(value) {
+    return value !== null && typeof value === "object" && !Array.isArray(value);
+}
+
+function containsNull(value) {
+    if (value === null) return true;
+    if (typeof value !== "object") return false;
+    return Object.values(value).some(containsNull);
+}
+
+// RFC 7386 merge patch turning `before` into `after`. Only valid when `after` holds no nulls
+// (a null in a merge patch means "remove").
+function createMergePatch(before, after) {
+    if (!isPlainObject(before) || !isPlainObject(after)) return after;
+    const patch = {};
+    for (const key of Object.keys(before)) {
+        if (!(key in after) || after[key] === undefined) patch[key] = null;
+    }
+    for (const [key, value] of Object.entries(after)) {
+        if (value === undefined) continue;
+        if (JSON.stringify(before[key]) === JSON.stringify(value)) continue;
+        patch[key] = createMergePatch(before[key], value);
+    }
+    return patch;
+}
+
 export async function loadGlobalReviewProgress(userId) {
     const query = `
-      query GlobalReviewProgress($userId: String!) {
-        globalReviewProgress(userId: $userId)
+      query GlobalReviewProgressState($userId: String!, $ifNoneMatch: Int) {
+        globalReviewProgressState(userId: $userId, ifNoneMatch: $ifNoneMatch) {
+          version
+          notModified
+          progressJson
+        }
       }
     `;
 
-    const data = await graphqlRequest(query, { userId });
-    return parseJsonString(data?.globalReviewProgress, null);
+    const cached = loadedReviewProgress.get(userId);
+    const data = await graphqlRequest(query, { userId, ifNoneMatch: cached?.version ?? null });
+    const state = data?.globalReviewProgressState;
+    if (state?.notModified && cached) {
+        return parseJsonString(cached.progressJson, null);
+    }
+    if (state?.version != null) {
+        loadedReviewProgress.set(userId, { version: state.version, progressJson: state.progressJson });
+    }
+    return parseJsonString(state?.progressJson, null);
 }
 
 export async function saveGlobalReviewProgress(userId, progress) {
+    const next = JSON.parse(JSON.stringify({ ...(progress || {}), updatedAt: new Date().toISOString() }));
+    const progressJson = JSON.stringify(next);
+    const known = parseJsonString(loadedReviewProgress.get(userId)?.progressJson, null);
+
+    if (isPlainObject(known) && !containsNull(next)) {
+        const patchMutation = `
+          mutation PatchGlobalReviewProgress($userId: String!, $patchJson: String!) {
+            patchGlobalReviewProgress(userId: $userId, patchJson: $patchJson) {
+              version
+            }
+          }
+        `;
+        try {
+            const data = await graphqlRequest(patchMutation, {
+                userId,
+                patchJson: JSON.stringify(createMergePatch(known, next)),
+            });
+            loadedReviewProgress.set(userId, {
+                version: data?.patchGlobalReviewProgress?.version ?? null,
+                progressJson,
+            });
+            return;
+        } catch (e) {
+            console.warn("review progress patch failed, saving in full", e);
+        }
+    }
+
     const mutation = `
       mutation SaveGlobalReviewProgress($userId: String!, $progressJson: String!) {
         saveGlobalReviewProgress(userId: $userId, progressJson: $progressJson)
       }
     `;
 
-    await graphqlRequest(mutation, {
-        userId,
-        progressJson: JSON.stringify({ ...(progress || {}), updatedAt: new Date().toISOString() }),
-    });
+    await graphqlRequest(mutation, { userId, progressJson });
+    loadedReviewProgress.set(userId, { version: null, progressJson });
 }
 
 export async function clearGlobalReviewProgress(userId) {
@@ -279,4 +491,5 @@ export async function clearGlobalReviewProgress(userId) {
     `;
 
     await graphqlRequest(mutation, { userId });
+    loadedReviewProgress.delete(userId);
 }
@@ -72,71 +72,102 @@ def review_card():
     Returns updated card with new difficulty, stability, due date.
     """
     try:
-        # Get JSON data from request body
-        data = request.json
-
-        # Parse input card data
-        card_data = data['card']
-        rating_value = data['rating']
-        review_time_str = data.get('review_time', datetime.now(timezone.utc).isoformat())
-
-        state_str = card_data.get('state', 'LEARNING')  # Default to LEARNING
-        state_map = {
-            'LEARNING': State.Learning,
-            'REVIEW': State.Review,
-            'RELEARNING': State.Relearning
-        }
-        card_state = state_map.get(state_str, State.Learning)
-
-        
-        due_str = card_data.get('due')
-        due_datetime = datetime.fromisoformat(due_str.replace('Z', '+00:00')) if due_str else datetime.now(timezone.utc)
-        due_datetime = to_utc_aware(due_datetime)
-
-        last_review_str = card_data.get('last_review')
-        last_review_datetime = datetime.fromisoformat(last_review_str.replace('Z', '+00:00')) if last_review_str else None
-        last_review_datetime = to_utc_aware(last_review_datetime)
-
-        card = Card(
-            difficulty=card_data.get('difficulty'),
-            stability=card_data.get('stability'),  
-            due=due_datetime,
-            state=card_state,
-            last_review=last_review_datetime,
-            step=card_data.get('step', 0)
-        )
-
-        # Convert rating (1-4) to Rating enum
-        rating = Rating(rating_value)
-
-        # Convert review time
-        review_time = datetime.fromisoformat(review_time_str.replace('Z', '+00:00'))
-        review_time = to_utc_aware(review_time)
-        
-        # Run FSRS algorithm 
-        updated_card, review_log = scheduler.review_card(
-            card=card,
-            rating=rating,
-            review_datetime=review_time
-        )
-
-        # Convert back to JSON
-        result = {
-            "difficulty": updated_card.difficulty,
-            "stability": updated_card.stability,
-            "state": updated_card.state.name,
-            "due": updated_card.due.astimezone(timezone.utc).isoformat(),
-            "last_review": updated_card.last_review.astimezone(timezone.utc).isoformat() if updated_card.last_review else None,
-            "step": updated_card.step
-        }
-
-        logger.info(f"Reviewed card: rating={rating_value}, old_state={card.state.name}, new_state={updated_card.state.name}")
+        result = review_one(request.json)
         return jsonify(result)
 
     except Exception as e:
         logger.error(f"Error processing review: {str(e)}")
         return jsonify({"error": str(e)}), 400
 
+@app.route('/review-batch', methods=['POST'])
+def review_batch():
+    """
+    Schedule many reviews in one request (same per-card contract as /review).
+
+    Expected JSON body:
+    {
+        "reviews": [
+            {"card": {...}, "rating": 3, "review_time": "2025-01-18T14:00:00Z"},
+            ...
+        ]
+    }
+
+    Returns {"results": [card, ...]} in request order. All or nothing: if one
+    review is invalid the response is 400 with its index.
+    """
+    data = request.json or {}
+    reviews = data.get('reviews') or []
+    results = []
+    for index, review in enumerate(reviews):
+        try:
+            results.append(review_one(review, log=False))
+        except Exception as e:
+            logger.error(f"Error processing batch review #{index}: {str(e)}")
+            return jsonify({"error": str(e), "index": index}), 400
+
+    logger.info(f"Reviewed batch: size={len(results)}")
+    return jsonify({"results": results})
+
+def review_one(data, log=True):
+    """Run one {card, rating, review_time} review and return the updated card as a dict."""
+    # Parse input card data
+    card_data = data['card']
+    rating_value = data['rating']
+    review_time_str = data.get('review_time') or datetime.now(timezone.utc).isoformat()
+
+    state_str = card_data.get('state', 'LEARNING')  # Default to LEARNING
+    state_map = {
+        'LEARNING': State.Learning,
+        'REVIEW': State.Review,
+        'RELEARNING': State.Relearning
+    }
+    card_state = state_map.get(state_str, State.Learning)
+
+    due_str = card_data.get('due')
+    due_datetime = datetime.fromisoformat(due_str.replace('Z', '+00:00')) if due_str else datetime.now(timezone.utc)
+    due_datetime = to_utc_aware(due_datetime)
+
+    last_review_str = card_data.get('last_review')
+    last_review_datetime = datetime.fromisoformat(last_review_str.replace('Z', '+00:00')) if last_review_str else None
+    last_review_datetime = to_utc_aware(last_review_datetime)
+
+    card = Card(
+        difficulty=card_data.get('difficulty'),
+        stability=card_data.get('stability'),
+        due=due_datetime,
+        state=card_state,
+        last_review=last_review_datetime,
+        step=card_data.get('step', 0)
+    )
+
+    # Convert rating (1-4) to Rating enum
+    rating = Rating(rating_value)
+
+    # Convert review time
+    review_time = datetime.fromisoformat(review_time_str.replace('Z', '+00:00'))
+    review_time = to_utc_aware(review_time)
+
+    # Run FSRS algorithm
+    updated_card, review_log = scheduler.review_card(
+        card=card,
+        rating=rating,
+        review_datetime=review_time
+    )
+
+    # Convert back to JSON
+    result = {
+        "difficulty": updated_card.difficulty,
+        "stability": updated_card.stability,
+        "state": updated_card.state.name,
+        "due": updated_card.due.astimezone(timezone.utc).isoformat(),
+        "last_review": updated_card.last_review.astimezone(timezone.utc).isoformat() if updated_card.last_review else None,
+        "step": updated_card.step
+    }
+
+    if log:
+        logger.info(f"Reviewed card: rating={rating_value}, old_state={card.state.name}, new_state={updated_card.state.name}")
+    return result
+
 if __name__ == '__main__':
     # Get port from environment variable (for Docker flexibility)
     import os
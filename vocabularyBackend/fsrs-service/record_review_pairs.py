@@ -0,0 +1,46 @@
+"""
+Record the service's outputs for the Java fixture src/test/resources/fsrs/review-pairs.json.
+
+Every {card, rating, review_time} pair goes through review_one() with a Scheduler that
+has fuzzing off (otherwise the same defaults as app.py), and the result is stored under
+"expected". FSRSDifferentialTest checks the native Java engine against these values.
+
+Usage:
+    pip install -r requirements.txt
+    python record_review_pairs.py
+"""
+import json
+import os
+from importlib.metadata import version
+
+from fsrs import Scheduler
+
+import app
+
+FIXTURE = os.path.join(os.path.dirname(os.path.abspath(__file__)),
+                       '..', 'src', 'test', 'resources', 'fsrs', 'review-pairs.json')
+EXPECTED_FIELDS = ('due', 'stability', 'difficulty', 'state', 'step')
+
+
+def main():
+    with open(FIXTURE) as f:
+        fixture = json.load(f)
+
+    app.scheduler = Scheduler(enable_fuzzing=False)
+    for pair in fixture['pairs']:
+        request = {key: pair[key] for key in ('card', 'rating', 'review_time')}
+        result = app.review_one(request, log=False)
+        pair['expected'] = {field: result[field] for field in EXPECTED_FIELDS}
+
+    recorded_with = f"py-fsrs {version('fsrs')} Scheduler(enable_fuzzing=False)"
+    with open(FIXTURE, 'w') as f:
+        f.write('{\n')
+        f.write(f'  "recorded_with": {json.dumps(recorded_with)},\n')
+        f.write('  "pairs": [\n')
+        f.write(',\n'.join('    ' + json.dumps(pair) for pair in fixture['pairs']))
+        f.write('\n  ]\n}\n')
+    print(f"Recorded {len(fixture['pairs'])} pairs with {recorded_with}")
+
+
+if __name__ == '__main__':
+    main()
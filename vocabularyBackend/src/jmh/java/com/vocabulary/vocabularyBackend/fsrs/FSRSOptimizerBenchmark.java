@@ -0,0 +1,78 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inner loop of the per-user weight fit: one pass of {@link FSRSOptimizer#logLoss} over a
+ * synthetic history (cards x reviews, simulated with the default weights). A fit costs
+ * (2 x 21 + 1) of these per Adam step.
+ * <p>
+ * ./gradlew jmh -PjmhArgs='FSRSOptimizerBenchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FSRSOptimizerBenchmark {
+
+    @Param({"1000"})
+    int cards;
+
+    @Param({"10"})
+    int reviewsPerCard;
+
+    private FSRSOptimizer optimizer;
+    private ReviewHistory history;
+    private double[] weights;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FSRSParameters parameters = FSRSParameters.defaults();
+        optimizer = new FSRSOptimizer(parameters, 0, 0.04, 1.0);
+        weights = parameters.weights();
+
+        SplittableRandom random = new SplittableRandom(42);
+        ReviewHistory.Builder builder = ReviewHistory.builder();
+        for (int c = 0; c < cards; c++) {
+            int rating = 1 + random.nextInt(4);
+            builder.first(rating);
+            double s = parameters.initialStability(rating);
+            double d = parameters.initialDifficulty(rating);
+            for (int r = 1; r < reviewsPerCard; r++) {
+                int elapsed = Math.max(1, (int) Math.round(parameters.nextIntervalDays(s) * (0.5 + random.nextDouble())));
+                double retrievability = parameters.retrievability(elapsed, s);
+                rating = random.nextDouble() < retrievability ? 2 + random.nextInt(3) : 1;
+                builder.next(elapsed, rating);
+                s = parameters.nextStability(d, s, retrievability, rating);
+                d = parameters.nextDifficulty(d, rating);
+            }
+        }
+        history = builder.build();
+    }
+
+    @Benchmark
+    public double logLoss() {
+        return optimizer.logLoss(history, weights);
+    }
+
+    @Benchmark
+    public double regularizedLoss() {
+        return optimizer.loss(history, weights);
+    }
+}
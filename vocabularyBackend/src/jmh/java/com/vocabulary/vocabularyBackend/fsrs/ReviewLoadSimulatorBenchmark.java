@@ -0,0 +1,86 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.vocabulary.vocabularyBackend.model.FSRSState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One reviewLoadForecast simulation: a synthetic deck (10% new cards, the rest due somewhere
+ * within their current interval) played forward for days x trajectories. Trajectories run on
+ * a pool with one thread per core, like ReviewLoadForecastService's default.
+ * <p>
+ * ./gradlew jmh -PjmhArgs='ReviewLoadSimulatorBenchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewLoadSimulatorBenchmark {
+
+    private static final long TODAY = 20_000;
+    private static final double[] PERCENTILES = {0.1, 0.25, 0.5, 0.75, 0.9};
+
+    @Param({"10000"})
+    int cards;
+
+    @Param({"30"})
+    int days;
+
+    @Param({"250"})
+    int trajectories;
+
+    private ReviewLoadSimulator simulator;
+    private DeckColumns deck;
+    private ReviewLoadSimulator.Scenario scenario;
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FSRSParameters parameters = FSRSParameters.defaults();
+        simulator = new ReviewLoadSimulator(parameters, true);
+        scenario = new ReviewLoadSimulator.Scenario(days, trajectories, 0, 0);
+
+        SplittableRandom random = new SplittableRandom(42);
+        DeckColumns.Builder builder = DeckColumns.builder(cards);
+        for (int c = 0; c < cards; c++) {
+            if (random.nextInt(10) == 0) {
+                builder.addNew(TODAY);
+                continue;
+            }
+            double stability = 0.5 + random.nextDouble() * 120;
+            int interval = parameters.nextIntervalDays(stability);
+            long due = TODAY - random.nextInt(3) + random.nextInt(interval + 1);
+            builder.addReviewed(due, due - interval, stability, 1 + random.nextDouble() * 9, FSRSState.REVIEW);
+        }
+        deck = builder.build();
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public ReviewLoadSimulator.Forecast simulate() {
+        return simulator.simulate(deck, TODAY, scenario, PERCENTILES, seed++, pool);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @SpringBootApplication
 @EnableMongoRepositories
@@ -20,7 +21,18 @@ public class Mark1VocabularyBuilderApplication implements CommandLineRunner {
 	List<VocabularyEntry> vocabularyEntries = new ArrayList<>();
 
 	public static void main(String[] args) {
-		SpringApplication.run(Mark1VocabularyBuilderApplication.class, args);
+		SpringApplication app = new SpringApplication(Mark1VocabularyBuilderApplication.class);
+		// Lowest-precedence defaults; external config can still override them
+		app.setDefaultProperties(Map.of(
+				// GraphQL subscriptions over WebSocket on the same path as HTTP
+				"spring.graphql.websocket.path", "/graphql",
+				// /actuator/metrics for cache hit/miss/eviction counters
+				"management.endpoints.web.exposure.include", "health,metrics",
+				// Virtual-thread mode: true runs Tomcat requests, GraphQL controller methods and
+				// outbound FSRS HTTP on virtual threads (see VirtualThreadPinningMonitor)
+				"spring.threads.virtual.enabled", "false"
+		));
+		app.run(args);
 	}
 
 	@Override
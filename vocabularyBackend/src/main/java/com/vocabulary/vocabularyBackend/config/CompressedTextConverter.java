@@ -0,0 +1,73 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import com.vocabulary.vocabularyBackend.model.CompressedText;
+import org.bson.types.Binary;
+import org.springframework.data.convert.PropertyValueConverter;
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores a {@link CompressedText} as a plain string below the size threshold and as
+ * Deflate-compressed binary (BSON subtype 0x80) above it. Reads accept both, so existing
+ * documents with plain strings keep working.
+ */
+public class CompressedTextConverter implements PropertyValueConverter<Object, Object, MongoConversionContext> {
+
+    public static final byte BINARY_SUBTYPE = (byte) 0x80;
+
+    private final boolean enabled;
+    private final int minBytes;
+
+    public CompressedTextConverter(boolean enabled, int minBytes) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+    }
+
+    @Override
+    public Object read(Object value, MongoConversionContext context) {
+        if (value instanceof Binary binary) {
+            return CompressedText.ofCompressed(binary.getData());
+        }
+        if (value instanceof byte[] bytes) {
+            return CompressedText.ofCompressed(bytes);
+        }
+        return CompressedText.of(value.toString());
+    }
+
+    /**
+     * Accepts CompressedText (entity saves) and String (typed Update.set calls).
+     */
+    @Override
+    public Object write(Object value, MongoConversionContext context) {
+        CompressedText text = value instanceof CompressedText c ? c : CompressedText.of(value.toString());
+        if (text.isStillCompressed()) {
+            // Loaded compressed and never read: write the same bytes back
+            return new Binary(BINARY_SUBTYPE, text.compressed());
+        }
+        return encode(text.text());
+    }
+
+    /**
+     * Stored form of a string: itself, or compressed binary when it is large enough to be worth it.
+     */
+    public Object encode(String text) {
+        if (!enabled || text.length() < minBytes) {
+            return text;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < minBytes) {
+            return text;
+        }
+        byte[] compressed = CompressedText.deflate(raw);
+        return compressed.length < raw.length ? new Binary(BINARY_SUBTYPE, compressed) : text;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinBytes() {
+        return minBytes;
+    }
+}
@@ -0,0 +1,47 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import com.vocabulary.vocabularyBackend.fsrs.FSRSParameters;
+import com.vocabulary.vocabularyBackend.fsrs.NativeFSRSScheduler;
+import com.vocabulary.vocabularyBackend.fsrs.Scheduler;
+import com.vocabulary.vocabularyBackend.service.FSRSClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Spring configuration for the FSRS scheduling engine.
+ * <p>
+ * app.fsrs.engine selects which Scheduler callers get:
+ * - java (default): in-process NativeFSRSScheduler, no network hop
+ * - http: FSRSClient, calls the Python FSRS service at app.fsrs.base-url
+ */
+@Configuration
+public class FSRSSchedulerConfig {
+    private static final Logger logger = LoggerFactory.getLogger(FSRSSchedulerConfig.class);
+
+    @Bean
+    @Primary
+    public Scheduler scheduler(
+            FSRSClient fsrsClient,
+            @Value("${app.fsrs.engine:java}") String engine,
+            @Value("${app.fsrs.desired-retention:0.9}") double desiredRetention,
+            @Value("${app.fsrs.maximum-interval:36500}") int maximumInterval,
+            @Value("${app.fsrs.enable-fuzzing:true}") boolean enableFuzzing
+    ) {
+        if ("http".equalsIgnoreCase(engine)) {
+            logger.info("FSRS engine: http (Python service)");
+            return fsrsClient;
+        }
+
+        logger.info("FSRS engine: java (desiredRetention={}, fuzzing={})", desiredRetention, enableFuzzing);
+        FSRSParameters parameters = new FSRSParameters(
+                FSRSParameters.DEFAULT_WEIGHTS,
+                desiredRetention,
+                maximumInterval
+        );
+        return new NativeFSRSScheduler(parameters, enableFuzzing);
+    }
+}
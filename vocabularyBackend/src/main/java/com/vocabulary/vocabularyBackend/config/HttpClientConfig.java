@@ -0,0 +1,44 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Spring configuration for HTTP clients.
+ * Provides the JDK HttpClient FSRSClient uses to call the Python FSRS microservice.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * One shared client, so connections are pooled and kept alive across calls.
+     * <p>
+     * app.fsrs.http-version=HTTP_2 (default) negotiates HTTP/2 (ALPN on https, h2c upgrade on
+     * http) and multiplexes concurrent requests over one connection; servers that do not
+     * upgrade, like the Flask dev server, stay on pooled HTTP/1.1 keep-alive connections.
+     * <p>
+     * In virtual-thread mode (spring.threads.virtual.enabled=true) the client's own background
+     * tasks run on virtual threads, and a blocking send parks the calling virtual thread
+     * instead of holding a carrier.
+     */
+    @Bean
+    public HttpClient fsrsHttpClient(
+            @Value("${app.fsrs.http-version:HTTP_2}") HttpClient.Version version,
+            @Value("${app.fsrs.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
+import com.vocabulary.vocabularyBackend.model.UserFSRSParameters;
+import com.vocabulary.vocabularyBackend.model.UserVoiceState;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import com.vocabulary.vocabularyBackend.model.VocabularySyncState;
+import com.vocabulary.vocabularyBackend.model.VocabularyTombstone;
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import com.vocabulary.vocabularyBackend.model.VoiceTranscriptChunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on document classes (@Indexed, @CompoundIndex).
+ * <p>
+ * Collections declared as @TimeSeries are created first: MongoDB cannot turn an existing
+ * collection into a time-series one, and createIndex would create a regular one.
+ * <p>
+ * Spring Boot leaves auto-index-creation off, so the annotations alone do nothing.
+ * This runs createIndex once at startup, which is a no-op for indexes that already exist.
+ * Indexes listed in SUPERSEDED_INDEXES are dropped once their replacements exist
+ * (a replacement that failed to build leaves the old index in place).
+ * Disable with app.mongo.ensure-indexes=false.
+ */
+@Configuration
+public class MongoIndexConfig {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    public static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            VocabularyEntry.class,
+            VocabularySyncState.class,
+            VocabularyTombstone.class,
+            VoiceSessionDocument.class,
+            VoiceTranscriptChunk.class,
+            UserVoiceState.class,
+            ReviewLog.class,
+            UserFSRSParameters.class
+    );
+
+    /**
+     * Index names that an annotation no longer declares, mapped to the renamed index that replaces them,
+     * e.g. the (userId, dueDate, createdAt) and (userId, createdAt) indexes that gained an _id
+     * tiebreaker for cursor pagination, or the unique chunk index that now includes the generation.
+     */
+    public static final Map<Class<?>, Map<String, String>> SUPERSEDED_INDEXES = Map.of(
+            VocabularyEntry.class, Map.of(
+                    "user_due_created_idx", "user_due_created_id_idx",
+                    "user_created_idx", "user_created_id_idx"),
+            VoiceTranscriptChunk.class, Map.of(
+                    "user_session_chunk_idx", "user_session_chunk_gen_idx")
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public MongoIndexConfig(
+            MongoTemplate mongoTemplate,
+            @Value("${app.mongo.ensure-indexes:true}") boolean enabled
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            logger.info("Skipping index creation (app.mongo.ensure-indexes=false)");
+            return;
+        }
+        ensureIndexes(mongoTemplate, INDEXED_DOCUMENTS);
+    }
+
+    /**
+     * Ensure every index declared on the given document classes exists.
+     */
+    public static void ensureIndexes(MongoTemplate mongoTemplate, List<Class<?>> documentTypes) {
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (Class<?> type : documentTypes) {
+            if (type.isAnnotationPresent(TimeSeries.class) && !mongoTemplate.collectionExists(type)) {
+                try {
+                    mongoTemplate.createCollection(type);
+                    logger.info("Created time-series collection for {}", type.getSimpleName());
+                } catch (RuntimeException e) {
+                    // e.g. MongoDB < 5.0: the first insert creates a regular collection instead
+                    logger.error("Failed to create time-series collection for {}: {}", type.getSimpleName(), e.getMessage());
+                }
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(index -> {
+                try {
+                    indexOps.createIndex(index);
+                } catch (RuntimeException e) {
+                    // An existing index with the same name but different spec must be fixed by hand
+                    logger.error("Failed to ensure index {} on {}: {}",
+                            index.getIndexOptions().get("name"), type.getSimpleName(), e.getMessage());
+                }
+            });
+            dropSuperseded(indexOps, type);
+        }
+        logger.info("Ensured MongoDB indexes for {} document types", documentTypes.size());
+    }
+
+    private static void dropSuperseded(IndexOperations indexOps, Class<?> type) {
+        Map<String, String> superseded = SUPERSEDED_INDEXES.getOrDefault(type, Map.of());
+        if (superseded.isEmpty()) {
+            return;
+        }
+        List<IndexInfo> indexes = indexOps.getIndexInfo();
+        Set<String> names = indexes.stream().map(IndexInfo::getName).collect(Collectors.toSet());
+        for (IndexInfo index : indexes) {
+            String replacement = superseded.get(index.getName());
+            if (replacement == null) {
+                continue;
+            }
+            if (!names.contains(replacement)) {
+                logger.warn("Keeping superseded index {} on {}: replacement {} does not exist",
+                        index.getName(), type.getSimpleName(), replacement);
+                continue;
+            }
+            try {
+                indexOps.dropIndex(index.getName());
+                logger.info("Dropped superseded index {} on {}", index.getName(), type.getSimpleName());
+            } catch (RuntimeException e) {
+                logger.error("Failed to drop superseded index {} on {}: {}", index.getName(), type.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
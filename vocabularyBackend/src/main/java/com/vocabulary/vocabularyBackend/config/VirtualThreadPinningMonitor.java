@@ -0,0 +1,94 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that get pinned to their carrier thread (blocking inside a
+ * synchronized block or a native frame), which quietly turns virtual-thread mode back into
+ * a small platform-thread pool.
+ * <p>
+ * Only active in virtual-thread mode (spring.threads.virtual.enabled=true). Listens to the
+ * JFR jdk.VirtualThreadPinned event in-process:
+ * <ul>
+ *   <li>Every pin longer than app.virtual-threads.pinned-threshold (default 20ms) is recorded
+ *       in the jvm.threads.virtual.pinned timer (count, total and max pinned time)</li>
+ *   <li>Each distinct pinning stack is logged once at WARN with its top frames</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Timer pinned;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration threshold
+    ) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual thread pinning monitor started (threshold={})", threshold);
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        String stack = topFrames(event.getStackTrace());
+        if (reportedStacks.add(stack)) {
+            logger.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\tat <no stack trace>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        // Skip the VirtualThread park/sleep frames on top: the interesting part is who blocked
+        int first = 0;
+        while (first < frames.size() - 1
+                && frames.get(first).getMethod().getType().getName().equals("java.lang.VirtualThread")) {
+            first++;
+        }
+        StringJoiner joined = new StringJoiner("\n");
+        for (RecordedFrame frame : frames.subList(first, Math.min(first + LOGGED_FRAMES, frames.size()))) {
+            joined.add("\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Transparent compression of the large voice session payloads
+ * (transcriptJson, activeWordsJson, runtimeContextJson).
+ * <p>
+ * Values of app.voice.compression.min-bytes (default 2048) or more are written as Deflate
+ * binary; smaller ones stay plain strings. Turn compression off for new writes with
+ * app.voice.compression.enabled=false (compressed documents stay readable).
+ * <p>
+ * app.voice.compression.migrate=true compresses existing documents after startup: it streams
+ * voice_sessions with a cursor (only _id and the payload fields) and rewrites them in
+ * unordered bulk batches, so memory use does not depend on the collection size.
+ */
+@Configuration
+public class VoicePayloadCompressionConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VoicePayloadCompressionConfig.class);
+
+    public static final List<String> COMPRESSED_FIELDS = List.of("transcriptJson", "activeWordsJson", "runtimeContextJson");
+    private static final int MIGRATION_BATCH_SIZE = 100;
+
+    @Bean
+    public CompressedTextConverter compressedTextConverter(
+            @Value("${app.voice.compression.enabled:true}") boolean enabled,
+            @Value("${app.voice.compression.min-bytes:2048}") int minBytes
+    ) {
+        return new CompressedTextConverter(enabled, minBytes);
+    }
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(CompressedTextConverter compressedTextConverter) {
+        return MongoCustomConversions.create(adapter -> adapter.configurePropertyConversions(registrar -> {
+            for (String field : COMPRESSED_FIELDS) {
+                registrar.registerConverter(VoiceSessionDocument.class, field, compressedTextConverter);
+            }
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup(ApplicationReadyEvent event) {
+        boolean migrate = event.getApplicationContext().getEnvironment()
+                .getProperty("app.voice.compression.migrate", Boolean.class, false);
+        if (!migrate) {
+            return;
+        }
+        MongoTemplate mongoTemplate = event.getApplicationContext().getBean(MongoTemplate.class);
+        CompressedTextConverter converter = event.getApplicationContext().getBean(CompressedTextConverter.class);
+        Thread.ofPlatform().name("voice-payload-compression").daemon().start(() -> {
+            try {
+                compressExisting(mongoTemplate, converter);
+            } catch (RuntimeException e) {
+                logger.error("Voice payload compression migration failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Compress every plain-string payload that is over the threshold.
+     *
+     * @return Number of documents rewritten
+     */
+    public static long compressExisting(MongoTemplate mongoTemplate, CompressedTextConverter converter) {
+        if (!converter.isEnabled()) {
+            logger.info("Voice payload compression is disabled; nothing to migrate");
+            return 0;
+        }
+        String collection = mongoTemplate.getCollectionName(VoiceSessionDocument.class);
+
+        // Only documents that still have a string payload long enough to qualify. MongoDB may
+        // evaluate $expr before the type filter, so the expression checks the type itself:
+        // $strLenBytes fails on missing fields and on already compressed payloads.
+        Criteria[] candidates = COMPRESSED_FIELDS.stream()
+                .map(field -> new Criteria().andOperator(
+                        where(field).type(2),
+                        Criteria.expr(() -> new Document("$gte", List.of(
+                                new Document("$cond", List.of(
+                                        new Document("$eq", List.of(new Document("$type", "$" + field), "string")),
+                                        new Document("$strLenBytes", "$" + field),
+                                        0)),
+                                converter.getMinBytes())))))
+                .toArray(Criteria[]::new);
+        Query query = new Query(new Criteria().orOperator(candidates)).cursorBatchSize(MIGRATION_BATCH_SIZE);
+        COMPRESSED_FIELDS.forEach(query.fields()::include);
+        query.fields().include("updatedAt");
+
+        long rewritten = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class, collection)) {
+            Iterator<Document> cursor = stream.iterator();
+            while (cursor.hasNext()) {
+                Document doc = cursor.next();
+                Update update = new Update();
+                boolean changed = false;
+                for (String field : COMPRESSED_FIELDS) {
+                    Object value = doc.get(field);
+                    if (value instanceof String text) {
+                        Object encoded = converter.encode(text);
+                        if (encoded != text) { // encode returns the same string when it does not compress
+                            update.set(field, encoded);
+                            changed = true;
+                        }
+                    }
+                }
+                if (!changed) {
+                    continue;
+                }
+                // Skip the document if it was saved again since we read it
+                Criteria unchanged = where("_id").is(doc.get("_id")).and("updatedAt").is(doc.get("updatedAt"));
+                bulk.updateOne(new Query(unchanged), update);
+                pending++;
+                if (pending == MIGRATION_BATCH_SIZE) {
+                    rewritten += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            rewritten += bulk.execute().getModifiedCount();
+        }
+        logger.info("Voice payload compression migration done: {} documents compressed", rewritten);
+        return rewritten;
+    }
+}
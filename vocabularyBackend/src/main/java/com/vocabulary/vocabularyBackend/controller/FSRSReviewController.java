@@ -0,0 +1,77 @@
+package com.vocabulary.vocabularyBackend.controller;
+
+import com.vocabulary.vocabularyBackend.dto.FSRSBatchReviewRequest;
+import com.vocabulary.vocabularyBackend.dto.FSRSBatchReviewResponse;
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import com.vocabulary.vocabularyBackend.dto.FSRSReviewRequest;
+import com.vocabulary.vocabularyBackend.fsrs.Scheduler;
+import com.vocabulary.vocabularyBackend.service.UserFSRSParametersService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST endpoint with the same contract as the Python service's POST /review,
+ * so the extension can point its FSRS endpoint at the backend instead.
+ * <p>
+ * Example: POST http://localhost:8080/api/fsrs/review
+ * <p>
+ * An optional "user_id" next to "card" schedules with that user's fitted weights
+ * (see UserFSRSParametersService); without it the default weights are used.
+ */
+@RestController
+@RequestMapping("/api/fsrs")
+public class FSRSReviewController {
+
+    private final UserFSRSParametersService userSchedulers;
+
+    public FSRSReviewController(UserFSRSParametersService userSchedulers) {
+        this.userSchedulers = userSchedulers;
+    }
+
+    @PostMapping("/review")
+    public FSRSCardDTO review(@RequestBody FSRSReviewRequest request) {
+        if (request.getCard() == null || request.getRating() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "card and rating are required");
+        }
+        try {
+            return userSchedulers.schedulerFor(request.getUserId())
+                    .reviewCard(request.getCard(), request.getRating(), request.getReviewTime());
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Same contract as the Python service's POST /review-batch: {"reviews": [...]} in,
+     * {"results": [...]} out, in request order.
+     */
+    @PostMapping("/review-batch")
+    public FSRSBatchReviewResponse reviewBatch(@RequestBody FSRSBatchReviewRequest request) {
+        List<FSRSReviewRequest> reviews = request.getReviews() == null ? List.of() : request.getReviews();
+        for (int i = 0; i < reviews.size(); i++) {
+            if (reviews.get(i).getCard() == null || reviews.get(i).getRating() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "card and rating are required (review #" + i + ")");
+            }
+        }
+        try {
+            List<String> userIds = reviews.stream().map(FSRSReviewRequest::getUserId).distinct().toList();
+            if (userIds.size() <= 1) {
+                Scheduler scheduler = userSchedulers.schedulerFor(userIds.isEmpty() ? null : userIds.get(0));
+                return new FSRSBatchReviewResponse(scheduler.reviewCards(reviews));
+            }
+            // Mixed users: each review with its own user's scheduler
+            List<FSRSCardDTO> results = new ArrayList<>(reviews.size());
+            for (FSRSReviewRequest review : reviews) {
+                results.add(userSchedulers.schedulerFor(review.getUserId())
+                        .reviewCard(review.getCard(), review.getRating(), review.getReviewTime()));
+            }
+            return new FSRSBatchReviewResponse(results);
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -1,44 +1,87 @@
 package com.vocabulary.vocabularyBackend.controller;
 
 
+import com.vocabulary.vocabularyBackend.dto.VocabularyChanges;
+import com.vocabulary.vocabularyBackend.dto.VocabularyEntryConnection;
+import com.vocabulary.vocabularyBackend.dto.VocabularyEvent;
 import com.vocabulary.vocabularyBackend.dto.VocabularyInput;
+import com.vocabulary.vocabularyBackend.dto.VocabularyOrder;
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
 import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
 import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import com.vocabulary.vocabularyBackend.service.ReviewLoadForecastService;
+import com.vocabulary.vocabularyBackend.service.ReviewLoadForecastService.ReviewLoadForecast;
 import com.vocabulary.vocabularyBackend.service.ReviewService;
 import com.vocabulary.vocabularyBackend.service.ReviewService.CardUpdate;
 import com.vocabulary.vocabularyBackend.service.ReviewService.SaveSessionResult;
+import com.vocabulary.vocabularyBackend.service.VocabularyCache;
+import com.vocabulary.vocabularyBackend.service.VocabularyEventPublisher;
+import com.vocabulary.vocabularyBackend.service.VocabularyQueryService;
+import com.vocabulary.vocabularyBackend.service.VocabularySyncService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
  * GraphQL controller for vocabulary operations.
  * Handles mutations (create/update/delete) and queries (read).
+ * Servlet stack only; the -Preactive build serves the same schema from ReactiveVocabularyController.
  */
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class VocabularyController {
     private final VocabularyRepository vocabularyRepository;
     private final ReviewService reviewService;
+    private final ReviewLoadForecastService reviewLoadForecastService;
+    private final VocabularyQueryService vocabularyQueryService;
+    private final VocabularySyncService vocabularySyncService;
+    private final VocabularyEventPublisher vocabularyEventPublisher;
+    private final VocabularyCache vocabularyCache;
+    private final SelectionProjection selectionProjection;
 
     /**
-     * Injects VocabularyRepository and ReviewService.
+     * Injects the repository, services and SelectionProjection.
      * @param vocabularyRepository The repository for database operations
      * @param reviewService The service for review session management
+     * @param reviewLoadForecastService Simulates future review load
+     * @param vocabularyQueryService The service for deck listings
+     * @param vocabularySyncService The service for delta sync versions
+     * @param vocabularyEventPublisher Pushes changes to subscription clients
+     * @param vocabularyCache Per-user deck cache, invalidated by every mutation
+     * @param selectionProjection Maps GraphQL selections to MongoDB projections
      */
-    public VocabularyController(VocabularyRepository vocabularyRepository, ReviewService reviewService) {
+    public VocabularyController(
+        VocabularyRepository vocabularyRepository,
+        ReviewService reviewService,
+        ReviewLoadForecastService reviewLoadForecastService,
+        VocabularyQueryService vocabularyQueryService,
+        VocabularySyncService vocabularySyncService,
+        VocabularyEventPublisher vocabularyEventPublisher,
+        VocabularyCache vocabularyCache,
+        SelectionProjection selectionProjection
+    ) {
         this.vocabularyRepository = vocabularyRepository;
         this.reviewService = reviewService;
+        this.reviewLoadForecastService = reviewLoadForecastService;
+        this.vocabularyQueryService = vocabularyQueryService;
+        this.vocabularySyncService = vocabularySyncService;
+        this.vocabularyEventPublisher = vocabularyEventPublisher;
+        this.vocabularyCache = vocabularyCache;
+        this.selectionProjection = selectionProjection;
     }
 
     /**
@@ -75,29 +118,75 @@ public class VocabularyController {
                 input.getUserId()
         );
 
-        // Save to MongoDB
-        return vocabularyRepository.save(entry);
+        // Stamp with the user's next sync version, then save to MongoDB
+        VocabularyEntry saved = stampAndSave(entry);
+        vocabularyCache.invalidate(saved.getUserId());
+        vocabularyEventPublisher.publish(VocabularyEvent.ofEntry(VocabularyEvent.Type.SAVED, saved));
+        return saved;
     }
 
+    /**
+     * Read queries load only the fields the client selected: the GraphQL selection set
+     * is turned into a MongoDB projection by SelectionProjection.
+     */
     @QueryMapping
-    public VocabularyEntry vocabularyEntry(@Argument String id) {
-        return vocabularyRepository.findById(id).orElse(null);
+    public VocabularyEntry vocabularyEntry(@Argument String id, DataFetchingFieldSelectionSet selection) {
+        Set<String> fields = selectionProjection.fieldsFor(selection, VocabularyEntry.class, "");
+        return vocabularyQueryService.findEntry(id, fields).orElse(null);
     }
 
     @QueryMapping
-    public List<VocabularyEntry> vocabularyEntries(@Argument String userId) {
-        List<VocabularyEntry> entries = new ArrayList<>(vocabularyRepository.findByUserId(userId));
-        entries.sort(
-            Comparator
-                .comparing((VocabularyEntry e) -> {
-                    if (e.getFsrsCard() == null || e.getFsrsCard().getDueDate() == null) {
-                        return LocalDateTime.MAX;
-                    }
-                    return e.getFsrsCard().getDueDate();
-                })
-                .thenComparing((VocabularyEntry e) -> e.getCreatedAt() == null ? LocalDateTime.MAX : e.getCreatedAt())
-        );
-        return entries;
+    public List<VocabularyEntry> vocabularyEntries(@Argument String userId, DataFetchingFieldSelectionSet selection) {
+        Set<String> fields = selectionProjection.fieldsFor(selection, VocabularyEntry.class, "");
+        return vocabularyQueryService.listEntries(userId, fields);
+    }
+
+    /**
+     * Handles the vocabularyEntriesConnection GraphQL query.
+     * Keyset-paginated deck listing; MongoDB sorts and limits on an index,
+     * so each page costs the same no matter how large the deck is.
+     *
+     * @param userId The user's ID
+     * @param first Page size
+     * @param after Cursor returned by the previous page
+     * @param orderBy Sort order
+     * @return One page of entries
+     */
+    @QueryMapping
+    public VocabularyEntryConnection vocabularyEntriesConnection(
+        @Argument String userId,
+        @Argument Integer first,
+        @Argument String after,
+        @Argument VocabularyOrder orderBy,
+        DataFetchingFieldSelectionSet selection
+    ) {
+        // Cursor fields are always needed to build edge cursors
+        Set<String> fields = selectionProjection.fieldsFor(
+            selection, VocabularyEntry.class, "edges/node/", "id", "fsrsCard", "createdAt");
+        return vocabularyQueryService.connection(userId, first, after, orderBy, fields);
+    }
+
+    /**
+     * Handles the vocabularyChanges GraphQL query (delta sync).
+     *
+     * Flow:
+     * 1. First load: client sends no sinceVersion and gets the whole deck (fullSync=true)
+     * 2. Client stores the returned version
+     * 3. Later loads send it back as sinceVersion and only receive upserted entries
+     *    and deleted IDs since then
+     *
+     * @param userId The user's ID
+     * @param sinceVersion Version returned by the previous sync (null/0 for a full sync)
+     * @return Changes plus the version to use next time
+     */
+    @QueryMapping
+    public VocabularyChanges vocabularyChanges(
+        @Argument String userId,
+        @Argument Long sinceVersion,
+        DataFetchingFieldSelectionSet selection
+    ) {
+        Set<String> fields = selectionProjection.fieldsFor(selection, VocabularyEntry.class, "upserted/");
+        return vocabularySyncService.changesSince(userId, sinceVersion, fields);
     }
 
     @MutationMapping
@@ -117,7 +206,10 @@ public class VocabularyController {
             throw new IllegalArgumentException("FSRS card is missing");
         }
         entry.getFsrsCard().setDueDate(parsedDueDate);
-        return vocabularyRepository.save(entry);
+        VocabularyEntry saved = stampAndSave(entry);
+        vocabularyCache.invalidate(saved.getUserId());
+        vocabularyEventPublisher.publish(VocabularyEvent.ofEntry(VocabularyEvent.Type.DUE_DATE_UPDATED, saved));
+        return saved;
     }
 
     @MutationMapping
@@ -130,10 +222,23 @@ public class VocabularyController {
             return false;
         }
         vocabularyRepository.deleteByIdAndUserId(vocabularyId, userId);
+        long version = vocabularySyncService.recordDeletion(userId, vocabularyId);
+        vocabularyCache.invalidate(userId);
+        vocabularyEventPublisher.publish(new VocabularyEvent(
+            VocabularyEvent.Type.DELETED, userId, version, List.of(vocabularyId), null));
         return true;
     }
 
-    private LocalDateTime parseDueDate(String dueDate) {
+    private VocabularyEntry stampAndSave(VocabularyEntry entry) {
+        VocabularySyncService.Reservation reservation = vocabularySyncService.stamp(entry);
+        try {
+            return vocabularyRepository.save(entry);
+        } finally {
+            vocabularySyncService.release(reservation);
+        }
+    }
+
+    static LocalDateTime parseDueDate(String dueDate) {
         try {
             return LocalDateTime.parse(dueDate);
         } catch (Exception ignored) {
@@ -156,12 +261,41 @@ public class VocabularyController {
      * 5. Returns list of VocabularyEntry objects due for review
      *
      * @param userId User ID to load review cards for
-     * @return List of vocabulary entries due for review (max 20)
+     * @param limit Optional session size (defaults to app.review.session-size)
+     * @return List of vocabulary entries due for review
      */
     @MutationMapping
-    public List<VocabularyEntry> startReviewSession(@Argument String userId)
+    public List<VocabularyEntry> startReviewSession(@Argument String userId, @Argument Integer limit)
     {
-        return reviewService.startReviewSession(userId);
+        return reviewService.startReviewSession(userId, limit);
+    }
+
+    /**
+     * Handles the dueReviewCount GraphQL query.
+     * Total due backlog; startReviewSession only returns one session of it.
+     *
+     * @param userId User ID
+     * @return Number of cards currently due
+     */
+    @QueryMapping
+    public int dueReviewCount(@Argument String userId) {
+        return (int) Math.min(Integer.MAX_VALUE, reviewService.countDueCards(userId));
+    }
+
+    /**
+     * Handles the reviewLoadForecast GraphQL query.
+     * Simulates the deck's future reviews to see the effect of new cards or a daily cap.
+     *
+     * @param userId User ID
+     * @param days Days to forecast, starting today
+     * @param newCards Optional number of cards added today
+     * @param dailyLimit Optional cap on reviews per day
+     * @return Mean and percentile band of reviews per day
+     */
+    @QueryMapping
+    public ReviewLoadForecast reviewLoadForecast(@Argument String userId, @Argument int days,
+                                                 @Argument Integer newCards, @Argument Integer dailyLimit) {
+        return reviewLoadForecastService.forecast(userId, days, newCards, dailyLimit);
     }
 
     /**
@@ -171,16 +305,35 @@ public class VocabularyController {
      * 1. Client sends array of CardUpdateInput objects via GraphQL
      * 2. Spring automatically converts GraphQL input to List<CardUpdate>
      * 3. This method receives the list as argument
-     * 4. Calls ReviewService.saveReviewSession() for batch save
-     * 5. Returns SaveSessionResult with success status and count
+     * 4. Calls ReviewService.saveReviewSession() for one bulk write
+     * 5. Returns SaveSessionResult with success status, count and per-card results
      *
+     * @param userId Owner of the cards (guards every update)
      * @param updates List of card updates from frontend (after review session)
-     * @return Result object with success status, count, and message
+     * @return Result object with success status, count, message and per-card results
      */
     @MutationMapping
-    public SaveSessionResult saveReviewSession(@Argument List<CardUpdate> updates)
+    public SaveSessionResult saveReviewSession(@Argument String userId, @Argument List<CardUpdate> updates)
     {
-        return reviewService.saveReviewSession(updates);
+        return reviewService.saveReviewSession(userId, updates);
+    }
+
+    /**
+     * Handles the vocabularyEvents GraphQL subscription (GraphQL over WebSocket at /graphql).
+     *
+     * Flow:
+     * 1. Side panel / second tab subscribes with its userId
+     * 2. Every saveVocabulary, updateVocabularyDueDate, deleteVocabularyEntry and
+     *    saveReviewSession for that user is pushed as one small event
+     * 3. If the subscription is closed (e.g. the client fell behind), the client
+     *    re-subscribes and catches up with vocabularyChanges(sinceVersion)
+     *
+     * @param userId User to follow
+     * @return Live stream of that user's vocabulary events
+     */
+    @SubscriptionMapping
+    public Flux<VocabularyEvent> vocabularyEvents(@Argument String userId) {
+        return vocabularyEventPublisher.subscribe(userId);
     }
 
 }
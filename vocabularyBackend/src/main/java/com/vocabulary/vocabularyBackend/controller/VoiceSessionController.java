@@ -1,32 +1,73 @@
 package com.vocabulary.vocabularyBackend.controller;
 
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionMessagePage;
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionSummary;
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
 import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
 import com.vocabulary.vocabularyBackend.service.VoiceSessionService;
 import com.vocabulary.vocabularyBackend.service.VoiceSessionService.DeleteVoiceSessionsResult;
+import com.vocabulary.vocabularyBackend.service.VoiceSessionService.GlobalReviewProgressState;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.Set;
 
+/**
+ * GraphQL controller for voice sessions (servlet stack; see ReactiveVoiceSessionController).
+ */
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class VoiceSessionController {
 
     private final VoiceSessionService voiceSessionService;
+    private final SelectionProjection selectionProjection;
 
-    public VoiceSessionController(VoiceSessionService voiceSessionService) {
+    public VoiceSessionController(VoiceSessionService voiceSessionService, SelectionProjection selectionProjection) {
         this.voiceSessionService = voiceSessionService;
+        this.selectionProjection = selectionProjection;
     }
 
     @QueryMapping
-    public List<VoiceSessionDocument> voiceSessions(@Argument String userId) {
+    public List<VoiceSessionSummary> voiceSessions(@Argument String userId) {
         return voiceSessionService.loadSessions(userId);
     }
 
+    /**
+     * Load a session snapshot.
+     * <p>
+     * Conditional fetch: a client that kept the version of its last copy sends it back as
+     * ifNoneMatch. If the session has not changed since, only the metadata is read and the
+     * result has notModified=true and no payloads.
+     */
     @QueryMapping
-    public VoiceSessionDocument voiceSessionSnapshot(@Argument String userId, @Argument String sessionId) {
-        return voiceSessionService.loadSessionSnapshot(userId, sessionId).orElse(null);
+    public VoiceSessionDocument voiceSessionSnapshot(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument Long ifNoneMatch,
+            DataFetchingFieldSelectionSet selection
+    ) {
+        // Only load the large JSON payloads when the client actually selected them
+        Set<String> fields = selectionProjection.fieldsFor(selection, VoiceSessionDocument.class, "");
+        return voiceSessionService.loadSessionSnapshot(userId, sessionId, fields, ifNoneMatch).orElse(null);
+    }
+
+    /**
+     * Page backwards through a session's transcript: the first call (no before) returns the
+     * newest items, then pass the returned startIndex as before while hasMore is true.
+     */
+    @QueryMapping
+    public VoiceSessionMessagePage voiceSessionMessages(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument Integer before,
+            @Argument Integer limit
+    ) {
+        return voiceSessionService.loadMessages(userId, sessionId, before, limit).orElse(null);
     }
 
     @QueryMapping
@@ -39,6 +80,14 @@ public class VoiceSessionController {
         return voiceSessionService.loadGlobalReviewProgress(userId);
     }
 
+    /**
+     * Review progress with its version, for conditional fetches (see voiceSessionSnapshot).
+     */
+    @QueryMapping
+    public GlobalReviewProgressState globalReviewProgressState(@Argument String userId, @Argument Long ifNoneMatch) {
+        return voiceSessionService.loadGlobalReviewProgressState(userId, ifNoneMatch);
+    }
+
     @MutationMapping
     public VoiceSessionDocument createVoiceSession(@Argument String userId, @Argument String title) {
         return voiceSessionService.createSession(userId, title);
@@ -65,6 +114,29 @@ public class VoiceSessionController {
         );
     }
 
+    @MutationMapping
+    public VoiceSessionDocument appendVoiceSessionMessages(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument int fromIndex,
+            @Argument String messagesJson,
+            @Argument String title,
+            @Argument String titleSource,
+            @Argument String activeWordsJson,
+            @Argument String runtimeContextJson
+    ) {
+        return voiceSessionService.appendMessages(
+                userId,
+                sessionId,
+                fromIndex,
+                messagesJson,
+                title,
+                titleSource,
+                activeWordsJson,
+                runtimeContextJson
+        );
+    }
+
     @MutationMapping
     public VoiceSessionDocument updateVoiceSessionMeta(
             @Argument String userId,
@@ -90,6 +162,14 @@ public class VoiceSessionController {
         return voiceSessionService.saveGlobalReviewProgress(userId, progressJson);
     }
 
+    /**
+     * Apply an RFC 7386 merge patch to the stored review progress, so clients only send what changed.
+     */
+    @MutationMapping
+    public GlobalReviewProgressState patchGlobalReviewProgress(@Argument String userId, @Argument String patchJson) {
+        return voiceSessionService.patchGlobalReviewProgress(userId, patchJson);
+    }
+
     @MutationMapping
     public Boolean clearGlobalReviewProgress(@Argument String userId) {
         return voiceSessionService.clearGlobalReviewProgress(userId);
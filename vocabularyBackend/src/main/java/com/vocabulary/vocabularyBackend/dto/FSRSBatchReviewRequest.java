@@ -0,0 +1,27 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the FSRS batch review API request.
+ * Sent to Python FSRS service at POST /review-batch endpoint; each item has the /review contract.
+ */
+public class FSRSBatchReviewRequest {
+
+    private List<FSRSReviewRequest> reviews;
+
+    public FSRSBatchReviewRequest() {
+    }
+
+    public FSRSBatchReviewRequest(List<FSRSReviewRequest> reviews) {
+        this.reviews = reviews;
+    }
+
+    public List<FSRSReviewRequest> getReviews() {
+        return reviews;
+    }
+
+    public void setReviews(List<FSRSReviewRequest> reviews) {
+        this.reviews = reviews;
+    }
+}
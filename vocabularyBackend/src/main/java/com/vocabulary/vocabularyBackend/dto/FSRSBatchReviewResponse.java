@@ -0,0 +1,26 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the FSRS batch review API response: updated cards in request order.
+ */
+public class FSRSBatchReviewResponse {
+
+    private List<FSRSCardDTO> results;
+
+    public FSRSBatchReviewResponse() {
+    }
+
+    public FSRSBatchReviewResponse(List<FSRSCardDTO> results) {
+        this.results = results;
+    }
+
+    public List<FSRSCardDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FSRSCardDTO> results) {
+        this.results = results;
+    }
+}
@@ -1,5 +1,6 @@
 package com.vocabulary.vocabularyBackend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -14,6 +15,11 @@ public class FSRSReviewRequest {
     @JsonProperty("review_time")
     private String reviewTime;  // ISO 8601 string: "2025-01-18T14:00:00Z"
 
+    // Optional: schedule with this user's fitted weights (backend only, not sent to the Python service)
+    @JsonProperty("user_id")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String userId;
+
     // Constructors
     public FSRSReviewRequest() {
     }
@@ -48,4 +54,12 @@ public class FSRSReviewRequest {
     public void setReviewTime(String reviewTime) {
         this.reviewTime = reviewTime;
     }
-}
\ No newline at end of file
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+
+import java.util.List;
+
+/**
+ * Result of the vocabularyChanges delta sync query.
+ */
+public class VocabularyChanges {
+
+    private final long version;          // version to send as sinceVersion next time
+    private final boolean fullSync;      // true when upserted is the whole deck (client should replace its copy)
+    private final List<VocabularyEntry> upserted;
+    private final List<String> deletedIds;
+
+    public VocabularyChanges(long version, boolean fullSync, List<VocabularyEntry> upserted, List<String> deletedIds) {
+        this.version = version;
+        this.fullSync = fullSync;
+        this.upserted = upserted;
+        this.deletedIds = deletedIds;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFullSync() {
+        return fullSync;
+    }
+
+    public List<VocabularyEntry> getUpserted() {
+        return upserted;
+    }
+
+    public List<String> getDeletedIds() {
+        return deletedIds;
+    }
+}
@@ -0,0 +1,77 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a vocabulary listing: the sort key values of the last entry
+ * a client has seen. Clients only ever see the opaque {@link #encode()} form.
+ */
+public class VocabularyCursor {
+    private static final String VERSION = "v1";
+
+    private final VocabularyOrder order;
+    private final LocalDateTime dueDate;   // null for CREATED_AT_DESC or cards without a due date
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public VocabularyCursor(VocabularyOrder order, LocalDateTime dueDate, LocalDateTime createdAt, String id) {
+        this.order = order;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Cursor pointing right after the given entry.
+     */
+    public static VocabularyCursor after(VocabularyEntry entry, VocabularyOrder order) {
+        LocalDateTime due = order == VocabularyOrder.DUE_DATE_ASC && entry.getFsrsCard() != null
+                ? entry.getFsrsCard().getDueDate()
+                : null;
+        return new VocabularyCursor(order, due, entry.getCreatedAt(), entry.getId());
+    }
+
+    public String encode() {
+        String raw = String.join("|",
+                VERSION,
+                order.name(),
+                dueDate == null ? "" : dueDate.toString(),
+                createdAt == null ? "" : createdAt.toString(),
+                id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another order
+     */
+    public static VocabularyCursor decode(String cursor, VocabularyOrder expectedOrder) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor");
+            }
+            VocabularyOrder order = VocabularyOrder.valueOf(parts[1]);
+            if (order != expectedOrder) {
+                throw new IllegalArgumentException("Cursor was issued for orderBy " + order);
+            }
+            return new VocabularyCursor(
+                    order,
+                    parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]),
+                    parts[3].isEmpty() ? null : LocalDateTime.parse(parts[3]),
+                    parts[4]
+            );
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    public VocabularyOrder getOrder() { return order; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getId() { return id; }
+}
@@ -0,0 +1,56 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+
+import java.util.List;
+
+/**
+ * Relay-style connection returned by the vocabularyEntriesConnection query.
+ */
+public class VocabularyEntryConnection {
+
+    private final List<Edge> edges;
+    private final PageInfo pageInfo;
+
+    public VocabularyEntryConnection(List<Edge> edges, PageInfo pageInfo) {
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    /**
+     * One entry plus the opaque cursor that points right after it.
+     */
+    public static class Edge {
+        private final String cursor;
+        private final VocabularyEntry node;
+
+        public Edge(String cursor, VocabularyEntry node) {
+            this.cursor = cursor;
+            this.node = node;
+        }
+
+        public String getCursor() { return cursor; }
+        public VocabularyEntry getNode() { return node; }
+    }
+
+    public static class PageInfo {
+        private final boolean hasNextPage;
+        private final String endCursor;
+
+        public PageInfo(boolean hasNextPage, String endCursor) {
+            this.hasNextPage = hasNextPage;
+            this.endCursor = endCursor;
+        }
+
+        public boolean isHasNextPage() { return hasNextPage; }
+        public String getEndCursor() { return endCursor; }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Push message of the vocabularyEvents subscription.
+ * Kept small: IDs plus the changed entry when there is exactly one.
+ */
+public class VocabularyEvent {
+
+    public enum Type {
+        SAVED,
+        DUE_DATE_UPDATED,
+        DELETED,
+        REVIEW_SESSION_SAVED
+    }
+
+    private final Type type;
+    private final String userId;
+    private final Long version;                 // delta sync version after the change (null if unknown)
+    private final List<String> vocabularyIds;
+    private final VocabularyEntry entry;        // SAVED and DUE_DATE_UPDATED only
+    private final LocalDateTime occurredAt;
+
+    public VocabularyEvent(Type type, String userId, Long version, List<String> vocabularyIds, VocabularyEntry entry) {
+        this.type = type;
+        this.userId = userId;
+        this.version = version;
+        this.vocabularyIds = vocabularyIds;
+        this.entry = entry;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static VocabularyEvent ofEntry(Type type, VocabularyEntry entry) {
+        return new VocabularyEvent(type, entry.getUserId(), entry.getVersion(), List.of(entry.getId()), entry);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<String> getVocabularyIds() {
+        return vocabularyIds;
+    }
+
+    public VocabularyEntry getEntry() {
+        return entry;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+/**
+ * Sort orders supported by the vocabularyEntriesConnection query.
+ * Each one is backed by a userId-leading compound index that ends in _id,
+ * so keyset pagination never needs an in-memory sort.
+ */
+public enum VocabularyOrder {
+    /**
+     * fsrsCard.dueDate ASC, createdAt ASC, _id ASC, with cards that have no due date last
+     * (same order as vocabularyEntries)
+     */
+    DUE_DATE_ASC,
+
+    /**
+     * createdAt DESC, _id DESC (most recently saved first)
+     */
+    CREATED_AT_DESC
+}
@@ -0,0 +1,59 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+/**
+ * Result of the voiceSessionMessages query: a window of transcript items
+ * [startIndex, endIndex), newest window first when paging backwards.
+ */
+public class VoiceSessionMessagePage {
+
+    private final String sessionId;
+    private final String itemsJson;        // JSON array of the items in the window, oldest first
+    private final int startIndex;
+    private final int endIndex;            // exclusive; send startIndex as before for the previous page
+    private final int transcriptLength;
+    private final Long version;            // session version the window was read at
+
+    public VoiceSessionMessagePage(
+            String sessionId,
+            String itemsJson,
+            int startIndex,
+            int endIndex,
+            int transcriptLength,
+            Long version
+    ) {
+        this.sessionId = sessionId;
+        this.itemsJson = itemsJson;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.transcriptLength = transcriptLength;
+        this.version = version;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getItemsJson() {
+        return itemsJson;
+    }
+
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    public int getEndIndex() {
+        return endIndex;
+    }
+
+    public int getTranscriptLength() {
+        return transcriptLength;
+    }
+
+    public boolean isHasMore() {
+        return startIndex > 0;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
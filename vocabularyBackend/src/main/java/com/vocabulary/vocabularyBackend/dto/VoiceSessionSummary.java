@@ -0,0 +1,81 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+/**
+ * Read model for the voice session list: metadata only, never the transcript,
+ * active words or runtime context. Loaded with a projected query on voice_sessions.
+ */
+public class VoiceSessionSummary {
+
+    private String sessionId;
+    private String userId;
+    private String title;
+    private String titleSource;
+    private String createdAt;
+    private String updatedAt;
+    private int messageCount;
+    private Integer transcriptLength;
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getTitleSource() {
+        return titleSource;
+    }
+
+    public void setTitleSource(String titleSource) {
+        this.titleSource = titleSource;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public Integer getTranscriptLength() {
+        return transcriptLength;
+    }
+
+    public void setTranscriptLength(Integer transcriptLength) {
+        this.transcriptLength = transcriptLength;
+    }
+}
@@ -0,0 +1,110 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.vocabulary.vocabularyBackend.model.FSRSState;
+
+import java.util.Arrays;
+
+/**
+ * A deck's FSRS card states as parallel primitive arrays, the input of
+ * {@link ReviewLoadSimulator}: epoch-day due date and last review, float stability and
+ * difficulty, byte state. About 17 bytes per card, so a 10k-card deck fits in L2 cache.
+ * <p>
+ * Cards that were never reviewed (no stability yet) have state {@link #NEW} and NaN
+ * stability and difficulty.
+ */
+public final class DeckColumns {
+
+    public static final byte NEW = 0;
+    public static final byte LEARNING = 1;
+    public static final byte REVIEW = 2;
+    public static final byte RELEARNING = 3;
+
+    final int size;
+    final int[] dueDay;
+    final int[] lastReviewDay;
+    final float[] stability;
+    final float[] difficulty;
+    final byte[] state;
+
+    private DeckColumns(Builder b) {
+        this.size = b.size;
+        this.dueDay = Arrays.copyOf(b.dueDay, b.size);
+        this.lastReviewDay = Arrays.copyOf(b.lastReviewDay, b.size);
+        this.stability = Arrays.copyOf(b.stability, b.size);
+        this.difficulty = Arrays.copyOf(b.difficulty, b.size);
+        this.state = Arrays.copyOf(b.state, b.size);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static final class Builder {
+        private int size;
+        private int[] dueDay;
+        private int[] lastReviewDay;
+        private float[] stability;
+        private float[] difficulty;
+        private byte[] state;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            this.dueDay = new int[capacity];
+            this.lastReviewDay = new int[capacity];
+            this.stability = new float[capacity];
+            this.difficulty = new float[capacity];
+            this.state = new byte[capacity];
+        }
+
+        /**
+         * A card that has not been reviewed yet.
+         *
+         * @param dueDay Epoch day it becomes due
+         */
+        public Builder addNew(long dueDay) {
+            return add(dueDay, dueDay, Float.NaN, Float.NaN, NEW);
+        }
+
+        /**
+         * A reviewed card.
+         *
+         * @param dueDay Epoch day of the due date
+         * @param lastReviewDay Epoch day of the last review
+         * @param state Current state (null counts as learning, as in the scheduler)
+         */
+        public Builder addReviewed(long dueDay, long lastReviewDay, double stability, double difficulty, FSRSState state) {
+            byte column = state == null ? LEARNING : switch (state) {
+                case LEARNING -> LEARNING;
+                case REVIEW -> REVIEW;
+                case RELEARNING -> RELEARNING;
+            };
+            return add(dueDay, lastReviewDay, (float) stability, (float) difficulty, column);
+        }
+
+        public DeckColumns build() {
+            return new DeckColumns(this);
+        }
+
+        private Builder add(long dueDay, long lastReviewDay, float stability, float difficulty, byte state) {
+            if (size == this.dueDay.length) {
+                int capacity = size * 2;
+                this.dueDay = Arrays.copyOf(this.dueDay, capacity);
+                this.lastReviewDay = Arrays.copyOf(this.lastReviewDay, capacity);
+                this.stability = Arrays.copyOf(this.stability, capacity);
+                this.difficulty = Arrays.copyOf(this.difficulty, capacity);
+                this.state = Arrays.copyOf(this.state, capacity);
+            }
+            this.dueDay[size] = Math.toIntExact(dueDay);
+            this.lastReviewDay[size] = Math.toIntExact(lastReviewDay);
+            this.stability[size] = stability;
+            this.difficulty[size] = difficulty;
+            this.state[size] = state;
+            size++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+/**
+ * Fits FSRS weights to one user's {@link ReviewHistory}.
+ * <p>
+ * The loss replays every card through the same memory model as the scheduler
+ * ({@link FSRSParameters}): each scored review contributes the log loss of the predicted
+ * retrievability against "recalled" (rating > 1). A small L2 pull towards the default weights,
+ * fading as the history grows, keeps sparse histories from drifting.
+ * <p>
+ * Minimised with Adam on central finite-difference gradients (2 x 21 loss passes per step),
+ * projected onto the FSRS-6 weight bounds after every step. The best weights seen are returned.
+ * Instances are immutable and can fit many users concurrently.
+ */
+public final class FSRSOptimizer {
+
+    /**
+     * FSRS-6 weight bounds (fsrs-rs parameter clipper).
+     */
+    static final double[] LOWER_BOUNDS = {
+            0.001, 0.001, 0.001, 0.001, 1.0, 0.001, 0.001, 0.001, 0.0, 0.0, 0.001,
+            0.001, 0.001, 0.001, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.1
+    };
+    static final double[] UPPER_BOUNDS = {
+            100.0, 100.0, 100.0, 100.0, 10.0, 4.0, 4.0, 0.75, 4.5, 0.8, 3.5,
+            5.0, 0.25, 0.9, 4.0, 1.0, 6.0, 2.0, 2.0, 0.8, 0.8
+    };
+
+    private static final int WEIGHT_COUNT = 21;
+    private static final double GRADIENT_STEP = 1e-4;
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double EPSILON = 1e-8;
+    private static final double MIN_PROBABILITY = 1e-6;
+
+    /**
+     * @param weights Fitted weights (21)
+     * @param initialLoss Loss of the starting weights
+     * @param loss Loss of the fitted weights (at most initialLoss)
+     * @param iterations Adam steps taken
+     */
+    public record Result(double[] weights, double initialLoss, double loss, int iterations) {
+    }
+
+    private final FSRSParameters base;
+    private final int iterations;
+    private final double learningRate;
+    private final double regularization;
+
+    /**
+     * @param base Desired retention and maximum interval to fit under (weights are replaced)
+     * @param iterations Adam steps
+     * @param learningRate Adam step size
+     * @param regularization Strength of the pull towards the default weights (0 disables it)
+     */
+    public FSRSOptimizer(FSRSParameters base, int iterations, double learningRate, double regularization) {
+        this.base = base;
+        this.iterations = Math.max(0, iterations);
+        this.learningRate = learningRate;
+        this.regularization = regularization;
+    }
+
+    /**
+     * Mean log loss of the history under the given weights, without regularization.
+     * NaN if the history has nothing to score.
+     */
+    public double logLoss(ReviewHistory history, double[] weights) {
+        FSRSParameters p = base.withWeights(weights);
+        byte[] kind = history.kind;
+        byte[] rating = history.rating;
+        int[] elapsedDays = history.elapsedDays;
+
+        double sum = 0;
+        int terms = 0;
+        double s = 0;
+        double d = 0;
+        for (int i = 0; i < history.size; i++) {
+            int r = rating[i];
+            if (kind[i] == ReviewHistory.FIRST) {
+                s = p.initialStability(r);
+                d = p.initialDifficulty(r);
+                continue;
+            }
+            if (kind[i] == ReviewHistory.RESUME) {
+                s = history.stability[i];
+                d = history.difficulty[i];
+            }
+            int t = elapsedDays[i];
+            if (t < 1) {
+                s = p.shortTermStability(s, r);
+            } else {
+                double retrievability = p.retrievability(t, s);
+                double predicted = Math.min(Math.max(retrievability, MIN_PROBABILITY), 1 - MIN_PROBABILITY);
+                sum -= r > 1 ? Math.log(predicted) : Math.log(1 - predicted);
+                terms++;
+                s = p.nextStability(d, s, retrievability, r);
+            }
+            d = p.nextDifficulty(d, r);
+        }
+        return terms == 0 ? Double.NaN : sum / terms;
+    }
+
+    /**
+     * The objective: log loss plus the regularization term.
+     */
+    public double loss(ReviewHistory history, double[] weights) {
+        double logLoss = logLoss(history, weights);
+        if (Double.isNaN(logLoss) || regularization == 0) {
+            return logLoss;
+        }
+        double penalty = 0;
+        for (int i = 0; i < WEIGHT_COUNT; i++) {
+            double distance = (weights[i] - FSRSParameters.DEFAULT_WEIGHTS[i]) / (UPPER_BOUNDS[i] - LOWER_BOUNDS[i]);
+            penalty += distance * distance;
+        }
+        return logLoss + regularization * penalty / Math.sqrt(history.lossTerms());
+    }
+
+    /**
+     * @param start Weights to start from (19 or 21; e.g. the user's previous fit or the defaults)
+     */
+    public Result fit(ReviewHistory history, double[] start) {
+        double[] w = base.withWeights(start).weights();
+        clamp(w);
+        double initialLoss = loss(history, w);
+        if (Double.isNaN(initialLoss)) {
+            throw new IllegalArgumentException("Review history has no reviews to fit");
+        }
+
+        double[] best = w.clone();
+        double bestLoss = initialLoss;
+        double[] gradient = new double[WEIGHT_COUNT];
+        double[] m = new double[WEIGHT_COUNT];
+        double[] v = new double[WEIGHT_COUNT];
+        double[] probe = w.clone();
+
+        for (int step = 1; step <= iterations; step++) {
+            for (int i = 0; i < WEIGHT_COUNT; i++) {
+                double h = GRADIENT_STEP * (UPPER_BOUNDS[i] - LOWER_BOUNDS[i]);
+                probe[i] = w[i] + h;
+                double up = loss(history, probe);
+                probe[i] = w[i] - h;
+                double down = loss(history, probe);
+                probe[i] = w[i];
+                gradient[i] = (up - down) / (2 * h);
+            }
+
+            double correction1 = 1 - Math.pow(BETA1, step);
+            double correction2 = 1 - Math.pow(BETA2, step);
+            for (int i = 0; i < WEIGHT_COUNT; i++) {
+                double g = Double.isFinite(gradient[i]) ? gradient[i] : 0;
+                m[i] = BETA1 * m[i] + (1 - BETA1) * g;
+                v[i] = BETA2 * v[i] + (1 - BETA2) * g * g;
+                w[i] -= learningRate * (m[i] / correction1) / (Math.sqrt(v[i] / correction2) + EPSILON);
+            }
+            clamp(w);
+            System.arraycopy(w, 0, probe, 0, WEIGHT_COUNT);
+
+            double current = loss(history, w);
+            if (current < bestLoss) {
+                bestLoss = current;
+                System.arraycopy(w, 0, best, 0, WEIGHT_COUNT);
+            }
+        }
+        return new Result(best, initialLoss, bestLoss, iterations);
+    }
+
+    private static void clamp(double[] w) {
+        for (int i = 0; i < WEIGHT_COUNT; i++) {
+            w[i] = Math.min(Math.max(w[i], LOWER_BOUNDS[i]), UPPER_BOUNDS[i]);
+        }
+    }
+}
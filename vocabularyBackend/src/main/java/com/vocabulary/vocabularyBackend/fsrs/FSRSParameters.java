@@ -0,0 +1,205 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import java.util.Arrays;
+
+/**
+ * FSRS model weights plus the scheduler-level knobs (desired retention, maximum interval).
+ * <p>
+ * All the memory-model formulas live here as plain double math so the native scheduler,
+ * and anything else that needs to run FSRS in a tight loop, share one implementation.
+ * The formulas follow py-fsrs {@code Scheduler} (FSRS-6, 21 weights). A 19-weight FSRS-5
+ * vector is accepted too and behaves as FSRS-6 with a fixed decay of 0.5.
+ */
+public final class FSRSParameters {
+
+    /**
+     * Default weights of py-fsrs {@code Scheduler()} - what the Python service uses today.
+     */
+    public static final double[] DEFAULT_WEIGHTS = {
+            0.212, 1.2931, 2.3065, 8.2956, 6.4133, 0.8334, 3.0194, 0.001, 1.8722,
+            0.1666, 0.796, 1.4835, 0.0614, 0.2629, 1.6483, 0.6014, 1.8729, 0.5425,
+            0.0912, 0.0658, 0.1542
+    };
+
+    public static final double DEFAULT_DESIRED_RETENTION = 0.9;
+    public static final int DEFAULT_MAXIMUM_INTERVAL = 36500;
+
+    public static final double STABILITY_MIN = 0.001;
+    public static final double MIN_DIFFICULTY = 1.0;
+    public static final double MAX_DIFFICULTY = 10.0;
+
+    // Fuzz ranges: {start, end, factor}
+    private static final double[][] FUZZ_RANGES = {
+            {2.5, 7.0, 0.15},
+            {7.0, 20.0, 0.1},
+            {20.0, Double.POSITIVE_INFINITY, 0.05}
+    };
+
+    private final double[] w;
+    private final double desiredRetention;
+    private final int maximumInterval;
+    private final double decay;
+    private final double factor;
+    // Weight-only terms of the formulas below, computed once instead of per review
+    private final double intervalMultiplier;
+    private final double easyInitialDifficulty;
+    private final double recallScale;
+    private final double shortTermForgetDivisor;
+
+    public FSRSParameters(double[] weights, double desiredRetention, int maximumInterval) {
+        if (weights == null || (weights.length != 19 && weights.length != 21)) {
+            throw new IllegalArgumentException("FSRS expects 19 or 21 weights");
+        }
+        if (desiredRetention <= 0 || desiredRetention >= 1) {
+            throw new IllegalArgumentException("desiredRetention must be in (0, 1)");
+        }
+        this.w = weights.length == 21 ? weights.clone() : Arrays.copyOf(weights, 21);
+        if (weights.length == 19) {
+            // FSRS-5 had no short-term exponent and a fixed decay of -0.5
+            this.w[19] = 0.0;
+            this.w[20] = 0.5;
+        }
+        this.desiredRetention = desiredRetention;
+        this.maximumInterval = maximumInterval;
+        this.decay = -this.w[20];
+        this.factor = Math.pow(0.9, 1.0 / decay) - 1.0;
+        this.intervalMultiplier = Math.pow(desiredRetention, 1.0 / decay) - 1.0;
+        this.easyInitialDifficulty = rawInitialDifficulty(4);
+        this.recallScale = Math.exp(this.w[8]);
+        this.shortTermForgetDivisor = Math.exp(this.w[17] * this.w[18]);
+    }
+
+    public static FSRSParameters defaults() {
+        return new FSRSParameters(DEFAULT_WEIGHTS, DEFAULT_DESIRED_RETENTION, DEFAULT_MAXIMUM_INTERVAL);
+    }
+
+    public FSRSParameters withWeights(double[] weights) {
+        return new FSRSParameters(weights, desiredRetention, maximumInterval);
+    }
+
+    public double[] weights() {
+        return w.clone();
+    }
+
+    public double desiredRetention() {
+        return desiredRetention;
+    }
+
+    public int maximumInterval() {
+        return maximumInterval;
+    }
+
+    // Forgetting curve R = (1 + factor * t / S) ^ decay, for callers that evaluate it their own way
+    double decay() {
+        return decay;
+    }
+
+    double factor() {
+        return factor;
+    }
+
+    // ===== Memory model =====
+
+    public double retrievability(double elapsedDays, double stability) {
+        return Math.pow(1.0 + factor * Math.max(0.0, elapsedDays) / stability, decay);
+    }
+
+    public double initialStability(int rating) {
+        return clampStability(w[rating - 1]);
+    }
+
+    public double initialDifficulty(int rating) {
+        return clampDifficulty(rawInitialDifficulty(rating));
+    }
+
+    public double nextDifficulty(double difficulty, int rating) {
+        double deltaDifficulty = -(w[6] * (rating - 3));
+        // linear damping keeps difficulty from running past 10
+        double damped = difficulty + (10.0 - difficulty) * deltaDifficulty / 9.0;
+        // mean reversion towards the initial difficulty of an "Easy" first answer
+        double next = w[7] * easyInitialDifficulty + (1 - w[7]) * damped;
+        return clampDifficulty(next);
+    }
+
+    public double shortTermStability(double stability, int rating) {
+        double increase = Math.exp(w[17] * (rating - 3 + w[18])) * Math.pow(stability, -w[19]);
+        if (rating >= 3) {
+            increase = Math.max(increase, 1.0);
+        }
+        return clampStability(stability * increase);
+    }
+
+    public double nextStability(double difficulty, double stability, double retrievability, int rating) {
+        double next = rating == 1
+                ? nextForgetStability(difficulty, stability, retrievability)
+                : nextRecallStability(difficulty, stability, retrievability, rating);
+        return clampStability(next);
+    }
+
+    /**
+     * Unfuzzed review interval, in whole days, for the given stability.
+     */
+    public int nextIntervalDays(double stability) {
+        double interval = (stability / factor) * intervalMultiplier;
+        // Python round() is half-to-even, which is what Math.rint does
+        long days = (long) Math.rint(interval);
+        days = Math.max(days, 1);
+        days = Math.min(days, maximumInterval);
+        return (int) days;
+    }
+
+    /**
+     * Inclusive [min, max] day range that fuzzing may pick from for an interval.
+     * Intervals below 2.5 days are never fuzzed and return {interval, interval}.
+     */
+    public int[] fuzzRange(int intervalDays) {
+        if (intervalDays < 2.5) {
+            return new int[]{intervalDays, intervalDays};
+        }
+        double delta = 1.0;
+        for (double[] range : FUZZ_RANGES) {
+            delta += range[2] * Math.max(Math.min(intervalDays, range[1]) - range[0], 0.0);
+        }
+        int minIvl = (int) Math.rint(intervalDays - delta);
+        int maxIvl = (int) Math.rint(intervalDays + delta);
+        minIvl = Math.max(2, minIvl);
+        maxIvl = Math.min(maxIvl, maximumInterval);
+        minIvl = Math.min(minIvl, maxIvl);
+        return new int[]{minIvl, maxIvl};
+    }
+
+    // ===== Internals =====
+
+    private double rawInitialDifficulty(int rating) {
+        return w[4] - Math.exp(w[5] * (rating - 1)) + 1;
+    }
+
+    private double nextForgetStability(double difficulty, double stability, double retrievability) {
+        double longTerm = w[11]
+                * Math.pow(difficulty, -w[12])
+                * (Math.pow(stability + 1, w[13]) - 1)
+                * Math.exp((1 - retrievability) * w[14]);
+        double shortTerm = stability / shortTermForgetDivisor;
+        return Math.min(longTerm, shortTerm);
+    }
+
+    private double nextRecallStability(double difficulty, double stability, double retrievability, int rating) {
+        double hardPenalty = rating == 2 ? w[15] : 1;
+        double easyBonus = rating == 4 ? w[16] : 1;
+        return stability * (1
+                + recallScale
+                * (11 - difficulty)
+                * Math.pow(stability, -w[9])
+                * (Math.exp((1 - retrievability) * w[10]) - 1)
+                * hardPenalty
+                * easyBonus);
+    }
+
+    private static double clampStability(double stability) {
+        return Math.max(stability, STABILITY_MIN);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.min(Math.max(difficulty, MIN_DIFFICULTY), MAX_DIFFICULTY);
+    }
+}
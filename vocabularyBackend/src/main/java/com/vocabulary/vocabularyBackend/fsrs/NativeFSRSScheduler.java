@@ -0,0 +1,217 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import com.vocabulary.vocabularyBackend.model.FSRSState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * In-process FSRS scheduler.
+ * <p>
+ * Java port of py-fsrs {@code Scheduler.review_card} with the same defaults as
+ * {@code Scheduler()} in fsrs-service/app.py: learning steps 1m/10m, relearning step 10m,
+ * desired retention 0.9, maximum interval 36500 days and interval fuzzing enabled.
+ * Input and output use the Python service's JSON contract, including its
+ * "Learning"/"Review"/"Relearning" state names, so it is a drop-in replacement.
+ */
+public class NativeFSRSScheduler implements Scheduler {
+    private static final Logger logger = LoggerFactory.getLogger(NativeFSRSScheduler.class);
+
+    private static final List<Duration> LEARNING_STEPS = List.of(Duration.ofMinutes(1), Duration.ofMinutes(10));
+    private static final List<Duration> RELEARNING_STEPS = List.of(Duration.ofMinutes(10));
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final FSRSParameters parameters;
+    private final boolean enableFuzzing;
+    private final Supplier<RandomGenerator> random;
+
+    public NativeFSRSScheduler() {
+        this(FSRSParameters.defaults(), true);
+    }
+
+    public NativeFSRSScheduler(FSRSParameters parameters, boolean enableFuzzing) {
+        this(parameters, enableFuzzing, ThreadLocalRandom::current);
+    }
+
+    public NativeFSRSScheduler(FSRSParameters parameters, boolean enableFuzzing, Supplier<RandomGenerator> random) {
+        this.parameters = parameters;
+        this.enableFuzzing = enableFuzzing;
+        this.random = random;
+    }
+
+    public FSRSParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Same scheduler (retention, maximum interval, fuzzing) with other weights,
+     * e.g. a user's fitted ones.
+     */
+    public NativeFSRSScheduler withWeights(double[] weights) {
+        return new NativeFSRSScheduler(parameters.withWeights(weights), enableFuzzing, random);
+    }
+
+    @Override
+    public FSRSCardDTO reviewCard(FSRSCardDTO cardDTO, Integer rating, String reviewTime) {
+        if (rating == null || rating < 1 || rating > 4) {
+            throw new IllegalArgumentException("Rating must be 1 (Again) to 4 (Easy), got " + rating);
+        }
+        Instant reviewedAt = reviewTime == null || reviewTime.isBlank() ? Instant.now() : parseUtc(reviewTime);
+        Instant lastReview = cardDTO.getLastReview() == null ? null : parseUtc(cardDTO.getLastReview());
+
+        FSRSState state = parseState(cardDTO.getState());
+        Double stability = cardDTO.getStability();
+        Double difficulty = cardDTO.getDifficulty();
+        Integer step = cardDTO.getStep() == null ? 0 : cardDTO.getStep();
+
+        Long daysSinceLastReview = lastReview == null
+                ? null
+                : Math.floorDiv(Duration.between(lastReview, reviewedAt).getSeconds(), SECONDS_PER_DAY);
+
+        // ===== Update stability and difficulty =====
+        if (stability == null || difficulty == null) {
+            stability = parameters.initialStability(rating);
+            difficulty = parameters.initialDifficulty(rating);
+        } else if (daysSinceLastReview != null && daysSinceLastReview < 1) {
+            stability = parameters.shortTermStability(stability, rating);
+            difficulty = parameters.nextDifficulty(difficulty, rating);
+        } else {
+            double retrievability = lastReview == null
+                    ? 0
+                    : parameters.retrievability(Math.max(0, daysSinceLastReview), stability);
+            stability = parameters.nextStability(difficulty, stability, retrievability, rating);
+            difficulty = parameters.nextDifficulty(difficulty, rating);
+        }
+
+        // ===== Pick the next state and interval =====
+        Duration nextInterval;
+        if (state == FSRSState.REVIEW) {
+            if (rating == 1 && !RELEARNING_STEPS.isEmpty()) {
+                state = FSRSState.RELEARNING;
+                step = 0;
+                nextInterval = RELEARNING_STEPS.get(0);
+            } else {
+                nextInterval = Duration.ofDays(parameters.nextIntervalDays(stability));
+            }
+        } else {
+            List<Duration> steps = state == FSRSState.RELEARNING ? RELEARNING_STEPS : LEARNING_STEPS;
+            boolean graduate = steps.isEmpty()
+                    || (step >= steps.size() && rating >= 2)
+                    || rating == 4
+                    || (rating == 3 && step + 1 == steps.size());
+
+            if (graduate) {
+                state = FSRSState.REVIEW;
+                step = null;
+                nextInterval = Duration.ofDays(parameters.nextIntervalDays(stability));
+            } else if (rating == 1) {
+                step = 0;
+                nextInterval = steps.get(0);
+            } else if (rating == 2) {
+                // step stays the same
+                if (step == 0 && steps.size() == 1) {
+                    nextInterval = Duration.ofNanos((long) (steps.get(0).toNanos() * 1.5));
+                } else if (step == 0) {
+                    nextInterval = steps.get(0).plus(steps.get(1)).dividedBy(2);
+                } else {
+                    nextInterval = steps.get(step);
+                }
+            } else {
+                step = step + 1;
+                nextInterval = steps.get(step);
+            }
+        }
+
+        if (enableFuzzing && state == FSRSState.REVIEW) {
+            nextInterval = fuzz(nextInterval);
+        }
+
+        Instant due = reviewedAt.plus(nextInterval);
+
+        logger.debug("Native FSRS review: rating={}, state={} -> {}, due={}",
+                rating, cardDTO.getState(), state, due);
+
+        return new FSRSCardDTO(
+                difficulty,
+                stability,
+                formatUtc(due),
+                wireState(state),
+                formatUtc(reviewedAt),
+                step
+        );
+    }
+
+    private Duration fuzz(Duration interval) {
+        long days = interval.toDays();
+        if (days < 2.5) {
+            return interval;
+        }
+        int[] range = parameters.fuzzRange((int) days);
+        double fuzzed = random.get().nextDouble() * (range[1] - range[0] + 1) + range[0];
+        long fuzzedDays = Math.min((long) Math.rint(fuzzed), parameters.maximumInterval());
+        return Duration.ofDays(fuzzedDays);
+    }
+
+    // ===== Wire format helpers (mirror app.py) =====
+
+    /**
+     * Parses an ISO 8601 timestamp the way app.py does: "Z" and offsets are honoured,
+     * naive timestamps are treated as UTC.
+     */
+    static Instant parseUtc(String value) {
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException ignored) {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * Formats like Python's {@code datetime.isoformat()} on a UTC datetime,
+     * e.g. "2025-01-18T14:00:00+00:00" or "2025-01-18T14:00:00.123456+00:00".
+     */
+    static String formatUtc(Instant instant) {
+        LocalDateTime t = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        int micros = t.getNano() / 1000;
+        String base = String.format(Locale.ROOT, "%04d-%02d-%02dT%02d:%02d:%02d",
+                t.getYear(), t.getMonthValue(), t.getDayOfMonth(),
+                t.getHour(), t.getMinute(), t.getSecond());
+        return micros == 0
+                ? base + "+00:00"
+                : base + String.format(Locale.ROOT, ".%06d", micros) + "+00:00";
+    }
+
+    /**
+     * Accepts "REVIEW", "Review", "review"...; anything unknown is a learning card, as in app.py.
+     */
+    static FSRSState parseState(String state) {
+        if (state == null) {
+            return FSRSState.LEARNING;
+        }
+        try {
+            return FSRSState.valueOf(state.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return FSRSState.LEARNING;
+        }
+    }
+
+    /**
+     * py-fsrs State enum names: "Learning", "Review", "Relearning".
+     */
+    static String wireState(FSRSState state) {
+        String name = state.name();
+        return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import java.util.Arrays;
+
+/**
+ * One user's review history in columnar form, the input of {@link FSRSOptimizer}.
+ * <p>
+ * Reviews are stored card by card in time order as parallel primitive arrays, so the loss
+ * loop is a single pass with no objects or boxing. Each review is one of:
+ * <ul>
+ *   <li>FIRST: the card's first review; the memory state comes from the rating alone</li>
+ *   <li>RESUME: the first known review of a card that already had a memory state (reviews
+ *       before logging started, or a gap in the log); starts from the recorded state</li>
+ *   <li>NEXT: follows the previous review of the same card</li>
+ * </ul>
+ */
+public final class ReviewHistory {
+
+    static final byte FIRST = 0;
+    static final byte RESUME = 1;
+    static final byte NEXT = 2;
+
+    final int size;
+    final byte[] kind;
+    final byte[] rating;
+    final int[] elapsedDays;
+    final float[] stability;
+    final float[] difficulty;
+    final int lossTerms;
+
+    private ReviewHistory(Builder b) {
+        this.size = b.size;
+        this.kind = Arrays.copyOf(b.kind, b.size);
+        this.rating = Arrays.copyOf(b.rating, b.size);
+        this.elapsedDays = Arrays.copyOf(b.elapsedDays, b.size);
+        this.stability = Arrays.copyOf(b.stability, b.size);
+        this.difficulty = Arrays.copyOf(b.difficulty, b.size);
+        this.lossTerms = b.lossTerms;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reviews the optimizer can score: a known memory state and at least a day since the
+     * previous review (same-day reviews only update the state, as in the scheduler).
+     */
+    public int lossTerms() {
+        return lossTerms;
+    }
+
+    public static final class Builder {
+        private int size;
+        private byte[] kind = new byte[64];
+        private byte[] rating = new byte[64];
+        private int[] elapsedDays = new int[64];
+        private float[] stability = new float[64];
+        private float[] difficulty = new float[64];
+        private int lossTerms;
+        private boolean open;
+
+        private Builder() {
+        }
+
+        /**
+         * A card's first review ever.
+         */
+        public Builder first(int rating) {
+            append(FIRST, rating, 0, Float.NaN, Float.NaN);
+            return this;
+        }
+
+        /**
+         * First known review of a card with an existing memory state.
+         */
+        public Builder resume(double stability, double difficulty, int elapsedDays, int rating) {
+            append(RESUME, rating, elapsedDays, (float) stability, (float) difficulty);
+            return this;
+        }
+
+        /**
+         * The next review of the card started by the last first/resume call.
+         */
+        public Builder next(int elapsedDays, int rating) {
+            if (!open) {
+                throw new IllegalStateException("next() needs a preceding first() or resume()");
+            }
+            append(NEXT, rating, elapsedDays, Float.NaN, Float.NaN);
+            return this;
+        }
+
+        public ReviewHistory build() {
+            return new ReviewHistory(this);
+        }
+
+        private void append(byte kind, int rating, int elapsedDays, float stability, float difficulty) {
+            if (rating < 1 || rating > 4) {
+                throw new IllegalArgumentException("Rating must be 1 (Again) to 4 (Easy), got " + rating);
+            }
+            if (size == this.kind.length) {
+                int capacity = size * 2;
+                this.kind = Arrays.copyOf(this.kind, capacity);
+                this.rating = Arrays.copyOf(this.rating, capacity);
+                this.elapsedDays = Arrays.copyOf(this.elapsedDays, capacity);
+                this.stability = Arrays.copyOf(this.stability, capacity);
+                this.difficulty = Arrays.copyOf(this.difficulty, capacity);
+            }
+            this.kind[size] = kind;
+            this.rating[size] = (byte) rating;
+            this.elapsedDays[size] = Math.max(0, elapsedDays);
+            this.stability[size] = stability;
+            this.difficulty[size] = difficulty;
+            size++;
+            open = true;
+            if (kind != FIRST && elapsedDays >= 1) {
+                lossTerms++;
+            }
+        }
+    }
+}
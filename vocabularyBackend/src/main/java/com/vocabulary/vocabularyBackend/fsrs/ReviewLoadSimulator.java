@@ -0,0 +1,332 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo forecast of daily review load for a deck.
+ * <p>
+ * Each trajectory plays the deck forward day by day: every card due that day is reviewed, the
+ * answer is drawn from the FSRS retrievability at that moment (recalled with probability R,
+ * then Hard/Good/Easy in a typical mix, otherwise Again), the memory state is updated with
+ * {@link FSRSParameters} and the card is rescheduled at its next (fuzzed) interval.
+ * Simplifications:
+ * <ul>
+ *   <li>Learning and relearning steps (minutes apart) are folded into the day they start in:
+ *       a new or forgotten card counts once that day and leaves with a same-day Good</li>
+ *   <li>A daily limit defers the rest of a day's cards to the next day</li>
+ * </ul>
+ * Due cards are kept in per-day bucket lists, so a trajectory costs O(reviews), not
+ * O(cards x days). Trajectories are split into chunks, each with its own scratch columns and
+ * random stream, that run on the caller's executor (or in the calling thread); results depend
+ * only on the seed.
+ */
+public final class ReviewLoadSimulator {
+
+    // Cumulative answer mix: first answer to a new card (Again, Hard, Good, Easy)...
+    private static final double[] FIRST_RATING_CDF = {0.25, 0.40, 0.90, 1.0};
+    // ...and answer to a recalled card (Hard, Good, Easy)
+    private static final double[] RECALL_RATING_CDF = {0.15, 0.90, 1.0};
+
+    private static final int MAX_CHUNKS = 64;
+    private static final int NONE = -1;
+
+    /**
+     * @param days Days to simulate, starting today
+     * @param trajectories Simulated futures
+     * @param newCards Cards added today on top of the deck (e.g. words from one video)
+     * @param dailyLimit Reviews per day at most (0 for no limit)
+     */
+    public record Scenario(int days, int trajectories, int newCards, int dailyLimit) {
+        public Scenario {
+            if (days < 1 || trajectories < 1 || newCards < 0 || dailyLimit < 0) {
+                throw new IllegalArgumentException("days and trajectories must be positive, newCards and dailyLimit not negative");
+            }
+        }
+    }
+
+    /**
+     * @param mean Mean reviews per day
+     * @param percentiles Requested percentiles (0-1)
+     * @param values Reviews per day at each percentile: values[percentile][day]
+     */
+    public record Forecast(int cards, int trajectories, double[] mean, double[] percentiles, int[][] values) {
+    }
+
+    private final FSRSParameters parameters;
+    private final boolean enableFuzzing;
+    private final double decay;
+    private final double factor;
+
+    public ReviewLoadSimulator(FSRSParameters parameters, boolean enableFuzzing) {
+        this.parameters = parameters;
+        this.enableFuzzing = enableFuzzing;
+        this.decay = parameters.decay();
+        this.factor = parameters.factor();
+    }
+
+    /**
+     * Run every trajectory in the calling thread.
+     */
+    public Forecast simulate(DeckColumns deck, long today, Scenario scenario, double[] percentiles, long seed) {
+        return simulate(deck, today, scenario, percentiles, seed, null);
+    }
+
+    /**
+     * @param today Epoch day of day 0
+     * @param percentiles Percentiles to report (0-1), e.g. {0.1, 0.5, 0.9}
+     * @param executor Runs the trajectory chunks in parallel; null runs them in the calling thread
+     */
+    public Forecast simulate(DeckColumns deck, long today, Scenario scenario, double[] percentiles, long seed,
+                             ExecutorService executor) {
+        int days = scenario.days();
+        int cards = deck.size + scenario.newCards();
+
+        // Start state shared by every trajectory; day numbers are relative to today
+        int[] head = new int[days];
+        Arrays.fill(head, NONE);
+        int[] next = new int[cards];
+        float[] stability = Arrays.copyOf(deck.stability, cards);
+        float[] difficulty = Arrays.copyOf(deck.difficulty, cards);
+        int[] lastReview = new int[cards];
+        byte[] state = Arrays.copyOf(deck.state, cards);
+        for (int c = 0; c < cards; c++) {
+            int due = 0;
+            if (c < deck.size) {
+                due = (int) Math.max(0, deck.dueDay[c] - today);
+                lastReview[c] = (int) (deck.lastReviewDay[c] - today);
+            } else {
+                stability[c] = Float.NaN;
+                difficulty[c] = Float.NaN;
+                state[c] = DeckColumns.NEW;
+            }
+            if (due < days) {
+                next[c] = head[due];
+                head[due] = c;
+            }
+        }
+        Trajectory start = new Trajectory(head, next, stability, difficulty, lastReview, state);
+        Intervals intervals = intervals(days);
+
+        int trajectories = scenario.trajectories();
+        int[][] reviews = new int[trajectories][];
+        int chunks = Math.min(trajectories, MAX_CHUNKS);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            randoms[i] = root.split();
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            int chunk = i;
+            tasks.add(() -> {
+                Trajectory scratch = start.copy();
+                for (int k = chunk; k < trajectories; k += chunks) {
+                    scratch.reset(start);
+                    reviews[k] = run(scratch, intervals, days, scenario.dailyLimit(), randoms[chunk]);
+                }
+                return null;
+            });
+        }
+        runAll(tasks, executor);
+
+        return summarize(cards, reviews, days, percentiles);
+    }
+
+    private static void runAll(List<Callable<Void>> tasks, ExecutorService executor) {
+        try {
+            if (executor == null) {
+                for (Callable<Void> task : tasks) {
+                    task.call();
+                }
+                return;
+            }
+            for (Future<Void> done : executor.invokeAll(tasks)) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Review load simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (Exception e) {
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+        }
+    }
+
+    private int[] run(Trajectory t, Intervals intervals, int days, int dailyLimit, SplittableRandom random) {
+        int[] perDay = new int[days];
+        for (int day = 0; day < days; day++) {
+            int count = 0;
+            int c = t.head[day];
+            while (c != NONE) {
+                int following = t.next[c];
+                if (dailyLimit > 0 && count >= dailyLimit) {
+                    if (day + 1 < days) {
+                        t.push(day + 1, c);
+                    }
+                } else {
+                    count++;
+                    int due = review(t, intervals, c, day, random);
+                    if (due < days) {
+                        t.push(due, c);
+                    }
+                }
+                c = following;
+            }
+            perDay[day] = count;
+        }
+        return perDay;
+    }
+
+    /**
+     * Review card c on the given day.
+     *
+     * @return Day it is due next
+     */
+    private int review(Trajectory t, Intervals intervals, int c, int day, SplittableRandom random) {
+        FSRSParameters p = parameters;
+        double s;
+        double d;
+        if (t.state[c] == DeckColumns.NEW) {
+            int rating = 1 + sample(FIRST_RATING_CDF, random);
+            s = p.initialStability(rating);
+            d = p.initialDifficulty(rating);
+            if (rating < 4) {
+                // learning steps the same day until Good
+                s = p.shortTermStability(s, 3);
+                d = p.nextDifficulty(d, 3);
+            }
+        } else {
+            s = t.stability[c];
+            d = t.difficulty[c];
+            int elapsed = day - t.lastReview[c];
+            // p.retrievability(elapsed, s) as exp/log, which is several times cheaper than Math.pow
+            double retrievability = Math.exp(decay * Math.log(1.0 + factor * Math.max(0, elapsed) / s));
+            int rating = random.nextDouble() < retrievability ? 2 + sample(RECALL_RATING_CDF, random) : 1;
+            s = elapsed < 1 ? p.shortTermStability(s, rating) : p.nextStability(d, s, retrievability, rating);
+            d = p.nextDifficulty(d, rating);
+            if (rating == 1) {
+                // relearning step later the same day
+                s = p.shortTermStability(s, 3);
+                d = p.nextDifficulty(d, 3);
+            }
+        }
+        t.stability[c] = (float) s;
+        t.difficulty[c] = (float) d;
+        t.lastReview[c] = day;
+        t.state[c] = DeckColumns.REVIEW;
+        return day + intervals.draw(p.nextIntervalDays(s), random);
+    }
+
+    /**
+     * Fuzz ranges of every interval that can still land inside the horizon.
+     */
+    private Intervals intervals(int days) {
+        int[] min = new int[Math.min(days, parameters.maximumInterval()) + 1];
+        int[] max = new int[min.length];
+        int size = 1;
+        for (int interval = 1; interval <= parameters.maximumInterval(); interval++) {
+            int[] range = enableFuzzing ? parameters.fuzzRange(interval) : new int[]{interval, interval};
+            if (range[0] >= days) {
+                break;
+            }
+            if (size == min.length) {
+                min = Arrays.copyOf(min, size * 2);
+                max = Arrays.copyOf(max, size * 2);
+            }
+            min[size] = range[0];
+            max[size] = range[1];
+            size++;
+        }
+        return new Intervals(Arrays.copyOf(min, size), Arrays.copyOf(max, size), days);
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        double u = random.nextDouble();
+        int i = 0;
+        while (i < cdf.length - 1 && u >= cdf[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Forecast summarize(int cards, int[][] reviews, int days, double[] percentiles) {
+        int trajectories = reviews.length;
+        double[] mean = new double[days];
+        int[][] values = new int[percentiles.length][days];
+        int[] column = new int[trajectories];
+        for (int day = 0; day < days; day++) {
+            long sum = 0;
+            for (int k = 0; k < trajectories; k++) {
+                column[k] = reviews[k][day];
+                sum += column[k];
+            }
+            mean[day] = (double) sum / trajectories;
+            Arrays.sort(column);
+            for (int i = 0; i < percentiles.length; i++) {
+                // nearest rank
+                int rank = (int) Math.ceil(percentiles[i] * trajectories) - 1;
+                values[i][day] = column[Math.min(trajectories - 1, Math.max(0, rank))];
+            }
+        }
+        return new Forecast(cards, trajectories, mean, percentiles.clone(), values);
+    }
+
+    private record Intervals(int[] min, int[] max, int beyondHorizon) {
+        int draw(int interval, SplittableRandom random) {
+            if (interval >= min.length) {
+                return beyondHorizon;
+            }
+            int low = min[interval];
+            int high = max[interval];
+            return low == high ? low : low + random.nextInt(high - low + 1);
+        }
+    }
+
+    /**
+     * Mutable per-trajectory columns plus the due-day bucket lists (head[day] -> next[card]).
+     */
+    private static final class Trajectory {
+        private final int[] head;
+        private final int[] next;
+        private final float[] stability;
+        private final float[] difficulty;
+        private final int[] lastReview;
+        private final byte[] state;
+
+        private Trajectory(int[] head, int[] next, float[] stability, float[] difficulty, int[] lastReview, byte[] state) {
+            this.head = head;
+            this.next = next;
+            this.stability = stability;
+            this.difficulty = difficulty;
+            this.lastReview = lastReview;
+            this.state = state;
+        }
+
+        private Trajectory copy() {
+            return new Trajectory(head.clone(), next.clone(), stability.clone(), difficulty.clone(),
+                    lastReview.clone(), state.clone());
+        }
+
+        private void reset(Trajectory from) {
+            System.arraycopy(from.head, 0, head, 0, head.length);
+            System.arraycopy(from.next, 0, next, 0, next.length);
+            System.arraycopy(from.stability, 0, stability, 0, stability.length);
+            System.arraycopy(from.difficulty, 0, difficulty, 0, difficulty.length);
+            System.arraycopy(from.lastReview, 0, lastReview, 0, lastReview.length);
+            System.arraycopy(from.state, 0, state, 0, state.length);
+        }
+
+        private void push(int day, int card) {
+            next[card] = head[day];
+            head[day] = card;
+        }
+    }
+}
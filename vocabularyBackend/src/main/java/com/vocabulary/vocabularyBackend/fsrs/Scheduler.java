@@ -0,0 +1,40 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import com.vocabulary.vocabularyBackend.dto.FSRSReviewRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the next FSRS schedule for a card after a review.
+ * <p>
+ * Implementations speak the same card contract as the Python FSRS service
+ * (see fsrs-service/app.py), so callers can switch engines without changes:
+ * - NativeFSRSScheduler: in-process Java port (default)
+ * - FSRSClient: HTTP call to the Python service (fallback)
+ */
+public interface Scheduler {
+
+    /**
+     * @param card Current card state (difficulty/stability null for a never-reviewed card)
+     * @param rating 1=Again, 2=Hard, 3=Good, 4=Easy
+     * @param reviewTime ISO 8601 review time; naive timestamps are treated as UTC
+     * @return Updated card with new difficulty, stability, due date and state
+     */
+    FSRSCardDTO reviewCard(FSRSCardDTO card, Integer rating, String reviewTime);
+
+    /**
+     * Schedule many reviews at once (POST /review-batch on the Python service).
+     *
+     * @param reviews Card, rating and review time of each review
+     * @return Updated cards, in the same order
+     */
+    default List<FSRSCardDTO> reviewCards(List<FSRSReviewRequest> reviews) {
+        List<FSRSCardDTO> results = new ArrayList<>(reviews.size());
+        for (FSRSReviewRequest review : reviews) {
+            results.add(reviewCard(review.getCard(), review.getRating(), review.getReviewTime()));
+        }
+        return results;
+    }
+}
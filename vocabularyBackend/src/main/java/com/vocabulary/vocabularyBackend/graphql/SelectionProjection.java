@@ -0,0 +1,106 @@
+package com.vocabulary.vocabularyBackend.graphql;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns a GraphQL selection set into a MongoDB field projection.
+ * <p>
+ * Works for any @Document class: each selected GraphQL field is looked up as a persistent
+ * property of the document type and mapped to its stored field name ("id" becomes "_id").
+ * Embedded objects (e.g. fsrsCard) are projected as a whole. @Transient properties are
+ * filled in by the service, so selecting them needs no stored field.
+ * <p>
+ * An empty result means "no projection": either nothing could be determined, or a selected
+ * field has no stored counterpart, in which case the full document must be loaded.
+ */
+@Component
+public class SelectionProjection {
+
+    private final MongoMappingContext mappingContext;
+
+    public SelectionProjection(MongoMappingContext mappingContext) {
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * @param selectionSet Selection set injected into the controller method (may be null)
+     * @param documentType Document class the query loads
+     * @param pathPrefix Path to the document object in the result, e.g. "" for a list
+     *                   of documents or "edges/node/" for a connection
+     * @param required Extra property names that must always be loaded (sort keys, cursor fields...)
+     * @return Stored field names to include, or an empty set to load full documents
+     */
+    public Set<String> fieldsFor(
+            DataFetchingFieldSelectionSet selectionSet,
+            Class<?> documentType,
+            String pathPrefix,
+            String... required
+    ) {
+        if (selectionSet == null) {
+            return Set.of();
+        }
+        List<SelectedField> selected = pathPrefix.isEmpty()
+                ? selectionSet.getImmediateFields()
+                : selectionSet.getFields(pathPrefix + "*");
+        if (selected.isEmpty()) {
+            return Set.of();
+        }
+
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(documentType);
+        Set<String> fields = new LinkedHashSet<>();
+        for (SelectedField field : selected) {
+            if (field.getName().startsWith("__") || isTransient(documentType, field.getName())) {
+                continue; // __typename, computed fields
+            }
+            String stored = storedFieldName(entity, field.getName());
+            if (stored == null) {
+                return Set.of();
+            }
+            fields.add(stored);
+        }
+        for (String property : required) {
+            String stored = storedFieldName(entity, property);
+            fields.add(stored == null ? property : stored);
+        }
+        return fields;
+    }
+
+    /**
+     * Restrict a query to the given fields; an empty collection leaves the query untouched.
+     */
+    public static Query include(Query query, Collection<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            fields.forEach(query.fields()::include);
+        }
+        return query;
+    }
+
+    private static boolean isTransient(Class<?> documentType, String propertyName) {
+        Field field = ReflectionUtils.findField(documentType, propertyName);
+        return field != null && field.isAnnotationPresent(Transient.class);
+    }
+
+    private static String storedFieldName(MongoPersistentEntity<?> entity, String propertyPath) {
+        int dot = propertyPath.indexOf('.');
+        String head = dot < 0 ? propertyPath : propertyPath.substring(0, dot);
+        MongoPersistentProperty property = entity.getPersistentProperty(head);
+        if (property == null) {
+            return null;
+        }
+        return dot < 0 ? property.getFieldName() : property.getFieldName() + propertyPath.substring(dot);
+    }
+}
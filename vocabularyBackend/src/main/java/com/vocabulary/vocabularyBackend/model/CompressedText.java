@@ -0,0 +1,101 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A large JSON string that may be stored Deflate-compressed.
+ * <p>
+ * Loaded values keep the compressed bytes and are only inflated the first time {@link #text()}
+ * is called, so a document that is loaded and saved back without reading the field never
+ * pays for decompression (or recompression).
+ */
+public final class CompressedText {
+
+    private byte[] compressed;
+    private String text;
+
+    private CompressedText(String text, byte[] compressed) {
+        this.text = text;
+        this.compressed = compressed;
+    }
+
+    public static CompressedText of(String text) {
+        return text == null ? null : new CompressedText(text, null);
+    }
+
+    public static CompressedText ofCompressed(byte[] compressed) {
+        return new CompressedText(null, compressed);
+    }
+
+    /**
+     * Null-safe accessor for getters.
+     */
+    public static String textOf(CompressedText value) {
+        return value == null ? null : value.text();
+    }
+
+    public synchronized String text() {
+        if (text == null && compressed != null) {
+            text = new String(inflate(compressed), StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    /**
+     * Compressed form, computing (and keeping) it if needed.
+     */
+    public synchronized byte[] compressed() {
+        if (compressed == null) {
+            compressed = deflate(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed;
+    }
+
+    /**
+     * True if the value came from the database compressed and has not been inflated.
+     */
+    public synchronized boolean isStillCompressed() {
+        return text == null;
+    }
+
+    public static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 6);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed payload");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared state of FSRSOptimizerJob: one document (id "optimizer") for all instances.
+ * <p>
+ * watermark is the reviewedAt from which the next run looks for new review logs, so a restart
+ * does not rescan review_logs. The lease lets only one instance run the job at a time.
+ */
+@Document(collection = "fsrs_optimizer_state")
+public class FSRSOptimizerState {
+
+    public static final String ID = "optimizer";
+
+    @Id
+    private String id;
+    private LocalDateTime watermark;
+    private String leaseOwner;
+    // Epoch millis; another instance may take the lease after this
+    private Long leaseExpiresAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDateTime watermark) {
+        this.watermark = watermark;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public Long getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Long leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+}
@@ -0,0 +1,160 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.LocalDateTime;
+
+/**
+ * One saved review of one card: the rating and the FSRS state before and after it.
+ * <p>
+ * Append-only history next to the current state kept in VocabularyEntry.fsrsCard, which is
+ * overwritten on every save. Stored in a MongoDB time-series collection (time field
+ * reviewedAt, meta field userId), created by MongoIndexConfig before its indexes.
+ * <p>
+ * The "before" fields are null when the card was not found before the save,
+ * rating is null for clients that do not send it.
+ */
+@Document(collection = "review_logs")
+@TimeSeries(timeField = "reviewedAt", metaField = "userId", granularity = Granularity.HOURS)
+@CompoundIndex(name = "user_reviewed_idx", def = "{'userId': 1, 'reviewedAt': 1}")
+public class ReviewLog {
+
+    @Id
+    private String id;
+    private String userId;
+    private LocalDateTime reviewedAt;
+    private String vocabularyId;
+
+    /**
+     * 1 = Again, 2 = Hard, 3 = Good, 4 = Easy
+     */
+    private Integer rating;
+
+    /**
+     * Days since the previous review (0 for the first one)
+     */
+    private Double elapsedDays;
+
+    /**
+     * Days from this review to the next due date
+     */
+    private Double scheduledDays;
+
+    private FSRSState stateBefore;
+    private FSRSState stateAfter;
+    private Double stabilityBefore;
+    private Double stabilityAfter;
+    private Double difficultyBefore;
+    private Double difficultyAfter;
+
+    public ReviewLog() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getReviewedAt() {
+        return reviewedAt;
+    }
+
+    public void setReviewedAt(LocalDateTime reviewedAt) {
+        this.reviewedAt = reviewedAt;
+    }
+
+    public String getVocabularyId() {
+        return vocabularyId;
+    }
+
+    public void setVocabularyId(String vocabularyId) {
+        this.vocabularyId = vocabularyId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public Double getElapsedDays() {
+        return elapsedDays;
+    }
+
+    public void setElapsedDays(Double elapsedDays) {
+        this.elapsedDays = elapsedDays;
+    }
+
+    public Double getScheduledDays() {
+        return scheduledDays;
+    }
+
+    public void setScheduledDays(Double scheduledDays) {
+        this.scheduledDays = scheduledDays;
+    }
+
+    public FSRSState getStateBefore() {
+        return stateBefore;
+    }
+
+    public void setStateBefore(FSRSState stateBefore) {
+        this.stateBefore = stateBefore;
+    }
+
+    public FSRSState getStateAfter() {
+        return stateAfter;
+    }
+
+    public void setStateAfter(FSRSState stateAfter) {
+        this.stateAfter = stateAfter;
+    }
+
+    public Double getStabilityBefore() {
+        return stabilityBefore;
+    }
+
+    public void setStabilityBefore(Double stabilityBefore) {
+        this.stabilityBefore = stabilityBefore;
+    }
+
+    public Double getStabilityAfter() {
+        return stabilityAfter;
+    }
+
+    public void setStabilityAfter(Double stabilityAfter) {
+        this.stabilityAfter = stabilityAfter;
+    }
+
+    public Double getDifficultyBefore() {
+        return difficultyBefore;
+    }
+
+    public void setDifficultyBefore(Double difficultyBefore) {
+        this.difficultyBefore = difficultyBefore;
+    }
+
+    public Double getDifficultyAfter() {
+        return difficultyAfter;
+    }
+
+    public void setDifficultyAfter(Double difficultyAfter) {
+        this.difficultyAfter = difficultyAfter;
+    }
+}
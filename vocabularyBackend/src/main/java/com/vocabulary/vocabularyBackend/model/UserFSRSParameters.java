@@ -0,0 +1,95 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Personalized FSRS weights fitted from a user's review_logs by FSRSOptimizerJob.
+ * <p>
+ * weights is null while the user has too few reviews, or when no fit beat the default
+ * weights; the scheduler then uses the defaults. lastLogId is the newest review log the
+ * last fit saw: the job only refits users with logs newer than that.
+ */
+@Document(collection = "user_fsrs_parameters")
+public class UserFSRSParameters {
+
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private String userId;
+    private double[] weights;
+    private String lastLogId;
+    // Scored reviews (a day or more after the previous one) in the last fit
+    private int reviewCount;
+    // Mean log loss of the fitted and of the default weights on the same history
+    private Double loss;
+    private Double defaultLoss;
+    private LocalDateTime fittedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    public void setWeights(double[] weights) {
+        this.weights = weights;
+    }
+
+    public String getLastLogId() {
+        return lastLogId;
+    }
+
+    public void setLastLogId(String lastLogId) {
+        this.lastLogId = lastLogId;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Double getLoss() {
+        return loss;
+    }
+
+    public void setLoss(Double loss) {
+        this.loss = loss;
+    }
+
+    public Double getDefaultLoss() {
+        return defaultLoss;
+    }
+
+    public void setDefaultLoss(Double defaultLoss) {
+        this.defaultLoss = defaultLoss;
+    }
+
+    public LocalDateTime getFittedAt() {
+        return fittedAt;
+    }
+
+    public void setFittedAt(LocalDateTime fittedAt) {
+        this.fittedAt = fittedAt;
+    }
+}
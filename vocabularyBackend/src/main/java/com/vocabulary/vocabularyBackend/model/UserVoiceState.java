@@ -14,6 +14,8 @@ public class UserVoiceState {
     private String activeSessionId;
     private String globalReviewProgressJson;
     private String updatedAt;
+    // Bumped ($inc) by every write; globalReviewProgressState(ifNoneMatch) compares against it
+    private Long version;
 
     public String getId() {
         return id;
@@ -54,4 +56,12 @@ public class UserVoiceState {
     public void setUpdatedAt(String updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,14 +1,30 @@
 package com.vocabulary.vocabularyBackend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
 /**
  * MongoDB document model for vocabulary entries.
  * Stores words/phrases/sentences that users save from audio content.
+ * <p>
+ * Every repository query filters by userId first, so each index leads with userId:
+ * - user_due_created_id_idx: due cards, deck listing/pagination ordered by due date, createdAt, _id
+ * - user_created_id_idx: most recent entries, pagination by createdAt desc
+ * - user_text_idx: duplicate-word check
+ * - user_video_idx: entries saved from one video
+ * - user_version_idx: delta sync (entries changed since a client's last version)
  */
 @Document(collection = "vocabulary_entries")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_due_created_id_idx", def = "{'userId': 1, 'fsrsCard.dueDate': 1, 'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "user_created_id_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_text_idx", def = "{'userId': 1, 'text': 1}"),
+        @CompoundIndex(name = "user_video_idx", def = "{'userId': 1, 'videoTitle': 1}"),
+        @CompoundIndex(name = "user_version_idx", def = "{'userId': 1, 'version': 1}")
+})
 public class VocabularyEntry {
 
     @Id
@@ -30,6 +46,15 @@ public class VocabularyEntry {
     private String userId;
     private LocalDateTime createdAt;
 
+    /**
+     * Per-user sync version of the last change to this entry.
+     * Taken from the user's monotonic counter (VocabularySyncState) on every write,
+     * so clients can ask for "everything changed since version N".
+     * Null on entries written before delta sync existed.
+     */
+    private Long version;
+    private LocalDateTime updatedAt;
+
     /**
      * FSRS card data for spaced repetition scheduling.
      * This is an embedded document (stored inside this vocabulary entry).
@@ -158,6 +183,22 @@ public class VocabularyEntry {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public FSRSCard getFsrsCard() {
         return fsrsCard;
     }
@@ -179,6 +220,7 @@ public class VocabularyEntry {
                 ", exampleTrans='" + exampleTrans + '\'' +
                 ", userId='" + userId + '\'' +
                 ", createdAt=" + createdAt +
+                ", version=" + version +
                 ", videoTitle='" + videoTitle + '\'' +
                 ", sourceVideoUrl='" + sourceVideoUrl + '\'' +
                 ", fsrsCard=" + fsrsCard +
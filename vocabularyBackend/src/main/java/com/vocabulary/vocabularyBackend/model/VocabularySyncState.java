@@ -0,0 +1,100 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user monotonic version counter for vocabulary delta sync.
+ * Every vocabulary write takes the next value(s) atomically and lists them in pending until
+ * the write is done, so a sync never hands out a cursor past versions not yet written.
+ */
+@Document(collection = "vocabulary_sync_state")
+public class VocabularySyncState {
+
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private String userId;
+    private long version;
+    // Reserved blocks whose write is still running (dropped after app.vocabulary.sync.reservation-timeout)
+    private List<PendingVersions> pending = new ArrayList<>();
+    // Tombstones at or below this version were pruned: older cursors need a full sync
+    private long tombstonesPrunedThrough;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<PendingVersions> getPending() {
+        return pending;
+    }
+
+    public void setPending(List<PendingVersions> pending) {
+        this.pending = pending;
+    }
+
+    public long getTombstonesPrunedThrough() {
+        return tombstonesPrunedThrough;
+    }
+
+    public void setTombstonesPrunedThrough(long tombstonesPrunedThrough) {
+        this.tombstonesPrunedThrough = tombstonesPrunedThrough;
+    }
+
+    /**
+     * One reserved block of versions, starting at first.
+     */
+    public static class PendingVersions {
+        private String token;
+        private long first;
+        private long expiresAt;  // epoch millis
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public void setFirst(long first) {
+            this.first = first;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public void setExpiresAt(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind when a vocabulary entry is deleted, so delta sync can tell
+ * clients which entries to drop.
+ */
+@Document(collection = "vocabulary_tombstones")
+@CompoundIndex(name = "user_version_idx", def = "{'userId': 1, 'version': 1}")
+public class VocabularyTombstone {
+
+    @Id
+    private String id;
+    private String userId;
+    private String vocabularyId;
+    private long version;
+    private LocalDateTime deletedAt;
+
+    public VocabularyTombstone() {
+    }
+
+    public VocabularyTombstone(String userId, String vocabularyId, long version) {
+        this.userId = userId;
+        this.vocabularyId = vocabularyId;
+        this.version = version;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getVocabularyId() {
+        return vocabularyId;
+    }
+
+    public void setVocabularyId(String vocabularyId) {
+        this.vocabularyId = vocabularyId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.vocabulary.vocabularyBackend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -25,9 +26,34 @@ public class VoiceSessionDocument {
     private String updatedAt;
     private int messageCount;
 
-    private String transcriptJson;
-    private String activeWordsJson;
-    private String runtimeContextJson;
+    // Large payloads: stored compressed above a size threshold, inflated on first access
+    // (see VoicePayloadCompressionConfig)
+    private CompressedText transcriptJson;
+    private CompressedText activeWordsJson;
+    private CompressedText runtimeContextJson;
+
+    // true once the transcript lives in voice_transcript_chunks (transcriptJson is then not stored)
+    private boolean transcriptChunked;
+    private Integer transcriptLength;
+    // Chunk generation readers use (null = 0); a tail replacement is written as the next one
+    private Long transcriptGeneration;
+    // Lease of a running appendMessages (token + epoch-millis expiry); readers ignore it
+    private String transcriptWriteToken;
+    private Long transcriptWriteExpiresAt;
+
+    // SHA-256 of the payload fields as last written by a full snapshot (null after appends)
+    private String payloadHash;
+
+    // Not stored: whether the last saveSessionSnapshot actually wrote the payload
+    @Transient
+    private Boolean payloadWritten;
+
+    // Bumped ($inc) by every write that changes the session; clients send it back as ifNoneMatch
+    private Long version;
+
+    // Not stored: voiceSessionSnapshot(ifNoneMatch) matched, so no payload was loaded
+    @Transient
+    private Boolean notModified;
 
     public String getId() {
         return id;
@@ -94,26 +120,98 @@ public class VoiceSessionDocument {
     }
 
     public String getTranscriptJson() {
-        return transcriptJson;
+        return CompressedText.textOf(transcriptJson);
     }
 
     public void setTranscriptJson(String transcriptJson) {
-        this.transcriptJson = transcriptJson;
+        this.transcriptJson = CompressedText.of(transcriptJson);
     }
 
     public String getActiveWordsJson() {
-        return activeWordsJson;
+        return CompressedText.textOf(activeWordsJson);
     }
 
     public void setActiveWordsJson(String activeWordsJson) {
-        this.activeWordsJson = activeWordsJson;
+        this.activeWordsJson = CompressedText.of(activeWordsJson);
     }
 
     public String getRuntimeContextJson() {
-        return runtimeContextJson;
+        return CompressedText.textOf(runtimeContextJson);
     }
 
     public void setRuntimeContextJson(String runtimeContextJson) {
-        this.runtimeContextJson = runtimeContextJson;
+        this.runtimeContextJson = CompressedText.of(runtimeContextJson);
+    }
+
+    public boolean isTranscriptChunked() {
+        return transcriptChunked;
+    }
+
+    public void setTranscriptChunked(boolean transcriptChunked) {
+        this.transcriptChunked = transcriptChunked;
+    }
+
+    public Integer getTranscriptLength() {
+        return transcriptLength;
+    }
+
+    public void setTranscriptLength(Integer transcriptLength) {
+        this.transcriptLength = transcriptLength;
+    }
+
+    public long getTranscriptGeneration() {
+        return transcriptGeneration == null ? 0 : transcriptGeneration;
+    }
+
+    public void setTranscriptGeneration(Long transcriptGeneration) {
+        this.transcriptGeneration = transcriptGeneration;
+    }
+
+    public String getTranscriptWriteToken() {
+        return transcriptWriteToken;
+    }
+
+    public void setTranscriptWriteToken(String transcriptWriteToken) {
+        this.transcriptWriteToken = transcriptWriteToken;
+    }
+
+    public Long getTranscriptWriteExpiresAt() {
+        return transcriptWriteExpiresAt;
+    }
+
+    public void setTranscriptWriteExpiresAt(Long transcriptWriteExpiresAt) {
+        this.transcriptWriteExpiresAt = transcriptWriteExpiresAt;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public void setPayloadHash(String payloadHash) {
+        this.payloadHash = payloadHash;
+    }
+
+    public Boolean getPayloadWritten() {
+        return payloadWritten;
+    }
+
+    public void setPayloadWritten(Boolean payloadWritten) {
+        this.payloadWritten = payloadWritten;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getNotModified() {
+        return notModified;
+    }
+
+    public void setNotModified(Boolean notModified) {
+        this.notModified = notModified;
     }
 }
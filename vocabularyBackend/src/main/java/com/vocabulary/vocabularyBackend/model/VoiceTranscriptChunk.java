@@ -0,0 +1,81 @@
+package com.vocabulary.vocabularyBackend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed-size slice of a voice session transcript.
+ * Chunk k holds transcript items [k * MAX_ITEMS, (k + 1) * MAX_ITEMS), each item kept as its raw JSON,
+ * so appending new messages only touches the last chunk.
+ * <p>
+ * Replacing items below the stored length writes new chunks under the next generation instead of
+ * rewriting visible ones. For each chunkIndex, readers use the chunk with the highest generation
+ * not above the session's transcriptGeneration (a missing generation counts as 0).
+ */
+@Document(collection = "voice_transcript_chunks")
+@CompoundIndex(name = "user_session_chunk_gen_idx",
+        def = "{'userId': 1, 'sessionId': 1, 'chunkIndex': 1, 'generation': -1}", unique = true)
+public class VoiceTranscriptChunk {
+
+    public static final int MAX_ITEMS = 100;
+
+    @Id
+    private String id;
+    private String userId;
+    private String sessionId;
+    private int chunkIndex;
+    private long generation;
+    private List<String> items = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(int chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
+    public List<String> getItems() {
+        return items;
+    }
+
+    public void setItems(List<String> items) {
+        this.items = items;
+    }
+}
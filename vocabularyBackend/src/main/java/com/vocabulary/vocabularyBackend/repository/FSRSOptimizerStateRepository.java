@@ -0,0 +1,10 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.FSRSOptimizerState;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FSRSOptimizerStateRepository
+        extends MongoRepository<FSRSOptimizerState, String>, FSRSOptimizerStateRepositoryCustom {
+}
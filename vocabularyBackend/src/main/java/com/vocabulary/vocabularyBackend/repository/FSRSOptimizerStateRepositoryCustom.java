@@ -0,0 +1,27 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease and watermark updates on the FSRSOptimizerState document
+ * (implemented in FSRSOptimizerStateRepositoryCustomImpl).
+ */
+public interface FSRSOptimizerStateRepositoryCustom {
+
+    /**
+     * Take the optimizer lease if it is free, expired or already held by owner.
+     *
+     * @return true if owner now holds the lease
+     */
+    boolean tryAcquireLease(String owner, long leaseMillis);
+
+    /**
+     * Free the lease if owner still holds it.
+     */
+    void releaseLease(String owner);
+
+    /**
+     * Move the watermark forward to reviewedAt (never back).
+     */
+    void advanceWatermark(LocalDateTime reviewedAt);
+}
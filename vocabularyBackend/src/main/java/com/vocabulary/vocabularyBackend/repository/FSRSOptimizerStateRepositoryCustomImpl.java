@@ -0,0 +1,55 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.FSRSOptimizerState;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of FSRSOptimizerStateRepositoryCustom.
+ */
+public class FSRSOptimizerStateRepositoryCustomImpl implements FSRSOptimizerStateRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public FSRSOptimizerStateRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean tryAcquireLease(String owner, long leaseMillis) {
+        // Create the document first, so the conditional update below never has to upsert
+        mongoTemplate.upsert(new Query(where("_id").is(FSRSOptimizerState.ID)),
+                new Update().setOnInsert("_id", FSRSOptimizerState.ID), FSRSOptimizerState.class);
+
+        long now = System.currentTimeMillis();
+        // $not $gte also matches a missing lease
+        Query query = new Query(where("_id").is(FSRSOptimizerState.ID).orOperator(
+                where("leaseExpiresAt").not().gte(now),
+                where("leaseOwner").is(owner)));
+        Update update = new Update()
+                .set("leaseOwner", owner)
+                .set("leaseExpiresAt", now + leaseMillis);
+        return mongoTemplate.updateFirst(query, update, FSRSOptimizerState.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void releaseLease(String owner) {
+        mongoTemplate.updateFirst(
+                new Query(where("_id").is(FSRSOptimizerState.ID).and("leaseOwner").is(owner)),
+                new Update().unset("leaseOwner").unset("leaseExpiresAt"),
+                FSRSOptimizerState.class);
+    }
+
+    @Override
+    public void advanceWatermark(LocalDateTime reviewedAt) {
+        mongoTemplate.updateFirst(
+                new Query(where("_id").is(FSRSOptimizerState.ID)),
+                new Update().max("watermark", reviewedAt),
+                FSRSOptimizerState.class);
+    }
+}
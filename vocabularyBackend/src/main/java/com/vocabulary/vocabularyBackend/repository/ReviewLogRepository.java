@@ -0,0 +1,16 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Append-only: entries are written in batches by ReviewLogWriter and never updated.
+ */
+@Repository
+public interface ReviewLogRepository extends MongoRepository<ReviewLog, String>, ReviewLogRepositoryCustom {
+
+    List<ReviewLog> findByUserIdOrderByReviewedAtAsc(String userId);
+}
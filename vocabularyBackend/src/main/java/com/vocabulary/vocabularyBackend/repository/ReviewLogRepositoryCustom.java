@@ -0,0 +1,30 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Custom ReviewLogRepository operations that need MongoTemplate
+ * (implemented in ReviewLogRepositoryCustomImpl).
+ */
+public interface ReviewLogRepositoryCustom {
+
+    /**
+     * Newest review log of one user among the logs a query looked at.
+     *
+     * @param logId Greatest log ID
+     * @param reviewedAt Latest reviewedAt
+     */
+    record NewestLog(String logId, LocalDateTime reviewedAt) {
+    }
+
+    /**
+     * Newest review log of every user with logs reviewed after reviewedAfter.
+     * <p>
+     * Filters on the time field, so MongoDB only opens the time-series buckets that can match.
+     *
+     * @param reviewedAfter Only look at logs with a later reviewedAt (null for all logs)
+     * @return userId to that user's newest log
+     */
+    Map<String, NewestLog> findNewestLogByUser(LocalDateTime reviewedAfter);
+}
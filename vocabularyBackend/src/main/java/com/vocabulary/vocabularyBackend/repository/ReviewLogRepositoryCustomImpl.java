@@ -0,0 +1,44 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of ReviewLogRepositoryCustom.
+ */
+public class ReviewLogRepositoryCustomImpl implements ReviewLogRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReviewLogRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, NewestLog> findNewestLogByUser(LocalDateTime reviewedAfter) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (reviewedAfter != null) {
+            stages.add(Aggregation.match(where("reviewedAt").gt(reviewedAfter)));
+        }
+        stages.add(Aggregation.group("userId").max("_id").as("newestLogId").max("reviewedAt").as("newestReviewedAt"));
+
+        Map<String, NewestLog> newest = new HashMap<>();
+        mongoTemplate.aggregate(Aggregation.newAggregation(stages), ReviewLog.class, Document.class)
+                .forEach(row -> newest.put(row.getString("_id"), new NewestLog(
+                        row.getObjectId("newestLogId").toHexString(),
+                        LocalDateTime.ofInstant(row.getDate("newestReviewedAt").toInstant(), ZoneId.systemDefault()))));
+        return newest;
+    }
+}
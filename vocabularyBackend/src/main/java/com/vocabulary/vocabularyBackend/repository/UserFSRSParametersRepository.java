@@ -0,0 +1,17 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.UserFSRSParameters;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserFSRSParametersRepository extends MongoRepository<UserFSRSParameters, String> {
+
+    Optional<UserFSRSParameters> findByUserId(String userId);
+
+    List<UserFSRSParameters> findByUserIdIn(Collection<String> userIds);
+}
@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UserVoiceStateRepository extends MongoRepository<UserVoiceState, String> {
+public interface UserVoiceStateRepository extends MongoRepository<UserVoiceState, String>, UserVoiceStateRepositoryCustom {
 
     Optional<UserVoiceState> findByUserId(String userId);
 }
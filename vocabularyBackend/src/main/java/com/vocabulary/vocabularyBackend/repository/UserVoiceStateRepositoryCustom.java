@@ -0,0 +1,42 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.UserVoiceState;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Custom UserVoiceStateRepository operations that need MongoTemplate
+ * (implemented in UserVoiceStateRepositoryCustomImpl).
+ */
+public interface UserVoiceStateRepositoryCustom {
+
+    /**
+     * Find a user's state, loading only the given fields.
+     *
+     * @param userId Owner ID
+     * @param fields Stored fields to load (empty loads the full document)
+     * @return Optional containing the state if found
+     */
+    Optional<UserVoiceState> findState(String userId, Set<String> fields);
+
+    /**
+     * Apply an update and bump the state version ($inc) in one atomic write.
+     *
+     * @param upsert Create the state if the user has none yet
+     * @param fields Stored fields of the updated state to return (version is always included)
+     * @return The state after the update, or empty if none matched and upsert is false
+     */
+    Optional<UserVoiceState> updateVersioned(String userId, Update update, boolean upsert, Set<String> fields);
+
+    /**
+     * Like updateVersioned, but only if the stored version is still expectedVersion
+     * (compare-and-set for read-modify-write updates such as merge patches).
+     *
+     * @param expectedVersion Version that was read; null expects a state without a version
+     * @param upsert Create the state if the user has none yet (a concurrent insert fails with DuplicateKeyException)
+     * @return The state after the update, or empty if the version no longer matched
+     */
+    Optional<UserVoiceState> updateIfVersion(String userId, Long expectedVersion, Update update, boolean upsert, Set<String> fields);
+}
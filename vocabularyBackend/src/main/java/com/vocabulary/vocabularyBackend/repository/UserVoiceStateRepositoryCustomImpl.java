@@ -0,0 +1,57 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
+import com.vocabulary.vocabularyBackend.model.UserVoiceState;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of UserVoiceStateRepositoryCustom.
+ */
+public class UserVoiceStateRepositoryCustomImpl implements UserVoiceStateRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserVoiceStateRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<UserVoiceState> findState(String userId, Set<String> fields) {
+        Query query = new Query(where("userId").is(userId));
+        return Optional.ofNullable(mongoTemplate.findOne(SelectionProjection.include(query, fields), UserVoiceState.class));
+    }
+
+    @Override
+    public Optional<UserVoiceState> updateVersioned(String userId, Update update, boolean upsert, Set<String> fields) {
+        return findAndModify(where("userId").is(userId), update, upsert, fields);
+    }
+
+    @Override
+    public Optional<UserVoiceState> updateIfVersion(String userId, Long expectedVersion, Update update, boolean upsert, Set<String> fields) {
+        Criteria criteria = where("userId").is(userId);
+        // exists(false) rather than is(null), so an upsert does not seed version: null before the $inc
+        criteria = expectedVersion == null
+                ? criteria.and("version").exists(false)
+                : criteria.and("version").is(expectedVersion);
+        return findAndModify(criteria, update, upsert, fields);
+    }
+
+    private Optional<UserVoiceState> findAndModify(Criteria criteria, Update update, boolean upsert, Set<String> fields) {
+        Query query = SelectionProjection.include(new Query(criteria), fields);
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true).upsert(upsert),
+                UserVoiceState.class));
+    }
+}
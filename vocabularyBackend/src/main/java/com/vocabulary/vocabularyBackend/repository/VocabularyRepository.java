@@ -4,7 +4,7 @@ import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.mongodb.repository.Query;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 
 
 
@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
  * Spring Data MongoDB automatically implements these methods.
  */
 @Repository
-public interface VocabularyRepository extends MongoRepository<VocabularyEntry, String> {
+public interface VocabularyRepository extends MongoRepository<VocabularyEntry, String>, VocabularyRepositoryCustom {
 
     // ===== Basic Query Methods (Spring Data auto-implements these) =====
     /**
@@ -108,13 +108,34 @@ public interface VocabularyRepository extends MongoRepository<VocabularyEntry, S
 
     /**
      * Find vocabulary cards due for review.
+     * Sort and limit come from the Pageable and are applied by MongoDB, so only
+     * one review session worth of documents is read.
      *
      * @param userId User ID
      * @param dueDate Current date/time (cards with dueDate <= this)
-     * @param sort Sorting criteria
+     * @param pageable Page size and sorting criteria
      * @return List of due vocabulary entries
      */
     @Query("{ 'userId': ?0, 'fsrsCard.dueDate': { $lte: ?1 } }")
-    List<VocabularyEntry> findDueCards(String userId, LocalDateTime dueDate, Sort sort);
+    List<VocabularyEntry> findDueCards(String userId, LocalDateTime dueDate, Pageable pageable);
+
+    /**
+     * Same as {@link #findDueCards(String, LocalDateTime, Pageable)} but returns a projection,
+     * so MongoDB only sends back the fields the projection type declares.
+     *
+     * @param type Projection interface or DTO class
+     */
+    @Query("{ 'userId': ?0, 'fsrsCard.dueDate': { $lte: ?1 } }")
+    <T> List<T> findDueCards(String userId, LocalDateTime dueDate, Pageable pageable, Class<T> type);
+
+    /**
+     * Count all cards due for review (the full backlog, not just one session).
+     *
+     * @param userId User ID
+     * @param dueDate Current date/time (cards with dueDate <= this)
+     * @return Number of due cards
+     */
+    @Query(value = "{ 'userId': ?0, 'fsrsCard.dueDate': { $lte: ?1 } }", count = true)
+    long countDueCards(String userId, LocalDateTime dueDate);
 
 }
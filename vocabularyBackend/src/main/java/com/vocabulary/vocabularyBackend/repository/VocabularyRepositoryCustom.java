@@ -0,0 +1,106 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.dto.VocabularyCursor;
+import com.vocabulary.vocabularyBackend.dto.VocabularyOrder;
+import com.vocabulary.vocabularyBackend.model.FSRSCard;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Custom VocabularyRepository operations that need MongoTemplate
+ * (implemented in VocabularyRepositoryCustomImpl).
+ */
+public interface VocabularyRepositoryCustom {
+
+    /**
+     * Write new FSRS card state for many entries in one unordered bulkWrite.
+     * Each update only $sets the fsrsCard.* fields, so the large text fields are never
+     * read or rewritten.
+     *
+     * @param userId Owner guard added to every update filter (required)
+     * @param cardsById New card state keyed by vocabulary entry ID
+     * @param firstVersion Sync version for the first update, incremented per entry in map order
+     *                     (0 leaves the sync version untouched)
+     * @return Per-entry outcome of the bulk write
+     */
+    BulkCardUpdateResult bulkUpdateFsrsCards(String userId, Map<String, FSRSCard> cardsById, long firstVersion);
+
+    /**
+     * Entries whose sync version is greater than the given one (delta sync).
+     *
+     * @param userId The user's ID
+     * @param sinceVersion Last version the client has seen
+     * @param fields Stored fields to load (empty loads full documents)
+     * @return Changed entries in version order
+     */
+    List<VocabularyEntry> findChangedSince(String userId, long sinceVersion, Set<String> fields);
+
+    /**
+     * Keyset page of a user's entries. Sorting, the "after" predicate and the limit all
+     * run in MongoDB on the index matching the order, so cost does not grow with deck size.
+     *
+     * @param userId The user's ID
+     * @param order Sort order
+     * @param after Position to continue after (null for the first page)
+     * @param limit Maximum number of entries to return
+     * @param fields Stored fields to load (empty loads full documents)
+     * @return Entries in the requested order
+     */
+    List<VocabularyEntry> findPage(String userId, VocabularyOrder order, VocabularyCursor after, int limit,
+                                   Set<String> fields);
+
+    /**
+     * Whole deck ordered by due date (cards without one last), then createdAt, loading only the given fields.
+     *
+     * @param userId The user's ID
+     * @param fields Stored fields to load (empty loads full documents)
+     * @return Ordered entries
+     */
+    List<VocabularyEntry> findDeck(String userId, Set<String> fields);
+
+    /**
+     * Find one entry by ID, loading only the given fields.
+     *
+     * @param id The vocabulary entry ID
+     * @param fields Stored fields to load (empty loads the full document)
+     * @return Optional containing the entry if found
+     */
+    Optional<VocabularyEntry> findProjectedById(String id, Set<String> fields);
+
+    /**
+     * Find entries by ID in one query, loading only the given fields.
+     *
+     * @param userId Owner guard (required)
+     * @param ids The vocabulary entry IDs
+     * @param fields Stored fields to load (empty loads full documents)
+     * @return Entries that exist, in no particular order
+     */
+    List<VocabularyEntry> findProjectedByIds(String userId, Collection<String> ids, Set<String> fields);
+
+    /**
+     * Outcome of {@link #bulkUpdateFsrsCards}: IDs that matched and were written,
+     * and a failure reason for every other ID.
+     */
+    class BulkCardUpdateResult {
+        private final Map<String, String> failures = new LinkedHashMap<>();
+        private int updatedCount;
+
+        public void fail(String vocabularyId, String reason) {
+            failures.put(vocabularyId, reason);
+        }
+
+        public void setUpdatedCount(int updatedCount) {
+            this.updatedCount = updatedCount;
+        }
+
+        public int getUpdatedCount() { return updatedCount; }
+        public Map<String, String> getFailures() { return failures; }
+        public boolean isSuccess(String vocabularyId) { return !failures.containsKey(vocabularyId); }
+    }
+}
@@ -0,0 +1,185 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.vocabulary.vocabularyBackend.dto.VocabularyCursor;
+import com.vocabulary.vocabularyBackend.dto.VocabularyOrder;
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
+import com.vocabulary.vocabularyBackend.model.FSRSCard;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of VocabularyRepositoryCustom.
+ * Spring Data picks it up by the "Impl" suffix and merges it into VocabularyRepository.
+ */
+public class VocabularyRepositoryCustomImpl implements VocabularyRepositoryCustom {
+
+    private static final Sort DUE_ORDER = Sort.by(Sort.Direction.ASC, "fsrsCard.dueDate", "createdAt", "_id");
+
+    private final MongoTemplate mongoTemplate;
+
+    public VocabularyRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public BulkCardUpdateResult bulkUpdateFsrsCards(String userId, Map<String, FSRSCard> cardsById, long firstVersion) {
+        BulkCardUpdateResult result = new BulkCardUpdateResult();
+        if (cardsById.isEmpty()) {
+            return result;
+        }
+
+        List<String> ids = new ArrayList<>(cardsById.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, VocabularyEntry.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            FSRSCard card = cardsById.get(id);
+            Update update = new Update()
+                    .set("fsrsCard.difficulty", card.getDifficulty())
+                    .set("fsrsCard.stability", card.getStability())
+                    .set("fsrsCard.dueDate", card.getDueDate())
+                    .set("fsrsCard.state", card.getState())
+                    .set("fsrsCard.lastReview", card.getLastReview())
+                    .set("fsrsCard.reps", card.getReps())
+                    .set("updatedAt", now);
+            if (firstVersion > 0) {
+                update.set("version", firstVersion + i);
+            }
+            bulk.updateOne(ownedBy(userId, where("_id").is(id)), update);
+        }
+
+        BulkWriteResult writeResult;
+        try {
+            writeResult = bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the other updates still ran; record the ones that errored
+            for (BulkWriteError error : e.getErrors()) {
+                result.fail(ids.get(error.getIndex()), error.getMessage());
+            }
+            writeResult = e.getResult();
+        }
+
+        int matched = writeResult.getMatchedCount();
+        result.setUpdatedCount(matched);
+
+        // Bulk results only carry totals; look up which IDs did not match (missing or not owned)
+        if (matched + result.getFailures().size() < ids.size()) {
+            List<String> unresolved = ids.stream().filter(result::isSuccess).toList();
+            Query existing = ownedBy(userId, where("_id").in(unresolved));
+            existing.fields().include("_id");
+
+            Set<String> found = new HashSet<>();
+            mongoTemplate.find(existing, VocabularyEntry.class).forEach(e -> found.add(e.getId()));
+            for (String id : unresolved) {
+                if (!found.contains(id)) {
+                    result.fail(id, "Vocabulary entry not found");
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<VocabularyEntry> findPage(String userId, VocabularyOrder order, VocabularyCursor after, int limit,
+                                          Set<String> fields) {
+        if (order == VocabularyOrder.CREATED_AT_DESC) {
+            Criteria criteria = where("userId").is(userId);
+            if (after != null) {
+                criteria = criteria.orOperator(
+                        where("createdAt").lt(after.getCreatedAt()),
+                        where("createdAt").is(after.getCreatedAt()).and("_id").lt(after.getId())
+                );
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "createdAt", "_id")).limit(limit);
+            return mongoTemplate.find(SelectionProjection.include(query, fields), VocabularyEntry.class);
+        }
+
+        // MongoDB sorts null due dates first; cards without one are listed last (as vocabularyEntries always
+        // did), so dated cards are read first and undated ones fill the rest of the page
+        List<VocabularyEntry> page = new ArrayList<>();
+        if (after == null || after.getDueDate() != null) {
+            Criteria dated = where("userId").is(userId).and("fsrsCard.dueDate").ne(null);
+            if (after != null) {
+                dated = dated.orOperator(
+                        where("fsrsCard.dueDate").gt(after.getDueDate()),
+                        where("fsrsCard.dueDate").is(after.getDueDate()).and("createdAt").gt(after.getCreatedAt()),
+                        where("fsrsCard.dueDate").is(after.getDueDate()).and("createdAt").is(after.getCreatedAt())
+                                .and("_id").gt(after.getId())
+                );
+            }
+            Query query = new Query(dated).with(DUE_ORDER).limit(limit);
+            page.addAll(mongoTemplate.find(SelectionProjection.include(query, fields), VocabularyEntry.class));
+        }
+        if (page.size() < limit) {
+            Criteria undated = where("userId").is(userId).and("fsrsCard.dueDate").is(null);
+            if (after != null && after.getDueDate() == null) {
+                undated = undated.orOperator(
+                        where("createdAt").gt(after.getCreatedAt()),
+                        where("createdAt").is(after.getCreatedAt()).and("_id").gt(after.getId())
+                );
+            }
+            Query query = new Query(undated).with(DUE_ORDER).limit(limit - page.size());
+            page.addAll(mongoTemplate.find(SelectionProjection.include(query, fields), VocabularyEntry.class));
+        }
+        return page;
+    }
+
+    @Override
+    public List<VocabularyEntry> findChangedSince(String userId, long sinceVersion, Set<String> fields) {
+        Query query = new Query(where("userId").is(userId).and("version").gt(sinceVersion))
+                .with(Sort.by(Sort.Direction.ASC, "version"));
+        return mongoTemplate.find(SelectionProjection.include(query, fields), VocabularyEntry.class);
+    }
+
+    @Override
+    public List<VocabularyEntry> findDeck(String userId, Set<String> fields) {
+        // Dated cards first, then the ones without a due date (see findPage)
+        Query dated = new Query(where("userId").is(userId).and("fsrsCard.dueDate").ne(null)).with(DUE_ORDER);
+        Query undated = new Query(where("userId").is(userId).and("fsrsCard.dueDate").is(null)).with(DUE_ORDER);
+        List<VocabularyEntry> deck = new ArrayList<>(
+                mongoTemplate.find(SelectionProjection.include(dated, fields), VocabularyEntry.class));
+        deck.addAll(mongoTemplate.find(SelectionProjection.include(undated, fields), VocabularyEntry.class));
+        return deck;
+    }
+
+    @Override
+    public Optional<VocabularyEntry> findProjectedById(String id, Set<String> fields) {
+        Query query = new Query(where("_id").is(id));
+        return Optional.ofNullable(mongoTemplate.findOne(SelectionProjection.include(query, fields), VocabularyEntry.class));
+    }
+
+    @Override
+    public List<VocabularyEntry> findProjectedByIds(String userId, Collection<String> ids, Set<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return mongoTemplate.find(SelectionProjection.include(ownedBy(userId, where("_id").in(ids)), fields), VocabularyEntry.class);
+    }
+
+    private static Query ownedBy(String userId, Criteria criteria) {
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        return new Query(criteria.and("userId").is(userId));
+    }
+}
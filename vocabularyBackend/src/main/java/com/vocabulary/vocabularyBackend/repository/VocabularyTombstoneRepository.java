@@ -0,0 +1,19 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.VocabularyTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VocabularyTombstoneRepository extends MongoRepository<VocabularyTombstone, String> {
+
+    List<VocabularyTombstone> findByUserIdAndVersionGreaterThan(String userId, long version);
+
+    Optional<VocabularyTombstone> findFirstByUserIdAndDeletedAtBeforeOrderByVersionDesc(String userId, LocalDateTime cutoff);
+
+    long deleteByUserIdAndVersionLessThanEqual(String userId, long version);
+}
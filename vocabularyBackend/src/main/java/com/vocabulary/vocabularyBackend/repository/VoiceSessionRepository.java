@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VoiceSessionRepository extends MongoRepository<VoiceSessionDocument, String> {
+public interface VoiceSessionRepository extends MongoRepository<VoiceSessionDocument, String>, VoiceSessionRepositoryCustom {
 
     List<VoiceSessionDocument> findByUserIdOrderByUpdatedAtDesc(String userId);
 
@@ -0,0 +1,98 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionSummary;
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Custom VoiceSessionRepository operations that need MongoTemplate
+ * (implemented in VoiceSessionRepositoryCustomImpl).
+ */
+public interface VoiceSessionRepositoryCustom {
+
+    /**
+     * Find one session, loading only the given fields.
+     * Leaving out transcriptJson / activeWordsJson / runtimeContextJson skips the large payloads.
+     *
+     * @param userId Owner ID
+     * @param sessionId Session ID
+     * @param fields Stored fields to load (empty loads the full document)
+     * @return Optional containing the session if found
+     */
+    Optional<VoiceSessionDocument> findSnapshot(String userId, String sessionId, Set<String> fields);
+
+    /**
+     * Session list for a user, newest first (user_updated_idx).
+     * Only the summary fields are read, so the list costs the same however long the transcripts are.
+     *
+     * @param userId Owner ID
+     * @return Summaries ordered by updatedAt descending
+     */
+    List<VoiceSessionSummary> findSummaries(String userId);
+
+    /**
+     * Apply an update only if the stored transcript is still in the expected state,
+     * so two concurrent appends cannot both win.
+     *
+     * @param expectedLength Stored chunked transcript length; null expects a not yet chunked transcript
+     * @return The session after the update (version only), or empty if it did not match
+     */
+    Optional<VoiceSessionDocument> updateIfTranscriptLength(String userId, String sessionId, Integer expectedLength, Update update);
+
+    /**
+     * Take the transcript write lease for an append: only if the transcript is still in the
+     * expected state and no other append holds an unexpired lease. Nothing readers see changes.
+     *
+     * @param expectedLength As in updateIfTranscriptLength
+     * @param token Identifies this append in commitTranscriptWrite / releaseTranscriptWrite
+     * @param leaseMillis How long the lease holds if the append never commits or releases it
+     * @return false if the transcript changed or another append is running
+     */
+    boolean claimTranscriptWrite(String userId, String sessionId, Integer expectedLength, String token, long leaseMillis);
+
+    /**
+     * Finish an append whose chunks are written: apply update, bump the version and release the
+     * lease, only if token still holds it and the transcript is still in the expected state.
+     *
+     * @return The session after the update (version only), or empty if the lease was lost
+     */
+    Optional<VoiceSessionDocument> commitTranscriptWrite(String userId, String sessionId, Integer expectedLength,
+                                                         String token, Update update);
+
+    /**
+     * Give the lease back after a failed append (no-op if token no longer holds it).
+     */
+    void releaseTranscriptWrite(String userId, String sessionId, String token);
+
+    /**
+     * Apply an update and bump the session version ($inc) in one atomic write.
+     *
+     * @param upsert Create the session if it does not exist yet
+     * @param fields Stored fields of the updated session to return (version is always included)
+     * @return The session after the update, or empty if none matched and upsert is false
+     */
+    Optional<VoiceSessionDocument> updateVersioned(String userId, String sessionId, Update update, boolean upsert, Set<String> fields);
+
+    /**
+     * Session IDs past the newest `keep` sessions, newest first (user_updated_idx, IDs only).
+     *
+     * @param userId Owner ID
+     * @param keep Number of newest sessions to skip
+     * @param limit Maximum number of IDs to return
+     * @return Session IDs to prune
+     */
+    List<String> findSessionIdsBeyond(String userId, int keep, int limit);
+
+    /**
+     * Delete sessions by ID, owner-guarded.
+     *
+     * @return Number of sessions actually deleted
+     */
+    long deleteSessions(String userId, Collection<String> sessionIds);
+}
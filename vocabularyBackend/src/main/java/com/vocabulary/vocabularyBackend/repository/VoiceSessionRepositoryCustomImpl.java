@@ -0,0 +1,132 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionSummary;
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of VoiceSessionRepositoryCustom.
+ */
+public class VoiceSessionRepositoryCustomImpl implements VoiceSessionRepositoryCustom {
+
+    private static final String[] SUMMARY_FIELDS = {
+            "sessionId", "userId", "title", "titleSource", "createdAt", "updatedAt", "messageCount", "transcriptLength"
+    };
+
+    private final MongoTemplate mongoTemplate;
+
+    public VoiceSessionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<VoiceSessionDocument> findSnapshot(String userId, String sessionId, Set<String> fields) {
+        Query query = new Query(where("userId").is(userId).and("sessionId").is(sessionId));
+        return Optional.ofNullable(mongoTemplate.findOne(SelectionProjection.include(query, fields), VoiceSessionDocument.class));
+    }
+
+    @Override
+    public List<VoiceSessionSummary> findSummaries(String userId) {
+        Query query = new Query(where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"));
+        query.fields().include(SUMMARY_FIELDS).exclude("_id");
+        return mongoTemplate.find(query, VoiceSessionSummary.class, mongoTemplate.getCollectionName(VoiceSessionDocument.class));
+    }
+
+    @Override
+    public Optional<VoiceSessionDocument> updateIfTranscriptLength(String userId, String sessionId, Integer expectedLength, Update update) {
+        Query query = new Query(transcriptState(userId, sessionId, expectedLength));
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), VoiceSessionDocument.class));
+    }
+
+    @Override
+    public boolean claimTranscriptWrite(String userId, String sessionId, Integer expectedLength, String token, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        // $not $gte also matches a missing lease
+        Query query = new Query(transcriptState(userId, sessionId, expectedLength)
+                .and("transcriptWriteExpiresAt").not().gte(now));
+        Update update = new Update()
+                .set("transcriptWriteToken", token)
+                .set("transcriptWriteExpiresAt", now + leaseMillis);
+        return mongoTemplate.updateFirst(query, update, VoiceSessionDocument.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Optional<VoiceSessionDocument> commitTranscriptWrite(String userId, String sessionId, Integer expectedLength,
+                                                                String token, Update update) {
+        Query query = new Query(transcriptState(userId, sessionId, expectedLength).and("transcriptWriteToken").is(token));
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update.unset("transcriptWriteToken").unset("transcriptWriteExpiresAt").inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                VoiceSessionDocument.class));
+    }
+
+    @Override
+    public void releaseTranscriptWrite(String userId, String sessionId, String token) {
+        mongoTemplate.updateFirst(
+                new Query(where("userId").is(userId).and("sessionId").is(sessionId).and("transcriptWriteToken").is(token)),
+                new Update().unset("transcriptWriteToken").unset("transcriptWriteExpiresAt"),
+                VoiceSessionDocument.class);
+    }
+
+    private static Criteria transcriptState(String userId, String sessionId, Integer expectedLength) {
+        Criteria criteria = where("userId").is(userId).and("sessionId").is(sessionId);
+        if (expectedLength == null) {
+            return criteria.and("transcriptChunked").ne(true);
+        }
+        return criteria.and("transcriptChunked").is(true).and("transcriptLength").is(expectedLength);
+    }
+
+    @Override
+    public Optional<VoiceSessionDocument> updateVersioned(String userId, String sessionId, Update update, boolean upsert, Set<String> fields) {
+        Query query = SelectionProjection.include(new Query(where("userId").is(userId).and("sessionId").is(sessionId)), fields);
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true).upsert(upsert),
+                VoiceSessionDocument.class));
+    }
+
+    @Override
+    public List<String> findSessionIdsBeyond(String userId, int keep, int limit) {
+        Query query = new Query(where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+                .skip(keep)
+                .limit(limit);
+        query.fields().include("sessionId").exclude("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(VoiceSessionDocument.class))
+                .stream()
+                .map(doc -> doc.getString("sessionId"))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public long deleteSessions(String userId, Collection<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return 0;
+        }
+        Query query = new Query(where("userId").is(userId).and("sessionId").in(sessionIds));
+        return mongoTemplate.remove(query, VoiceSessionDocument.class).getDeletedCount();
+    }
+}
@@ -0,0 +1,13 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.VoiceTranscriptChunk;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface VoiceTranscriptChunkRepository extends MongoRepository<VoiceTranscriptChunk, String>, VoiceTranscriptChunkRepositoryCustom {
+
+    void deleteByUserIdAndSessionIdIn(String userId, Collection<String> sessionIds);
+}
@@ -0,0 +1,53 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import java.util.List;
+
+/**
+ * Custom VoiceTranscriptChunkRepository operations that need MongoTemplate
+ * (implemented in VoiceTranscriptChunkRepositoryCustomImpl).
+ * <p>
+ * Reads take the session's transcriptGeneration and see, per chunkIndex, the newest chunk
+ * not above it (see VoiceTranscriptChunk).
+ */
+public interface VoiceTranscriptChunkRepositoryCustom {
+
+    /**
+     * Transcript items in [fromIndex, toIndex) (only the chunks that hold them are read).
+     * <p>
+     * The result stops at the first missing chunk, so it is shorter than asked for when an
+     * older generation was cleaned up after the caller read the session; re-read the session
+     * and retry in that case.
+     *
+     * @param userId Owner ID
+     * @param sessionId Session ID
+     * @param generation Session's transcriptGeneration
+     * @param fromIndex First transcript index to return
+     * @param toIndex Transcript index to stop before
+     * @return Raw JSON of each item, in order
+     */
+    List<String> findItemRange(String userId, String sessionId, long generation, int fromIndex, int toIndex);
+
+    /**
+     * Write items at transcript positions fromIndex, fromIndex + 1, ... of one generation in one
+     * ordered bulk write, dropping whatever that generation held at fromIndex and after first.
+     * Only the chunks of that generation covering those positions are touched; writing the same
+     * items again gives the same chunks.
+     *
+     * @param userId Owner ID
+     * @param sessionId Session ID
+     * @param generation Generation to write
+     * @param fromIndex Transcript index of the first item
+     * @param items Raw JSON of each item
+     */
+    void writeItems(String userId, String sessionId, long generation, int fromIndex, List<String> items);
+
+    /**
+     * Delete every chunk of one generation, e.g. what a failed write left before it is reused.
+     */
+    void deleteGeneration(String userId, String sessionId, long generation);
+
+    /**
+     * Delete the chunks that generation replaced: those from fromChunk on with a lower generation.
+     */
+    void deleteReplaced(String userId, String sessionId, long generation, int fromChunk);
+}
@@ -0,0 +1,119 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.VoiceTranscriptChunk;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * MongoTemplate-backed implementation of VoiceTranscriptChunkRepositoryCustom.
+ */
+public class VoiceTranscriptChunkRepositoryCustomImpl implements VoiceTranscriptChunkRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public VoiceTranscriptChunkRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<String> findItemRange(String userId, String sessionId, long generation, int fromIndex, int toIndex) {
+        if (toIndex <= fromIndex) {
+            return List.of();
+        }
+        int firstChunk = fromIndex / VoiceTranscriptChunk.MAX_ITEMS;
+        Criteria criteria = session(userId, sessionId)
+                .and("generation").not().gt(generation) // $not $gt also matches a missing generation
+                .and("chunkIndex").gte(firstChunk).lte((toIndex - 1) / VoiceTranscriptChunk.MAX_ITEMS);
+        Query query = new Query(criteria).with(Sort.by(Sort.Order.asc("chunkIndex"), Sort.Order.desc("generation")));
+        return visibleItems(mongoTemplate.find(query, VoiceTranscriptChunk.class), fromIndex, toIndex);
+    }
+
+    /**
+     * Items in [fromIndex, toIndex) of chunks sorted by chunkIndex, newest generation first:
+     * the first chunk of each chunkIndex wins. Stops at the first missing chunkIndex.
+     */
+    static List<String> visibleItems(List<VoiceTranscriptChunk> chunks, int fromIndex, int toIndex) {
+        List<String> items = new ArrayList<>();
+        int expectedChunk = fromIndex / VoiceTranscriptChunk.MAX_ITEMS;
+        for (VoiceTranscriptChunk chunk : chunks) {
+            if (chunk.getChunkIndex() < expectedChunk) {
+                continue; // an older generation of a chunk already taken
+            }
+            if (chunk.getChunkIndex() > expectedChunk) {
+                break;
+            }
+            long chunkStart = (long) chunk.getChunkIndex() * VoiceTranscriptChunk.MAX_ITEMS;
+            List<String> chunkItems = chunk.getItems() == null ? List.of() : chunk.getItems();
+            int start = (int) Math.max(0, fromIndex - chunkStart);
+            int end = (int) Math.min(chunkItems.size(), toIndex - chunkStart);
+            if (start < end) {
+                items.addAll(chunkItems.subList(start, end));
+            }
+            expectedChunk++;
+        }
+        return items;
+    }
+
+    @Override
+    public void writeItems(String userId, String sessionId, long generation, int fromIndex, List<String> items) {
+        int chunkIndex = fromIndex / VoiceTranscriptChunk.MAX_ITEMS;
+        int offset = fromIndex % VoiceTranscriptChunk.MAX_ITEMS;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, VoiceTranscriptChunk.class);
+        // Drop what a failed earlier write may have left past fromIndex, so the $push lands at fromIndex
+        bulk.remove(new Query(generation(session(userId, sessionId), generation).and("chunkIndex").gt(chunkIndex)));
+        // $push of nothing with $slice keeps the first `offset` items of the chunk
+        bulk.updateOne(chunk(userId, sessionId, generation, chunkIndex), new Update().push("items").slice(offset).each());
+
+        int written = 0;
+        while (written < items.size()) {
+            int take = Math.min(VoiceTranscriptChunk.MAX_ITEMS - offset, items.size() - written);
+            Object[] part = items.subList(written, written + take).toArray();
+            // upsert fills userId/sessionId/chunkIndex (and a non-zero generation) from the equality query
+            bulk.upsert(chunk(userId, sessionId, generation, chunkIndex), new Update().push("items").each(part));
+            written += take;
+            chunkIndex++;
+            offset = 0;
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void deleteGeneration(String userId, String sessionId, long generation) {
+        mongoTemplate.remove(new Query(generation(session(userId, sessionId), generation)), VoiceTranscriptChunk.class);
+    }
+
+    @Override
+    public void deleteReplaced(String userId, String sessionId, long generation, int fromChunk) {
+        mongoTemplate.remove(new Query(session(userId, sessionId)
+                        .and("chunkIndex").gte(fromChunk)
+                        .and("generation").not().gte(generation)),
+                VoiceTranscriptChunk.class);
+    }
+
+    private static Criteria session(String userId, String sessionId) {
+        return where("userId").is(userId).and("sessionId").is(sessionId);
+    }
+
+    /**
+     * Generation 0 is stored without the field (chunks written before generations existed).
+     */
+    private static Criteria generation(Criteria criteria, long generation) {
+        return generation == 0
+                ? criteria.and("generation").in(0L, null)
+                : criteria.and("generation").is(generation);
+    }
+
+    private static Query chunk(String userId, String sessionId, long generation, int chunkIndex) {
+        return new Query(generation(session(userId, sessionId), generation).and("chunkIndex").is(chunkIndex));
+    }
+}
@@ -1,72 +1,241 @@
 package com.vocabulary.vocabularyBackend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vocabulary.vocabularyBackend.dto.FSRSBatchReviewRequest;
+import com.vocabulary.vocabularyBackend.dto.FSRSBatchReviewResponse;
 import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
 import com.vocabulary.vocabularyBackend.dto.FSRSReviewRequest;
+import com.vocabulary.vocabularyBackend.fsrs.Scheduler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * HTTP scheduler engine: calls the Python FSRS microservice (fsrs-service/app.py).
+ * Kept as a fallback for the in-process engine; select it with app.fsrs.engine=http.
+ * <p>
+ * Built on the shared, pooled JDK HttpClient (see HttpClientConfig) with async sends:
+ * <ul>
+ *   <li>reviewCard / reviewCardAsync: one POST /review</li>
+ *   <li>reviewCards / reviewCardsAsync: POST /review-batch in chunks of app.fsrs.batch-size;
+ *       chunks are sent concurrently instead of one request after another</li>
+ *   <li>Every request goes through FSRSResilience: per-endpoint circuit breaker, bulkhead
+ *       (app.fsrs.max-concurrency in flight), retries and optional hedging. Reviews are pure
+ *       computations on the service side, so all calls are idempotent.</li>
+ *   <li>A service without /review-batch (404) is remembered and batches fall back to
+ *       concurrent single reviews</li>
+ * </ul>
+ */
 @Service
-public class FSRSClient {
+public class FSRSClient implements Scheduler {
     private static final Logger logger = LoggerFactory.getLogger(FSRSClient.class);
 
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
     private final String fsrsServiceUrl;
+    private final Duration timeout;
+    private final int batchSize;
+    private final FSRSResilience resilience;
+    private volatile boolean batchSupported = true;
 
     public FSRSClient(
-            RestTemplate restTemplate,
-            @Value("${app.fsrs.base-url:http://localhost:6000}") String fsrsServiceUrl
+            HttpClient fsrsHttpClient,
+            ObjectMapper objectMapper,
+            FSRSResilience resilience,
+            @Value("${app.fsrs.base-url:http://localhost:6000}") String fsrsServiceUrl,
+            @Value("${app.fsrs.timeout:5s}") Duration timeout,
+            @Value("${app.fsrs.batch-size:100}") int batchSize
     ) {
-        this.restTemplate = restTemplate;
+        this.httpClient = fsrsHttpClient;
+        this.objectMapper = objectMapper;
         this.fsrsServiceUrl = fsrsServiceUrl;
+        this.timeout = timeout;
+        this.batchSize = Math.max(1, batchSize);
+        this.resilience = resilience;
     }
 
+    @Override
     public FSRSCardDTO reviewCard(FSRSCardDTO cardDTO, Integer rating, String reviewTime) {
-        String endpoint = fsrsServiceUrl + "/review";
+        return join(reviewCardAsync(cardDTO, rating, reviewTime));
+    }
 
-        // Build request payload
-        FSRSReviewRequest request = new FSRSReviewRequest(cardDTO, rating, reviewTime);
+    @Override
+    public List<FSRSCardDTO> reviewCards(List<FSRSReviewRequest> reviews) {
+        return join(reviewCardsAsync(reviews));
+    }
 
+    public CompletableFuture<FSRSCardDTO> reviewCardAsync(FSRSCardDTO cardDTO, Integer rating, String reviewTime) {
         logger.info("Calling FSRS service: rating={}, state={}", rating, cardDTO.getState());
+        return post("/review", new FSRSReviewRequest(cardDTO, rating, reviewTime))
+                .thenApply(body -> {
+                    FSRSCardDTO response = read(body, FSRSCardDTO.class);
+                    if (response == null) {
+                        throw new RuntimeException("FSRS service returned null response");
+                    }
+                    logger.info("FSRS response: new_state={}, new_due={}", response.getState(), response.getDue());
+                    return response;
+                });
+    }
 
-        try {
-            // Make HTTP POST request
-            FSRSCardDTO response = restTemplate.postForObject(
-                    endpoint,
-                    request,
-                    FSRSCardDTO.class // Response type
-            );
-
-            if (response == null) {
-                throw new RuntimeException("FSRS service returned null response");
-            }
+    /**
+     * @return Updated cards in request order
+     */
+    public CompletableFuture<List<FSRSCardDTO>> reviewCardsAsync(List<FSRSReviewRequest> reviews) {
+        if (reviews.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<CompletableFuture<List<FSRSCardDTO>>> chunks = new ArrayList<>();
+        for (int from = 0; from < reviews.size(); from += batchSize) {
+            chunks.add(reviewChunk(List.copyOf(reviews.subList(from, Math.min(reviews.size(), from + batchSize)))));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<FSRSCardDTO> results = new ArrayList<>(reviews.size());
+                    chunks.forEach(chunk -> results.addAll(chunk.join()));
+                    return results;
+                });
+    }
 
-            logger.info("FSRS response: new_state={}, new_due={}",
-                    response.getState(), response.getDue());
+    private CompletableFuture<List<FSRSCardDTO>> reviewChunk(List<FSRSReviewRequest> chunk) {
+        if (!batchSupported) {
+            return reviewEach(chunk);
+        }
+        logger.info("Calling FSRS service: batch of {}", chunk.size());
+        return post("/review-batch", new FSRSBatchReviewRequest(chunk))
+                .thenApply(body -> {
+                    List<FSRSCardDTO> cards = read(body, FSRSBatchReviewResponse.class).getResults();
+                    if (cards == null || cards.size() != chunk.size()) {
+                        throw new RuntimeException("FSRS service returned " + (cards == null ? 0 : cards.size())
+                                + " results for a batch of " + chunk.size());
+                    }
+                    return cards;
+                })
+                .exceptionallyCompose(e -> {
+                    if (unwrap(e) instanceof StatusException status && status.statusCode == 404) {
+                        logger.warn("FSRS service at {} has no /review-batch, falling back to single reviews", fsrsServiceUrl);
+                        batchSupported = false;
+                        return reviewEach(chunk);
+                    }
+                    return CompletableFuture.failedFuture(unwrap(e));
+                });
+    }
 
-            return response;
+    private CompletableFuture<List<FSRSCardDTO>> reviewEach(List<FSRSReviewRequest> chunk) {
+        List<CompletableFuture<FSRSCardDTO>> cards = chunk.stream()
+                .map(review -> reviewCardAsync(review.getCard(), review.getRating(), review.getReviewTime()))
+                .toList();
+        return CompletableFuture.allOf(cards.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> cards.stream().map(CompletableFuture::join).toList());
+    }
 
-        } catch (org.springframework.web.client.ResourceAccessException e) {
-            // Connection error (service down or timeout)
-            logger.error("Failed to connect to FSRS service at {}: {}", endpoint, e.getMessage());
-            throw new RuntimeException("FSRS service unavailable. Is the Python service running on port 6000?", e);
+    /**
+     * POST a JSON body; completes with the response body of a 2xx response.
+     */
+    private CompletableFuture<String> post(String path, Object payload) {
+        String endpoint = fsrsServiceUrl + path;
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(endpoint))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to process FSRS review", e));
+        }
 
-        } catch (org.springframework.web.client.HttpClientErrorException e) {
-            // HTTP 4xx error (bad request)
-            logger.error("FSRS service rejected request: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Invalid card data sent to FSRS service", e);
+        return resilience.call(path, true, () -> send(request, path), FSRSClient::classify);
+    }
 
-        } catch (org.springframework.web.client.HttpServerErrorException e) {
-            // HTTP 5xx error (server error)
-            logger.error("FSRS service internal error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("FSRS service encountered an error", e);
+    private CompletableFuture<String> send(HttpRequest request, String path) {
+        String endpoint = request.uri().toString();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        // Connection error (service down or timeout)
+                        Throwable cause = unwrap(error);
+                        logger.error("Failed to connect to FSRS service at {}: {}", endpoint, cause.toString());
+                        throw new RuntimeException("FSRS service unavailable. Is the Python service running on port 6000?", cause);
+                    }
+                    int status = response.statusCode();
+                    if (status == 404) {
+                        throw new StatusException(status, "FSRS service has no " + path + " endpoint");
+                    }
+                    if (status >= 400 && status < 500) {
+                        // HTTP 4xx error (bad request)
+                        logger.error("FSRS service rejected request: {} - {}", status, response.body());
+                        throw new StatusException(status, "Invalid card data sent to FSRS service");
+                    }
+                    if (status >= 500) {
+                        // HTTP 5xx error (server error)
+                        logger.error("FSRS service internal error: {} - {}", status, response.body());
+                        throw new StatusException(status, "FSRS service encountered an error");
+                    }
+                    return response.body();
+                });
+    }
 
-        } catch (Exception e) {
-            // Any other unexpected error
-            logger.error("Unexpected error calling FSRS service: {}", e.getMessage(), e);
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            logger.error("Unexpected response from FSRS service: {}", e.getMessage());
             throw new RuntimeException("Failed to process FSRS review", e);
         }
     }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Failed to process FSRS review", cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return FSRSResilience.unwrap(e);
+    }
+
+    private static FSRSResilience.Outcome classify(Throwable error) {
+        if (error instanceof StatusException status) {
+            return status.statusCode < 500 ? FSRSResilience.Outcome.CLIENT_ERROR : FSRSResilience.Outcome.FAILURE;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return FSRSResilience.Outcome.TIMEOUT;
+            }
+        }
+        return FSRSResilience.Outcome.FAILURE;
+    }
+
+    /**
+     * Non-2xx response from the FSRS service.
+     */
+    private static final class StatusException extends RuntimeException {
+        private final int statusCode;
+
+        private StatusException(int statusCode, String message) {
+            super(message);
+            this.statusCode = statusCode;
+        }
+    }
 }
@@ -0,0 +1,292 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.fsrs.FSRSOptimizer;
+import com.vocabulary.vocabularyBackend.fsrs.FSRSParameters;
+import com.vocabulary.vocabularyBackend.fsrs.ReviewHistory;
+import com.vocabulary.vocabularyBackend.model.FSRSOptimizerState;
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
+import com.vocabulary.vocabularyBackend.model.UserFSRSParameters;
+import com.vocabulary.vocabularyBackend.repository.FSRSOptimizerStateRepository;
+import com.vocabulary.vocabularyBackend.repository.ReviewLogRepository;
+import com.vocabulary.vocabularyBackend.repository.ReviewLogRepositoryCustom.NewestLog;
+import com.vocabulary.vocabularyBackend.repository.UserFSRSParametersRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background job that fits personalized FSRS weights from review_logs.
+ * <p>
+ * Every app.fsrs.optimizer.interval:
+ * <ul>
+ *   <li>The instance holding the lease in fsrs_optimizer_state runs the job; the others skip
+ *       the run. The lease expires after app.fsrs.optimizer.lease, so a crashed instance
+ *       does not block the job</li>
+ *   <li>One aggregation finds the users with logs reviewed after the stored watermark (a
+ *       filter on the time field, so only recent buckets are read); only those whose newest
+ *       log is past their stored lastLogId are refitted</li>
+ *   <li>Users are fitted in parallel on a ForkJoinPool (app.fsrs.optimizer.parallelism,
+ *       0 = one per core); each fit is one FSRSOptimizer run, warm-started from the user's
+ *       previous weights</li>
+ *   <li>Fitted weights are only kept if they beat the default weights on the same history;
+ *       users with fewer than app.fsrs.optimizer.min-reviews scored reviews keep the defaults</li>
+ * </ul>
+ * Results go to user_fsrs_parameters and are picked up by UserFSRSParametersService.
+ * Disable with app.fsrs.optimizer.enabled=false.
+ */
+@Service
+public class FSRSOptimizerJob {
+    private static final Logger logger = LoggerFactory.getLogger(FSRSOptimizerJob.class);
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    // Logs are written in batches after the review, so a log may land behind the watermark
+    private static final Duration WATERMARK_SLACK = Duration.ofMinutes(5);
+
+    /**
+     * @param candidates Users with new review logs
+     * @param fitted Users whose weights were (re)fitted and saved
+     * @param failed Users whose fit failed (retried next run)
+     */
+    public record RunSummary(int candidates, int fitted, int failed) {
+    }
+
+    private final ReviewLogRepository reviewLogRepository;
+    private final FSRSOptimizerStateRepository stateRepository;
+    private final UserFSRSParametersRepository parametersRepository;
+    private final UserFSRSParametersService parametersService;
+    private final FSRSOptimizer optimizer;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration initialDelay;
+    private final int parallelism;
+    private final int minReviews;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private ScheduledExecutorService scheduler;
+
+    public FSRSOptimizerJob(
+            ReviewLogRepository reviewLogRepository,
+            FSRSOptimizerStateRepository stateRepository,
+            UserFSRSParametersRepository parametersRepository,
+            UserFSRSParametersService parametersService,
+            @Value("${app.fsrs.optimizer.enabled:true}") boolean enabled,
+            @Value("${app.fsrs.optimizer.interval:6h}") Duration interval,
+            @Value("${app.fsrs.optimizer.initial-delay:5m}") Duration initialDelay,
+            @Value("${app.fsrs.optimizer.parallelism:0}") int parallelism,
+            @Value("${app.fsrs.optimizer.min-reviews:100}") int minReviews,
+            @Value("${app.fsrs.optimizer.lease:1h}") Duration lease,
+            @Value("${app.fsrs.optimizer.iterations:200}") int iterations,
+            @Value("${app.fsrs.optimizer.learning-rate:0.04}") double learningRate,
+            @Value("${app.fsrs.optimizer.regularization:1.0}") double regularization,
+            @Value("${app.fsrs.desired-retention:0.9}") double desiredRetention,
+            @Value("${app.fsrs.maximum-interval:36500}") int maximumInterval
+    ) {
+        this.reviewLogRepository = reviewLogRepository;
+        this.stateRepository = stateRepository;
+        this.parametersRepository = parametersRepository;
+        this.parametersService = parametersService;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.initialDelay = initialDelay;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.minReviews = Math.max(1, minReviews);
+        this.lease = lease;
+        this.optimizer = new FSRSOptimizer(
+                new FSRSParameters(FSRSParameters.DEFAULT_WEIGHTS, desiredRetention, maximumInterval),
+                iterations, learningRate, regularization);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("FSRS optimizer disabled (app.fsrs.optimizer.enabled=false)");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("fsrs-optimizer").daemon().factory());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (RuntimeException e) {
+                logger.error("FSRS optimizer run failed: {}", e.getMessage(), e);
+            }
+        }, initialDelay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("FSRS optimizer scheduled every {} (parallelism={}, minReviews={})", interval, parallelism, minReviews);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Refit every user with new review logs (see class doc).
+     * Returns an empty summary when another instance holds the lease.
+     */
+    public RunSummary runOnce() {
+        if (!stateRepository.tryAcquireLease(instanceId, lease.toMillis())) {
+            logger.debug("FSRS optimizer run skipped: another instance holds the lease");
+            return new RunSummary(0, 0, 0);
+        }
+        try {
+            return refit();
+        } finally {
+            stateRepository.releaseLease(instanceId);
+        }
+    }
+
+    private RunSummary refit() {
+        long started = System.nanoTime();
+        LocalDateTime watermark = stateRepository.findById(FSRSOptimizerState.ID)
+                .map(FSRSOptimizerState::getWatermark)
+                .orElse(null);
+        Map<String, NewestLog> newest = reviewLogRepository.findNewestLogByUser(watermark);
+        if (newest.isEmpty()) {
+            return new RunSummary(0, 0, 0);
+        }
+
+        Map<String, UserFSRSParameters> stored = parametersRepository.findByUserIdIn(newest.keySet()).stream()
+                .collect(Collectors.toMap(UserFSRSParameters::getUserId, Function.identity(), (a, b) -> a));
+        List<Callable<Boolean>> fits = new ArrayList<>();
+        newest.forEach((userId, log) -> {
+            UserFSRSParameters current = stored.get(userId);
+            if (current == null || current.getLastLogId() == null
+                    || new ObjectId(current.getLastLogId()).compareTo(new ObjectId(log.logId())) < 0) {
+                fits.add(() -> fitUser(userId, current));
+            }
+        });
+
+        int fitted = 0;
+        int failed = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // invokeAll returns once every fit is done
+            for (Future<Boolean> fit : pool.invokeAll(fits)) {
+                if (fit.state() == Future.State.SUCCESS) {
+                    fitted += fit.resultNow() ? 1 : 0;
+                } else {
+                    failed++;
+                    logger.warn("FSRS weight fit failed: {}", fit.state() == Future.State.FAILED
+                            ? fit.exceptionNow().toString() : fit.state());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (failed == 0) {
+            newest.values().stream().map(NewestLog::reviewedAt).max(LocalDateTime::compareTo)
+                    .ifPresent(reviewedAt -> stateRepository.advanceWatermark(reviewedAt.minus(WATERMARK_SLACK)));
+        }
+        logger.info("FSRS optimizer run: {} users with new reviews, {} refitted, {} failed in {} ms",
+                fits.size(), fitted, failed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return new RunSummary(fits.size(), fitted, failed);
+    }
+
+    /**
+     * @param current Stored parameters (null for a user's first fit)
+     * @return true if weights were fitted (false: too few reviews)
+     */
+    private boolean fitUser(String userId, UserFSRSParameters current) {
+        List<ReviewLog> logs = reviewLogRepository.findByUserIdOrderByReviewedAtAsc(userId);
+        if (logs.isEmpty()) {
+            return false;
+        }
+        ReviewHistory history = toHistory(logs);
+
+        UserFSRSParameters parameters = current != null ? current : new UserFSRSParameters();
+        parameters.setUserId(userId);
+        parameters.setLastLogId(logs.stream().map(log -> new ObjectId(log.getId()))
+                .max(ObjectId::compareTo).orElseThrow().toHexString());
+        parameters.setReviewCount(history.lossTerms());
+
+        boolean fit = history.lossTerms() >= minReviews;
+        if (fit) {
+            double[] start = parameters.getWeights() != null ? parameters.getWeights() : FSRSParameters.DEFAULT_WEIGHTS;
+            FSRSOptimizer.Result result = optimizer.fit(history, start);
+            double defaultLoss = optimizer.logLoss(history, FSRSParameters.DEFAULT_WEIGHTS);
+            double loss = optimizer.logLoss(history, result.weights());
+            boolean better = loss < defaultLoss;
+            parameters.setWeights(better ? result.weights() : null);
+            parameters.setLoss(better ? loss : defaultLoss);
+            parameters.setDefaultLoss(defaultLoss);
+            parameters.setFittedAt(LocalDateTime.now());
+            logger.debug("Fitted FSRS weights for userId={}: {} reviews, log loss {} -> {}{}",
+                    userId, history.lossTerms(), defaultLoss, loss, better ? "" : " (kept defaults)");
+        }
+        parametersRepository.save(parameters);
+        if (fit) {
+            parametersService.invalidate(userId);
+        }
+        return fit;
+    }
+
+    /**
+     * Card-by-card, time-ordered history for the optimizer.
+     * <p>
+     * A card's log starts from its recorded "before" state (or from scratch for a new card);
+     * following reviews replay from the previous one. A log without a rating breaks the chain,
+     * the card resumes at its next rated log. Logs whose "before" state was not captured are
+     * skipped until the chain restarts.
+     */
+    static ReviewHistory toHistory(List<ReviewLog> logs) {
+        Map<String, List<ReviewLog>> byCard = new LinkedHashMap<>();
+        for (ReviewLog log : logs) {
+            byCard.computeIfAbsent(log.getVocabularyId(), id -> new ArrayList<>()).add(log);
+        }
+
+        ReviewHistory.Builder history = ReviewHistory.builder();
+        for (List<ReviewLog> card : byCard.values()) {
+            ReviewLog previous = null;
+            for (ReviewLog log : card) {
+                Integer rating = log.getRating();
+                if (rating == null || rating < 1 || rating > 4) {
+                    previous = null;
+                    continue;
+                }
+                if (previous != null) {
+                    history.next(days(previous.getReviewedAt(), log.getReviewedAt()), rating);
+                } else if (log.getElapsedDays() == null) {
+                    continue;
+                } else if (log.getStabilityBefore() != null && log.getDifficultyBefore() != null) {
+                    history.resume(log.getStabilityBefore(), log.getDifficultyBefore(),
+                            (int) Math.floor(log.getElapsedDays()), rating);
+                } else {
+                    history.first(rating);
+                }
+                previous = log;
+            }
+        }
+        return history.build();
+    }
+
+    /**
+     * Whole days between two reviews, rounded down like the scheduler does.
+     */
+    private static int days(LocalDateTime from, LocalDateTime to) {
+        return (int) Math.floor(Duration.between(from, to).toMillis() / MILLIS_PER_DAY);
+    }
+}
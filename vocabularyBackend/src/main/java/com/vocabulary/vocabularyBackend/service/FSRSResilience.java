@@ -0,0 +1,520 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer in front of FSRSClient's HTTP calls, so a slow or failing FSRS service
+ * fails fast instead of tying up callers.
+ * <ul>
+ *   <li>Circuit breaker per endpoint: opens when at least app.fsrs.breaker.failure-rate of the
+ *       last app.fsrs.breaker.window calls failed (5xx, connection errors, timeouts), rejects
+ *       calls for app.fsrs.breaker.open-duration, then lets app.fsrs.breaker.half-open-calls
+ *       trial calls through and closes again if they all succeed</li>
+ *   <li>Bulkhead: at most app.fsrs.max-concurrency requests in flight and app.fsrs.max-queued
+ *       waiting (without holding a thread); beyond that calls are rejected</li>
+ *   <li>Retry for idempotent calls: up to app.fsrs.retry.max-attempts attempts with full
+ *       jitter exponential backoff (app.fsrs.retry.backoff doubling up to app.fsrs.retry.max-backoff).
+ *       Timeouts are not retried: the service is already slow and a retry only adds load.</li>
+ *   <li>Hedging (app.fsrs.hedge.enabled, off by default): if an idempotent request is still
+ *       running after the endpoint's recent p95 latency, a second copy is sent when the bulkhead
+ *       has a free slot, and the first successful response wins</li>
+ * </ul>
+ * Meters: fsrs.client.requests (endpoint, outcome), fsrs.client.retries, fsrs.client.hedges
+ * (endpoint, result=won|lost), fsrs.client.latency, fsrs.client.circuit.state
+ * (0 closed, 1 open, 2 half-open), fsrs.client.bulkhead.active and fsrs.client.bulkhead.queued.
+ */
+@Component
+public class FSRSResilience {
+    private static final Logger logger = LoggerFactory.getLogger(FSRSResilience.class);
+    private static final int LATENCY_SAMPLES = 128;
+
+    /**
+     * How one attempt ended, as far as the resilience layer is concerned.
+     */
+    enum Outcome {
+        SUCCESS,
+        // 4xx: the request is wrong, the service is fine. Not retried, not a breaker failure.
+        CLIENT_ERROR,
+        // Breaker failure, not retried
+        TIMEOUT,
+        // 5xx or connection error: breaker failure, retried
+        FAILURE
+    }
+
+    record Settings(
+            int maxConcurrency,
+            int maxQueued,
+            int breakerWindow,
+            int breakerMinimumCalls,
+            double breakerFailureRate,
+            Duration breakerOpenDuration,
+            int breakerHalfOpenCalls,
+            int retryMaxAttempts,
+            Duration retryBackoff,
+            Duration retryMaxBackoff,
+            boolean hedgeEnabled,
+            Duration hedgeMinDelay,
+            int hedgeMinSamples
+    ) {
+    }
+
+    /**
+     * Call rejected by the circuit breaker or the bulkhead without reaching the service.
+     */
+    public static final class RejectedException extends RuntimeException {
+        RejectedException(String message) {
+            super(message);
+        }
+    }
+
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Bulkhead bulkhead;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FSRSResilience(
+            MeterRegistry meterRegistry,
+            @Value("${app.fsrs.max-concurrency:16}") int maxConcurrency,
+            @Value("${app.fsrs.max-queued:64}") int maxQueued,
+            @Value("${app.fsrs.breaker.window:20}") int breakerWindow,
+            @Value("${app.fsrs.breaker.minimum-calls:10}") int breakerMinimumCalls,
+            @Value("${app.fsrs.breaker.failure-rate:0.5}") double breakerFailureRate,
+            @Value("${app.fsrs.breaker.open-duration:10s}") Duration breakerOpenDuration,
+            @Value("${app.fsrs.breaker.half-open-calls:3}") int breakerHalfOpenCalls,
+            @Value("${app.fsrs.retry.max-attempts:3}") int retryMaxAttempts,
+            @Value("${app.fsrs.retry.backoff:100ms}") Duration retryBackoff,
+            @Value("${app.fsrs.retry.max-backoff:1s}") Duration retryMaxBackoff,
+            @Value("${app.fsrs.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${app.fsrs.hedge.min-delay:20ms}") Duration hedgeMinDelay,
+            @Value("${app.fsrs.hedge.min-samples:20}") int hedgeMinSamples
+    ) {
+        this(new Settings(maxConcurrency, maxQueued, breakerWindow, breakerMinimumCalls, breakerFailureRate,
+                breakerOpenDuration, breakerHalfOpenCalls, retryMaxAttempts, retryBackoff, retryMaxBackoff,
+                hedgeEnabled, hedgeMinDelay, hedgeMinSamples), meterRegistry, System::nanoTime);
+    }
+
+    FSRSResilience(Settings settings, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.bulkhead = new Bulkhead(Math.max(1, settings.maxConcurrency()), Math.max(0, settings.maxQueued()));
+        Gauge.builder("fsrs.client.bulkhead.active", bulkhead, Bulkhead::active).register(meterRegistry);
+        Gauge.builder("fsrs.client.bulkhead.queued", bulkhead, Bulkhead::queued).register(meterRegistry);
+    }
+
+    /**
+     * Run a call through breaker, bulkhead, retry and hedging.
+     *
+     * @param endpoint Breaker / metrics key (e.g. "/review")
+     * @param idempotent Whether the call may be retried and hedged
+     * @param attempt Starts one attempt (one HTTP request)
+     * @param classifier Maps an attempt's failure to an Outcome
+     */
+    <T> CompletableFuture<T> call(
+            String endpoint,
+            boolean idempotent,
+            Supplier<CompletableFuture<T>> attempt,
+            Function<Throwable, Outcome> classifier
+    ) {
+        Endpoint state = endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(state, idempotent, attempt, classifier, 1, result);
+        return result;
+    }
+
+    private <T> void attempt(
+            Endpoint state,
+            boolean idempotent,
+            Supplier<CompletableFuture<T>> attempt,
+            Function<Throwable, Outcome> classifier,
+            int attemptNumber,
+            CompletableFuture<T> result
+    ) {
+        if (!state.breaker.tryAcquire()) {
+            state.rejectedOpen.increment();
+            result.completeExceptionally(new RejectedException("FSRS service circuit open for " + state.name));
+            return;
+        }
+        long started = clock.getAsLong();
+        CompletableFuture<T> call;
+        try {
+            call = bulkhead.submit(() -> idempotent && settings.hedgeEnabled() ? hedged(state, attempt) : start(attempt));
+        } catch (RejectedException e) {
+            state.breaker.release();
+            state.rejectedBulkhead.increment();
+            result.completeExceptionally(e);
+            return;
+        }
+
+        call.whenComplete((value, error) -> {
+            Outcome outcome = error == null ? Outcome.SUCCESS : classifier.apply(unwrap(error));
+            state.breaker.onResult(outcome == Outcome.TIMEOUT || outcome == Outcome.FAILURE);
+            state.outcome(outcome).increment();
+            if (outcome == Outcome.SUCCESS) {
+                long elapsed = clock.getAsLong() - started;
+                state.latency.record(elapsed, TimeUnit.NANOSECONDS);
+                state.addSample(elapsed);
+                result.complete(value);
+            } else if (idempotent && outcome == Outcome.FAILURE && attemptNumber < settings.retryMaxAttempts()) {
+                long backoff = backoffNanos(attemptNumber);
+                state.retries.increment();
+                logger.warn("FSRS call to {} failed (attempt {}), retrying in {} ms: {}",
+                        state.name, attemptNumber, TimeUnit.NANOSECONDS.toMillis(backoff), unwrap(error).getMessage());
+                CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS).execute(() ->
+                        attempt(state, idempotent, attempt, classifier, attemptNumber + 1, result));
+            } else {
+                result.completeExceptionally(unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Full jitter: uniform in [0, min(maxBackoff, backoff * 2^(attempt-1))].
+     */
+    private long backoffNanos(int attemptNumber) {
+        long base = settings.retryBackoff().toNanos();
+        long cap = settings.retryMaxBackoff().toNanos();
+        long ceiling = Math.min(cap, base << Math.min(30, attemptNumber - 1));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Primary request plus, if it is still running after the hedge delay, a second one.
+     * The first success completes the call; it fails only when every request sent failed.
+     */
+    private <T> CompletableFuture<T> hedged(Endpoint state, Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> primary = start(attempt);
+        long delay = state.hedgeDelayNanos();
+        if (delay < 0) {
+            return primary;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        primary.whenComplete((value, error) -> settle(result, running, value, error));
+
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+            // Only hedge into spare capacity: never queue behind (or reject) real calls
+            if (result.isDone() || !bulkhead.tryAcquire()) {
+                return;
+            }
+            running.incrementAndGet();
+            if (result.isDone()) {
+                running.decrementAndGet();
+                bulkhead.release();
+                return;
+            }
+            start(attempt).whenComplete((value, error) -> {
+                bulkhead.release();
+                boolean won = error == null && !result.isDone();
+                state.hedge(won).increment();
+                settle(result, running, value, error);
+            });
+        });
+        return result;
+    }
+
+    private static <T> void settle(CompletableFuture<T> result, AtomicInteger running, T value, Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else if (running.decrementAndGet() == 0) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> attempt) {
+        try {
+            return attempt.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    static Throwable unwrap(Throwable e) {
+        while (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * Breaker, latency samples and meters of one endpoint.
+     */
+    private final class Endpoint {
+        private final String name;
+        private final CircuitBreaker breaker;
+        private final Counter rejectedOpen;
+        private final Counter rejectedBulkhead;
+        private final Map<Outcome, Counter> outcomes = new ConcurrentHashMap<>();
+        private final Counter retries;
+        private final Counter hedgesWon;
+        private final Counter hedgesLost;
+        private final Timer latency;
+        private final long[] samples = new long[LATENCY_SAMPLES];
+        private int sampleCount;
+        private int nextSample;
+
+        private Endpoint(String name) {
+            this.name = name;
+            this.breaker = new CircuitBreaker(name);
+            this.rejectedOpen = requests("circuit_open");
+            this.rejectedBulkhead = requests("bulkhead_full");
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, requests(outcome.name().toLowerCase(Locale.ROOT)));
+            }
+            this.retries = Counter.builder("fsrs.client.retries").tag("endpoint", name).register(meterRegistry);
+            this.hedgesWon = Counter.builder("fsrs.client.hedges").tag("endpoint", name).tag("result", "won").register(meterRegistry);
+            this.hedgesLost = Counter.builder("fsrs.client.hedges").tag("endpoint", name).tag("result", "lost").register(meterRegistry);
+            this.latency = Timer.builder("fsrs.client.latency").tag("endpoint", name).register(meterRegistry);
+            Gauge.builder("fsrs.client.circuit.state", breaker, b -> b.state().ordinal())
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+        }
+
+        private Counter requests(String outcome) {
+            return Counter.builder("fsrs.client.requests").tag("endpoint", name).tag("outcome", outcome).register(meterRegistry);
+        }
+
+        private Counter outcome(Outcome outcome) {
+            return outcomes.get(outcome);
+        }
+
+        private Counter hedge(boolean won) {
+            return won ? hedgesWon : hedgesLost;
+        }
+
+        private synchronized void addSample(long nanos) {
+            samples[nextSample] = nanos;
+            nextSample = (nextSample + 1) % samples.length;
+            sampleCount = Math.min(samples.length, sampleCount + 1);
+        }
+
+        /**
+         * p95 of the recent successful calls (at least hedge.min-delay), or -1 while there are
+         * fewer than hedge.min-samples of them.
+         */
+        private synchronized long hedgeDelayNanos() {
+            if (sampleCount < Math.max(1, settings.hedgeMinSamples())) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            long p95 = sorted[Math.max(0, (int) Math.ceil(0.95 * sorted.length) - 1)];
+            return Math.max(settings.hedgeMinDelay().toNanos(), p95);
+        }
+    }
+
+    /**
+     * Count-based circuit breaker over the last breaker.window results.
+     */
+    private final class CircuitBreaker {
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final String name;
+        private final boolean[] window = new boolean[Math.max(1, settings.breakerWindow())];
+        private State state = State.CLOSED;
+        private int size;
+        private int next;
+        private int failures;
+        private long openedAt;
+        private int trialPermits;
+        private int trialSuccesses;
+
+        private CircuitBreaker(String name) {
+            this.name = name;
+        }
+
+        State state() {
+            lock.lock();
+            try {
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean tryAcquire() {
+            lock.lock();
+            try {
+                switch (state) {
+                    case CLOSED:
+                        return true;
+                    case OPEN:
+                        if (clock.getAsLong() - openedAt < settings.breakerOpenDuration().toNanos()) {
+                            return false;
+                        }
+                        logger.info("FSRS circuit for {} half-open: letting {} trial calls through",
+                                name, settings.breakerHalfOpenCalls());
+                        state = State.HALF_OPEN;
+                        trialPermits = Math.max(1, settings.breakerHalfOpenCalls()) - 1;
+                        trialSuccesses = 0;
+                        return true;
+                    default:
+                        if (trialPermits > 0) {
+                            trialPermits--;
+                            return true;
+                        }
+                        return false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Give back a permission that was not used (the bulkhead rejected the call).
+         */
+        void release() {
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    trialPermits++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onResult(boolean failure) {
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    if (failure) {
+                        open();
+                    } else if (++trialSuccesses >= Math.max(1, settings.breakerHalfOpenCalls())) {
+                        logger.info("FSRS circuit for {} closed", name);
+                        state = State.CLOSED;
+                        size = 0;
+                        next = 0;
+                        failures = 0;
+                    }
+                } else if (state == State.CLOSED) {
+                    if (size == window.length) {
+                        failures -= window[next] ? 1 : 0;
+                    } else {
+                        size++;
+                    }
+                    window[next] = failure;
+                    failures += failure ? 1 : 0;
+                    next = (next + 1) % window.length;
+                    if (size >= settings.breakerMinimumCalls() && failures >= settings.breakerFailureRate() * size) {
+                        open();
+                    }
+                }
+                // OPEN: a late result of a call started before the breaker opened
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void open() {
+            logger.warn("FSRS circuit for {} open for {} ({} of the last {} calls failed)",
+                    name, settings.breakerOpenDuration(), failures, size);
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Caps in-flight calls. Calls over the limit are queued (up to maxQueued) and started as
+     * earlier ones complete, so callers never block on it; beyond the queue they are rejected.
+     */
+    private static final class Bulkhead {
+        private final Semaphore permits;
+        private final int maxInFlight;
+        private final int maxQueued;
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+
+        private Bulkhead(int maxInFlight, int maxQueued) {
+            this.permits = new Semaphore(maxInFlight);
+            this.maxInFlight = maxInFlight;
+            this.maxQueued = maxQueued;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> start(call).whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+            if (permits.tryAcquire()) {
+                start.run();
+                return result;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw new RejectedException("FSRS service busy: " + maxInFlight + " requests in flight, "
+                        + maxQueued + " queued");
+            }
+            waiting.add(start);
+            drain();
+            return result;
+        }
+
+        boolean tryAcquire() {
+            return permits.tryAcquire();
+        }
+
+        void release() {
+            permits.release();
+            drain();
+        }
+
+        int active() {
+            return maxInFlight - permits.availablePermits();
+        }
+
+        int queued() {
+            return queued.get();
+        }
+
+        /**
+         * Start queued calls while permits are free. Both submit (after queueing) and release
+         * drain, so a call queued concurrently with a release is never stranded.
+         */
+        private void drain() {
+            while (!waiting.isEmpty() && permits.tryAcquire()) {
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    permits.release();
+                } else {
+                    queued.decrementAndGet();
+                    next.run();
+                }
+            }
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.vocabulary.vocabularyBackend.service;
 
 import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
 import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
 
@@ -19,33 +21,55 @@ import java.util.List;
 public class FSRSScheduler {
     private static final Logger logger = LoggerFactory.getLogger(FSRSScheduler.class);
     private static final int DEFAULT_REVIEW_LIMIT = 20;
+    private static final int MAX_REVIEW_LIMIT = 200;
 
     private final VocabularyRepository vocabularyRepository;
-    public FSRSScheduler(VocabularyRepository vocabularyRepository) {
+    private final int sessionSize;
+
+    public FSRSScheduler(
+            VocabularyRepository vocabularyRepository,
+            @Value("${app.review.session-size:" + DEFAULT_REVIEW_LIMIT + "}") int sessionSize
+    ) {
         this.vocabularyRepository = vocabularyRepository;
+        this.sessionSize = clampLimit(sessionSize);
     }
 
     public List<VocabularyEntry> getCardsForReview(String userId) {
-        LocalDateTime now = LocalDateTime.now();
-
-        logger.info("Finding cards for review: userId={}, currentTime={}", userId, now);
+        return getCardsForReview(userId, null, VocabularyEntry.class);
+    }
 
-        // Create sort: ORDER BY fsrsCard.dueDate ASC
-        Sort sort = Sort.by(Sort.Direction.ASC, "fsrsCard.dueDate");
+    /**
+     * Load one review session of due cards, most overdue first.
+     * Ordering and the limit are pushed into MongoDB (index on userId + fsrsCard.dueDate),
+     * so a large backlog is never read into memory.
+     *
+     * @param userId User ID
+     * @param limit Session size; null uses app.review.session-size
+     * @param type VocabularyEntry or a projection type
+     * @return At most limit due cards
+     */
+    public <T> List<T> getCardsForReview(String userId, Integer limit, Class<T> type) {
+        LocalDateTime now = LocalDateTime.now();
+        int resolvedLimit = limit == null ? sessionSize : clampLimit(limit);
 
-        // Query MongoDB with @Query annotation
-        List<VocabularyEntry> dueCards = vocabularyRepository.findDueCards(userId, now, sort);
+        logger.info("Finding cards for review: userId={}, currentTime={}, limit={}", userId, now, resolvedLimit);
 
-        // Limit to 20 cards
-        List<VocabularyEntry> reviewSession = dueCards.size() > DEFAULT_REVIEW_LIMIT
-                ? dueCards.subList(0, DEFAULT_REVIEW_LIMIT)
-                : dueCards;
+        // ORDER BY fsrsCard.dueDate ASC LIMIT n
+        PageRequest page = PageRequest.of(0, resolvedLimit, Sort.by(Sort.Direction.ASC, "fsrsCard.dueDate"));
+        List<T> reviewSession = vocabularyRepository.findDueCards(userId, now, page, type);
 
-        logger.info("Found {} cards due for review (returning {})",
-                dueCards.size(), reviewSession.size());
+        logger.info("Found {} cards for review session", reviewSession.size());
         return reviewSession;
-
     }
 
+    /**
+     * Total number of cards currently due for review (the whole backlog).
+     */
+    public long countDueCards(String userId) {
+        return vocabularyRepository.countDueCards(userId, LocalDateTime.now());
+    }
 
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_REVIEW_LIMIT));
+    }
 }
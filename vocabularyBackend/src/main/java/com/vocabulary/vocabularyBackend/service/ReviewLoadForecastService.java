@@ -0,0 +1,235 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vocabulary.vocabularyBackend.fsrs.DeckColumns;
+import com.vocabulary.vocabularyBackend.fsrs.FSRSParameters;
+import com.vocabulary.vocabularyBackend.fsrs.NativeFSRSScheduler;
+import com.vocabulary.vocabularyBackend.fsrs.ReviewLoadSimulator;
+import com.vocabulary.vocabularyBackend.model.FSRSCard;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Forecast of a user's daily review load (reviewLoadForecast query), e.g. before raising
+ * the session size or adding many words from one video.
+ * <p>
+ * The deck's FSRS states are loaded into DeckColumns (one query projected on fsrsCard) and
+ * app.review.forecast.trajectories futures are simulated with the user's scheduler weights
+ * (see ReviewLoadSimulator). The default of 250 trajectories keeps a 10k-card, 30-day forecast
+ * around 0.4 s even on a single core.
+ * <ul>
+ *   <li>Trajectories run on a dedicated pool (app.review.forecast.parallelism, 0 = one thread
+ *       per core), never on the common ForkJoinPool</li>
+ *   <li>At most app.review.forecast.max-concurrent forecasts run at once; more are rejected</li>
+ *   <li>Results are cached per user, day, committed sync version, scheduler parameters and
+ *       arguments, so repeating a query costs one version read until the deck changes or the
+ *       weights are refitted. Forecasts taken while a write is pending are not cached.</li>
+ * </ul>
+ * The seed depends on the user and the day, so the numbers are stable within a day.
+ */
+@Service
+public class ReviewLoadForecastService {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewLoadForecastService.class);
+    private static final double[] PERCENTILES = {0.10, 0.25, 0.50, 0.75, 0.90};
+    private static final int MAX_NEW_CARDS = 10_000;
+
+    private final VocabularyRepository vocabularyRepository;
+    private final VocabularySyncService vocabularySyncService;
+    private final UserFSRSParametersService userSchedulers;
+    private final FSRSParameters defaultParameters;
+    private final boolean enableFuzzing;
+    private final int trajectories;
+    private final int maxDays;
+    private final ForkJoinPool pool;
+    private final Semaphore running;
+    private final Cache<ForecastKey, ReviewLoadForecast> forecasts;
+
+    public ReviewLoadForecastService(
+            VocabularyRepository vocabularyRepository,
+            VocabularySyncService vocabularySyncService,
+            UserFSRSParametersService userSchedulers,
+            @Value("${app.fsrs.desired-retention:0.9}") double desiredRetention,
+            @Value("${app.fsrs.maximum-interval:36500}") int maximumInterval,
+            @Value("${app.fsrs.enable-fuzzing:true}") boolean enableFuzzing,
+            @Value("${app.review.forecast.trajectories:250}") int trajectories,
+            @Value("${app.review.forecast.max-days:90}") int maxDays,
+            @Value("${app.review.forecast.parallelism:0}") int parallelism,
+            @Value("${app.review.forecast.max-concurrent:2}") int maxConcurrent,
+            @Value("${app.review.forecast.cache-size:1000}") long cacheSize,
+            @Value("${app.review.forecast.cache-ttl:1h}") Duration cacheTtl
+    ) {
+        this.vocabularyRepository = vocabularyRepository;
+        this.vocabularySyncService = vocabularySyncService;
+        this.userSchedulers = userSchedulers;
+        this.defaultParameters = new FSRSParameters(FSRSParameters.DEFAULT_WEIGHTS, desiredRetention, maximumInterval);
+        this.enableFuzzing = enableFuzzing;
+        this.trajectories = Math.max(1, trajectories);
+        this.maxDays = Math.max(1, maxDays);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.running = new Semaphore(Math.max(1, maxConcurrent));
+        this.forecasts = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private record ForecastKey(String userId, LocalDate today, long version, List<Double> weights,
+                               double desiredRetention, int maximumInterval, int days, int newCards, int dailyLimit) {
+    }
+
+    /**
+     * @param days Days to forecast, starting today (at most app.review.forecast.max-days)
+     * @param newCards Optional number of new cards added today (null for none)
+     * @param dailyLimit Optional cap on reviews per day; the rest is deferred (null for none)
+     */
+    public ReviewLoadForecast forecast(String userId, int days, Integer newCards, Integer dailyLimit) {
+        if (days < 1 || days > maxDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + maxDays);
+        }
+        int added = newCards == null ? 0 : newCards;
+        if (added < 0 || added > MAX_NEW_CARDS) {
+            throw new IllegalArgumentException("newCards must be between 0 and " + MAX_NEW_CARDS);
+        }
+        int limit = dailyLimit == null ? 0 : dailyLimit;
+        if (limit < 0) {
+            throw new IllegalArgumentException("dailyLimit must not be negative");
+        }
+
+        VocabularySyncService.Watermark watermark = vocabularySyncService.watermark(userId);
+        FSRSParameters parameters = userSchedulers.schedulerFor(userId) instanceof NativeFSRSScheduler scheduler
+                ? scheduler.getParameters()
+                : defaultParameters;
+        ForecastKey key = new ForecastKey(userId, LocalDate.now(), watermark.version(),
+                Arrays.stream(parameters.weights()).boxed().toList(), parameters.desiredRetention(),
+                parameters.maximumInterval(), days, added, limit);
+        if (watermark.pending()) {
+            // The deck may or may not include the pending write yet
+            return simulate(key, parameters);
+        }
+        return forecasts.get(key, k -> simulate(k, parameters));
+    }
+
+    private ReviewLoadForecast simulate(ForecastKey key, FSRSParameters parameters) {
+        if (!running.tryAcquire()) {
+            throw new IllegalStateException("Too many review load forecasts running; try again shortly");
+        }
+        try {
+            return simulate(key.userId(), key.today(), parameters, key.days(), key.newCards(), key.dailyLimit());
+        } finally {
+            running.release();
+        }
+    }
+
+    private ReviewLoadForecast simulate(String userId, LocalDate today, FSRSParameters parameters,
+                                        int days, int added, int limit) {
+        long started = System.nanoTime();
+        List<VocabularyEntry> deck = vocabularyRepository.findDeck(userId, Set.of("fsrsCard"));
+        DeckColumns columns = toColumns(deck, today);
+
+        ReviewLoadSimulator.Forecast forecast = new ReviewLoadSimulator(parameters, enableFuzzing).simulate(
+                columns, today.toEpochDay(),
+                new ReviewLoadSimulator.Scenario(days, trajectories, added, limit),
+                PERCENTILES, Objects.hash(userId, today), pool);
+
+        List<ReviewLoadDay> daily = new ArrayList<>(days);
+        int[][] values = forecast.values();
+        for (int day = 0; day < days; day++) {
+            daily.add(new ReviewLoadDay(today.plusDays(day).toString(), forecast.mean()[day],
+                    values[0][day], values[1][day], values[2][day], values[3][day], values[4][day]));
+        }
+        logger.info("Review load forecast for userId={}: {} cards, {} days x {} trajectories in {} ms",
+                userId, forecast.cards(), days, forecast.trajectories(), (System.nanoTime() - started) / 1_000_000);
+        return new ReviewLoadForecast(userId, forecast.cards(), forecast.trajectories(), daily);
+    }
+
+    static DeckColumns toColumns(List<VocabularyEntry> deck, LocalDate today) {
+        DeckColumns.Builder columns = DeckColumns.builder(deck.size());
+        for (VocabularyEntry entry : deck) {
+            FSRSCard card = entry.getFsrsCard();
+            long due = card == null || card.getDueDate() == null
+                    ? today.toEpochDay()
+                    : card.getDueDate().toLocalDate().toEpochDay();
+            if (card == null || card.getStability() == null || card.getDifficulty() == null) {
+                columns.addNew(due);
+            } else {
+                long lastReview = card.getLastReview() == null ? today.toEpochDay() : card.getLastReview().toLocalDate().toEpochDay();
+                columns.addReviewed(due, lastReview, card.getStability(), card.getDifficulty(), card.getState());
+            }
+        }
+        return columns.build();
+    }
+
+    /**
+     * DTO for the reviewLoadForecast query
+     */
+    public static class ReviewLoadForecast {
+        private final String userId;
+        private final int cards;
+        private final int trajectories;
+        private final List<ReviewLoadDay> days;
+
+        public ReviewLoadForecast(String userId, int cards, int trajectories, List<ReviewLoadDay> days) {
+            this.userId = userId;
+            this.cards = cards;
+            this.trajectories = trajectories;
+            this.days = days;
+        }
+
+        public String getUserId() { return userId; }
+        public int getCards() { return cards; }
+        public int getTrajectories() { return trajectories; }
+        public List<ReviewLoadDay> getDays() { return days; }
+    }
+
+    /**
+     * DTO for one forecast day: mean and percentile band of the number of reviews
+     */
+    public static class ReviewLoadDay {
+        private final String date;
+        private final double mean;
+        private final int p10;
+        private final int p25;
+        private final int p50;
+        private final int p75;
+        private final int p90;
+
+        public ReviewLoadDay(String date, double mean, int p10, int p25, int p50, int p75, int p90) {
+            this.date = date;
+            this.mean = mean;
+            this.p10 = p10;
+            this.p25 = p25;
+            this.p50 = p50;
+            this.p75 = p75;
+            this.p90 = p90;
+        }
+
+        public String getDate() { return date; }
+        public double getMean() { return mean; }
+        public int getP10() { return p10; }
+        public int getP25() { return p25; }
+        public int getP50() { return p50; }
+        public int getP75() { return p75; }
+        public int getP90() { return p90; }
+    }
+}
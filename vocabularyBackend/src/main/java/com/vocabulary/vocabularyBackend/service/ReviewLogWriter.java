@@ -0,0 +1,175 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
+import com.vocabulary.vocabularyBackend.repository.ReviewLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous, batched insert path for review_logs.
+ * <p>
+ * saveReviewSession only enqueues (never blocks); one background thread inserts:
+ * <ul>
+ *   <li>A batch is written when it reaches app.review-log.batch-size entries or
+ *       app.review-log.flush-interval after its first entry, whichever comes first</li>
+ *   <li>The queue is bounded (app.review-log.queue-capacity); entries that do not fit are
+ *       dropped and counted, the review save itself is never slowed down or failed</li>
+ *   <li>A failed insert is logged and counted, not retried</li>
+ *   <li>Pending entries are written on shutdown</li>
+ * </ul>
+ * Meters: review.logs (outcome=written|dropped|failed) and review.logs.queued.
+ * Disable with app.review-log.enabled=false.
+ */
+@Service
+public class ReviewLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewLogWriter.class);
+
+    private final Consumer<List<ReviewLog>> sink;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<ReviewLog> queue;
+    private final Thread worker;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile boolean stopping;
+
+    @Autowired
+    public ReviewLogWriter(
+            ReviewLogRepository reviewLogRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.review-log.enabled:true}") boolean enabled,
+            @Value("${app.review-log.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.review-log.batch-size:500}") int batchSize,
+            @Value("${app.review-log.flush-interval:1s}") Duration flushInterval
+    ) {
+        this(reviewLogRepository::insert, meterRegistry, enabled, queueCapacity, batchSize, flushInterval);
+    }
+
+    ReviewLogWriter(Consumer<List<ReviewLog>> sink, MeterRegistry meterRegistry, boolean enabled,
+                    int queueCapacity, int batchSize, Duration flushInterval) {
+        this.sink = sink;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = enabled ? new ArrayBlockingQueue<>(Math.max(1, queueCapacity)) : null;
+        this.written = outcome(meterRegistry, "written");
+        this.dropped = outcome(meterRegistry, "dropped");
+        this.failed = outcome(meterRegistry, "failed");
+
+        if (enabled) {
+            Gauge.builder("review.logs.queued", queue, BlockingQueue::size).register(meterRegistry);
+            this.worker = Thread.ofPlatform().name("review-log-writer").daemon().start(this::run);
+            logger.info("Review log enabled: batchSize={}, flushInterval={}, queueCapacity={}",
+                    this.batchSize, flushInterval, queueCapacity);
+        } else {
+            this.worker = null;
+            logger.info("Review log disabled (app.review-log.enabled=false)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return queue != null;
+    }
+
+    /**
+     * Enqueue entries for the next batch. Never blocks.
+     */
+    public void append(List<ReviewLog> logs) {
+        if (queue == null || logs.isEmpty()) {
+            return;
+        }
+        int rejected = 0;
+        for (ReviewLog log : logs) {
+            if (stopping || !queue.offer(log)) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            dropped.increment(rejected);
+            logger.warn("Review log queue full, dropped {} of {} entries", rejected, logs.size());
+        }
+    }
+
+    /**
+     * Stop the writer thread and write whatever is still queued.
+     */
+    @PreDestroy
+    public void close() {
+        if (worker == null) {
+            return;
+        }
+        stopping = true;
+        try {
+            // Exits after its current batch, at most one flush interval from now
+            worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<ReviewLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    private void run() {
+        List<ReviewLog> batch = new ArrayList<>(batchSize);
+        while (!stopping) {
+            try {
+                ReviewLog first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && !stopping) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    ReviewLog next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+            }
+            write(batch);
+        }
+    }
+
+    private void write(List<ReviewLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sink.accept(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.error("Failed to write {} review log entries: {}", batch.size(), e.getMessage(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("review.logs").tag("outcome", outcome).register(meterRegistry);
+    }
+}
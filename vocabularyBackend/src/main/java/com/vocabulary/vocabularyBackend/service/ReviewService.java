@@ -1,29 +1,66 @@
 package com.vocabulary.vocabularyBackend.service;
 
+import com.vocabulary.vocabularyBackend.dto.VocabularyEvent;
 import com.vocabulary.vocabularyBackend.model.FSRSCard;
 import com.vocabulary.vocabularyBackend.model.FSRSState;
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
 import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
 import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import com.vocabulary.vocabularyBackend.repository.VocabularyRepositoryCustom.BulkCardUpdateResult;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class ReviewService {
     private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+    private static final Set<String> PREVIOUS_CARD_FIELDS = Set.of(
+            "fsrsCard.difficulty", "fsrsCard.stability", "fsrsCard.state", "fsrsCard.lastReview");
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
 
     private final FSRSScheduler fsrsScheduler;
     private final VocabularyRepository vocabularyRepository;
-
-    public ReviewService(FSRSScheduler fsrsScheduler, VocabularyRepository vocabularyRepository) {
+    private final VocabularySyncService vocabularySyncService;
+    private final VocabularyEventPublisher vocabularyEventPublisher;
+    private final VocabularyCache vocabularyCache;
+    private final ReviewLogWriter reviewLogWriter;
+    // Runs the review log pre-read next to the sync version reservation
+    private final ExecutorService preReadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReviewService(
+            FSRSScheduler fsrsScheduler,
+            VocabularyRepository vocabularyRepository,
+            VocabularySyncService vocabularySyncService,
+            VocabularyEventPublisher vocabularyEventPublisher,
+            VocabularyCache vocabularyCache,
+            ReviewLogWriter reviewLogWriter
+    ) {
         this.fsrsScheduler = fsrsScheduler;
         this.vocabularyRepository = vocabularyRepository;
+        this.vocabularySyncService = vocabularySyncService;
+        this.vocabularyEventPublisher = vocabularyEventPublisher;
+        this.vocabularyCache = vocabularyCache;
+        this.reviewLogWriter = reviewLogWriter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        preReadExecutor.close();
     }
 
     /**
@@ -31,76 +68,199 @@ public class ReviewService {
      * Load cards due for review from MongoDB
      *
      * @param userId User ID
-     * @return List of vocabulary entries due for review (max 20)
+     * @param limit Optional session size (defaults to app.review.session-size)
+     * @return List of vocabulary entries due for review
      */
-    public List<VocabularyEntry> startReviewSession(String userId) {
+    public List<VocabularyEntry> startReviewSession(String userId, Integer limit) {
         logger.info("Starting review session for userId={}", userId);
 
-        List<VocabularyEntry> dueCards = fsrsScheduler.getCardsForReview(userId);
+        List<VocabularyEntry> dueCards = fsrsScheduler.getCardsForReview(userId, limit, VocabularyEntry.class);
 
         logger.info("Review session started: {} cards loaded", dueCards.size());
 
         return dueCards;
     }
 
+    /**
+     * Count every card currently due, so the client can show the backlog size
+     * even though a session only loads a limited number of cards.
+     *
+     * @param userId User ID
+     * @return Number of due cards
+     */
+    public long countDueCards(String userId) {
+        return fsrsScheduler.countDueCards(userId);
+    }
+
     /**
      * SAVE REVIEW SESSION (MongoDB Call #2)
-     * Batch save all FSRS card updates at session end
+     * Batch save all FSRS card updates at session end.
+     * One unordered bulkWrite of $set updates on fsrsCard.* - entries are not loaded first
+     * and the rest of each document is left untouched.
+     * <p>
+     * Every saved update is also appended to review_logs (see ReviewLogWriter). The previous
+     * card states that go into the log are read with one projected query, in parallel with the
+     * sync version reservation; the log entries are inserted in the background.
+     * The pre-read is not atomic with the bulk update: if another save of the same card lands
+     * in between, this save's log entry records the state from before that other save as its
+     * "before" state, not the one it actually replaced. The card itself is still last-writer-wins.
      *
+     * @param userId Owner of the cards (required); every update is guarded by it
      * @param updates List of card updates with vocabularyId and updated FSRS data
-     * @return Result with success status and count of saved cards
+     * @return Result with success status (false if any card failed), count of saved cards and per-card outcome
      */
-    public SaveSessionResult saveReviewSession(List<CardUpdate> updates) {
+    public SaveSessionResult saveReviewSession(String userId, List<CardUpdate> updates) {
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("userId is required");
+        }
         logger.info("Saving review session: {} card updates", updates.size());
 
-        try {
-            // Extract all vocabulary IDs
-            List<String> vocabularyIds = updates.stream()
-                    .map(CardUpdate::getVocabularyId)
-                    .collect(Collectors.toList());
-
-            // Load all vocabulary entries by IDs (single batch query)
-            List<VocabularyEntry> entries = vocabularyRepository.findAllById(vocabularyIds);
-
-            // Create a map for quick lookup
-            Map<String, VocabularyEntry> entryMap = entries.stream()
-                    .collect(Collectors.toMap(VocabularyEntry::getId, entry -> entry));
-
-            // Update each entry's fsrsCard with new data
-            for (CardUpdate update : updates) {
-                VocabularyEntry entry = entryMap.get(update.getVocabularyId());
+        List<CardSaveResult> results = new ArrayList<>();
+        Map<String, FSRSCard> cardsById = new LinkedHashMap<>();
+        Map<String, String> invalid = new LinkedHashMap<>();
+
+        for (CardUpdate update : updates) {
+            try {
+                FSRSCard fsrsCard = new FSRSCard(
+                        update.getDifficulty(),
+                        update.getStability(),
+                        parseDateTime(update.getDueDate()),
+                        FSRSState.valueOf(update.getState()),
+                        parseDateTime(update.getLastReview()),
+                        update.getReps()
+                );
+                cardsById.put(update.getVocabularyId(), fsrsCard);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid card update for {}: {}", update.getVocabularyId(), e.getMessage());
+                invalid.put(update.getVocabularyId(), "Invalid card state: " + update.getState());
+            }
+        }
 
-                if (entry == null) {
-                    logger.warn("Vocabulary entry not found: {}", update.getVocabularyId());
-                    continue;
+        try {
+            CompletableFuture<Map<String, FSRSCard>> previousCards = reviewLogWriter.isEnabled() && !cardsById.isEmpty()
+                    ? CompletableFuture.supplyAsync(() -> loadPreviousCards(userId, cardsById), preReadExecutor)
+                    : null;
+
+            // One block of sync versions for the whole session, released after the write
+            VocabularySyncService.Reservation reservation = cardsById.isEmpty()
+                    ? null
+                    : vocabularySyncService.reserve(userId, cardsById.size());
+            long firstVersion = reservation == null ? 0 : reservation.first();
+
+            BulkCardUpdateResult bulkResult;
+            try {
+                // The pre-read must see the cards before the update
+                Map<String, FSRSCard> previous = previousCards != null ? previousCards.join() : Map.of();
+
+                // Single bulkWrite of targeted $set updates
+                bulkResult = vocabularyRepository.bulkUpdateFsrsCards(userId, cardsById, firstVersion);
+                if (previousCards != null) {
+                    reviewLogWriter.append(toReviewLogs(userId, updates, cardsById, previous, bulkResult));
+                }
+            } finally {
+                if (reservation != null) {
+                    vocabularySyncService.release(reservation);
                 }
+            }
+            vocabularyCache.invalidate(userId);
 
-                // Update FSRS card fields
-                FSRSCard fsrsCard = entry.getFsrsCard();
-                fsrsCard.setDifficulty(update.getDifficulty());
-                fsrsCard.setStability(update.getStability());
-                fsrsCard.setDueDate(parseDateTime(update.getDueDate()));
-                fsrsCard.setState(FSRSState.valueOf(update.getState()));
-                fsrsCard.setLastReview(parseDateTime(update.getLastReview()));
-                fsrsCard.setReps(update.getReps());
-
-                logger.debug("Updated card {}: state={}, due={}",
-                    entry.getText(), fsrsCard.getState(), fsrsCard.getDueDate());
+            for (String vocabularyId : cardsById.keySet()) {
+                String failure = bulkResult.getFailures().get(vocabularyId);
+                if (failure != null) {
+                    logger.warn("Card update failed for {}: {}", vocabularyId, failure);
+                }
+                results.add(new CardSaveResult(vocabularyId, failure == null, failure));
             }
+            invalid.forEach((vocabularyId, reason) -> results.add(new CardSaveResult(vocabularyId, false, reason)));
 
-            // Batch save all entries (single MongoDB operation)
-            vocabularyRepository.saveAll(entries);
+            List<String> savedIds = results.stream().filter(CardSaveResult::isSuccess).map(CardSaveResult::getVocabularyId).toList();
+            if (!savedIds.isEmpty()) {
+                Long version = firstVersion > 0 ? firstVersion + cardsById.size() - 1 : null;
+                vocabularyEventPublisher.publish(new VocabularyEvent(
+                        VocabularyEvent.Type.REVIEW_SESSION_SAVED, userId, version, savedIds, null));
+            }
 
-            logger.info("Review session saved successfully: {} cards updated", entries.size());
+            long failedCount = results.stream().filter(r -> !r.isSuccess()).count();
+            logger.info("Review session saved: {} cards updated, {} failed", bulkResult.getUpdatedCount(), failedCount);
 
-            return new SaveSessionResult(true, entries.size(), "Review session saved successfully");
+            String message = failedCount == 0
+                    ? "Review session saved successfully"
+                    : "Review session saved with " + failedCount + " failed card(s)";
+            return new SaveSessionResult(failedCount == 0, bulkResult.getUpdatedCount(), message, results);
 
         } catch (Exception e) {
             logger.error("Failed to save review session: {}", e.getMessage(), e);
-            return new SaveSessionResult(false, 0, "Failed to save review session: " + e.getMessage());
+            return new SaveSessionResult(false, 0, "Failed to save review session: " + e.getMessage(), List.of());
+        }
+    }
+
+    /**
+     * Card states before this save, by vocabulary ID. A failed read only costs the "before"
+     * fields of the log entries, never the save.
+     */
+    private Map<String, FSRSCard> loadPreviousCards(String userId, Map<String, FSRSCard> cardsById) {
+        try {
+            Map<String, FSRSCard> previous = new HashMap<>();
+            for (VocabularyEntry entry : vocabularyRepository.findProjectedByIds(userId, cardsById.keySet(), PREVIOUS_CARD_FIELDS)) {
+                if (entry.getFsrsCard() != null) {
+                    previous.put(entry.getId(), entry.getFsrsCard());
+                }
+            }
+            return previous;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read previous card states for the review log: {}", e.getMessage());
+            return Map.of();
         }
     }
 
+    /**
+     * One review log entry per successfully written card.
+     */
+    private List<ReviewLog> toReviewLogs(String userId, List<CardUpdate> updates, Map<String, FSRSCard> cardsById,
+                                         Map<String, FSRSCard> previous, BulkCardUpdateResult bulkResult) {
+        Map<String, Integer> ratings = new HashMap<>();
+        for (CardUpdate update : updates) {
+            Integer rating = update.getRating();
+            ratings.put(update.getVocabularyId(), rating != null && rating >= 1 && rating <= 4 ? rating : null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReviewLog> logs = new ArrayList<>(cardsById.size());
+        cardsById.forEach((vocabularyId, card) -> {
+            if (!bulkResult.isSuccess(vocabularyId)) {
+                return;
+            }
+            ReviewLog log = new ReviewLog();
+            log.setUserId(userId);
+            log.setVocabularyId(vocabularyId);
+            log.setRating(ratings.get(vocabularyId));
+            log.setReviewedAt(card.getLastReview() != null ? card.getLastReview() : now);
+            log.setStateAfter(card.getState());
+            log.setStabilityAfter(card.getStability());
+            log.setDifficultyAfter(card.getDifficulty());
+            log.setScheduledDays(daysBetween(log.getReviewedAt(), card.getDueDate()));
+
+            FSRSCard before = previous.get(vocabularyId);
+            if (before != null) {
+                log.setStateBefore(before.getState());
+                log.setStabilityBefore(before.getStability());
+                log.setDifficultyBefore(before.getDifficulty());
+                log.setElapsedDays(before.getLastReview() != null
+                        ? Math.max(0.0, daysBetween(before.getLastReview(), log.getReviewedAt()))
+                        : 0.0);
+            }
+            logs.add(log);
+        });
+        return logs;
+    }
+
+    private static Double daysBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return null;
+        }
+        return Duration.between(from, to).toMillis() / MILLIS_PER_DAY;
+    }
+
     /**
      * Helper method to parse ISO 8601 datetime strings
      */
@@ -137,6 +297,7 @@ public class ReviewService {
         private String state;
         private String lastReview;
         private Integer reps;
+        private Integer rating;
 
         // Constructors
         public CardUpdate() {}
@@ -173,6 +334,9 @@ public class ReviewService {
 
         public Integer getReps() { return reps; }
         public void setReps(Integer reps) { this.reps = reps; }
+
+        public Integer getRating() { return rating; }
+        public void setRating(Integer rating) { this.rating = rating; }
     }
 
     /**
@@ -182,16 +346,39 @@ public class ReviewService {
         private boolean success;
         private int savedCount;
         private String message;
+        private List<CardSaveResult> results;
 
-        public SaveSessionResult(boolean success, int savedCount, String message) {
+        public SaveSessionResult(boolean success, int savedCount, String message, List<CardSaveResult> results) {
             this.success = success;
             this.savedCount = savedCount;
             this.message = message;
+            this.results = results;
         }
 
         // Getters
         public boolean isSuccess() { return success; }
         public int getSavedCount() { return savedCount; }
         public String getMessage() { return message; }
+        public List<CardSaveResult> getResults() { return results; }
+    }
+
+    /**
+     * DTO for the outcome of a single card in a save session
+     */
+    public static class CardSaveResult {
+        private String vocabularyId;
+        private boolean success;
+        private String message;
+
+        public CardSaveResult(String vocabularyId, boolean success, String message) {
+            this.vocabularyId = vocabularyId;
+            this.success = success;
+            this.message = message;
+        }
+
+        // Getters
+        public String getVocabularyId() { return vocabularyId; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
     }
 }
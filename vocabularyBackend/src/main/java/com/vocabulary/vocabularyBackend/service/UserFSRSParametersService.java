@@ -0,0 +1,88 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vocabulary.vocabularyBackend.fsrs.NativeFSRSScheduler;
+import com.vocabulary.vocabularyBackend.fsrs.Scheduler;
+import com.vocabulary.vocabularyBackend.model.UserFSRSParameters;
+import com.vocabulary.vocabularyBackend.repository.UserFSRSParametersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Resolves the scheduler for a user: the configured one with the user's fitted weights
+ * (see FSRSOptimizerJob), or the configured one as is.
+ * <p>
+ * Per-user schedulers are cached for app.fsrs.personalized.ttl, so a review costs no MongoDB
+ * read; the job evicts a user after a new fit. Only the in-process engine can take other
+ * weights: with app.fsrs.engine=http every user gets the Python service's defaults.
+ * Disable with app.fsrs.personalized.enabled=false.
+ */
+@Service
+public class UserFSRSParametersService {
+    private static final Logger logger = LoggerFactory.getLogger(UserFSRSParametersService.class);
+
+    private final Scheduler defaultScheduler;
+    private final UserFSRSParametersRepository repository;
+    private final Cache<String, Scheduler> schedulers;
+
+    public UserFSRSParametersService(
+            Scheduler scheduler,
+            UserFSRSParametersRepository repository,
+            @Value("${app.fsrs.personalized.enabled:true}") boolean enabled,
+            @Value("${app.fsrs.personalized.max-users:10000}") long maxUsers,
+            @Value("${app.fsrs.personalized.ttl:10m}") Duration ttl
+    ) {
+        this.defaultScheduler = scheduler;
+        this.repository = repository;
+        if (enabled && scheduler instanceof NativeFSRSScheduler) {
+            this.schedulers = Caffeine.newBuilder()
+                    .maximumSize(maxUsers)
+                    .expireAfterWrite(ttl)
+                    .build();
+        } else {
+            this.schedulers = null;
+            logger.info("Personalized FSRS weights disabled (enabled={}, engine={})",
+                    enabled, scheduler.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * @param userId User ID (null or blank gets the default scheduler)
+     */
+    public Scheduler schedulerFor(String userId) {
+        if (schedulers == null || userId == null || userId.isBlank()) {
+            return defaultScheduler;
+        }
+        Scheduler scheduler = schedulers.get(userId, this::load);
+        return scheduler != null ? scheduler : defaultScheduler;
+    }
+
+    /**
+     * Drop a user's cached scheduler (after their weights changed).
+     */
+    public void invalidate(String userId) {
+        if (schedulers != null) {
+            schedulers.invalidate(userId);
+        }
+    }
+
+    private Scheduler load(String userId) {
+        try {
+            return repository.findByUserId(userId)
+                    .map(UserFSRSParameters::getWeights)
+                    .filter(Objects::nonNull)
+                    .<Scheduler>map(((NativeFSRSScheduler) defaultScheduler)::withWeights)
+                    .orElse(defaultScheduler);
+        } catch (RuntimeException e) {
+            // Scheduling must not fail over a lookup; null is not cached, so the next review retries
+            logger.warn("Failed to load FSRS weights for userId={}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-user read-through cache of whole vocabulary decks (opt-in: app.vocabulary.cache.enabled=true).
+ * <p>
+ * A deck is loaded once (full documents, due date then createdAt order) and then serves
+ * vocabularyEntries from memory. Bounded reads (review sessions, due counts, single entries)
+ * never go through it: their indexed queries are cheaper than loading a deck.
+ * <ul>
+ *   <li>Bounded by total entries across decks (Caffeine W-TinyLFU eviction, weight = deck size)</li>
+ *   <li>Entries expire app.vocabulary.cache.ttl after they were loaded</li>
+ *   <li>Every vocabulary mutation invalidates the owner's deck</li>
+ *   <li>A hit is checked against the user's committed sync watermark (one indexed point read),
+ *       so writes that went through another backend instance are never served stale.
+ *       While a write is still pending the deck is read from the database and not cached.
+ *       Turn off with app.vocabulary.cache.validate-version=false.</li>
+ * </ul>
+ * Hit/miss/eviction counters are published to Micrometer as cache.* meters with
+ * cache=vocabulary.decks.
+ */
+@Service
+public class VocabularyCache {
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyCache.class);
+    private static final String CACHE_NAME = "vocabulary.decks";
+
+    private final VocabularyRepository vocabularyRepository;
+    private final VocabularySyncService vocabularySyncService;
+    private final boolean validateVersion;
+    private final Cache<String, CachedDeck> decks;
+
+    public VocabularyCache(
+            VocabularyRepository vocabularyRepository,
+            VocabularySyncService vocabularySyncService,
+            MeterRegistry meterRegistry,
+            @Value("${app.vocabulary.cache.enabled:false}") boolean enabled,
+            @Value("${app.vocabulary.cache.max-entries:100000}") long maxEntries,
+            @Value("${app.vocabulary.cache.ttl:10m}") Duration ttl,
+            @Value("${app.vocabulary.cache.validate-version:true}") boolean validateVersion
+    ) {
+        this.vocabularyRepository = vocabularyRepository;
+        this.vocabularySyncService = vocabularySyncService;
+        this.validateVersion = validateVersion;
+
+        if (enabled) {
+            this.decks = Caffeine.newBuilder()
+                    .maximumWeight(maxEntries)
+                    .weigher((String userId, CachedDeck deck) -> deck.entries.size() + 1)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, decks, CACHE_NAME);
+            logger.info("Vocabulary cache enabled: maxEntries={}, ttl={}, validateVersion={}",
+                    maxEntries, ttl, validateVersion);
+        } else {
+            this.decks = null;
+            logger.info("Vocabulary cache disabled (set app.vocabulary.cache.enabled=true to enable)");
+        }
+    }
+
+    /**
+     * Whether reads for this user go through the cache.
+     */
+    public boolean isEnabled(String userId) {
+        return decks != null && userId != null;
+    }
+
+    /**
+     * The user's whole deck, ordered by due date then createdAt. Read-only.
+     */
+    public List<VocabularyEntry> deck(String userId) {
+        return load(userId).entries;
+    }
+
+    public void invalidate(String userId) {
+        if (decks != null && userId != null) {
+            decks.invalidate(userId);
+        }
+    }
+
+    private CachedDeck load(String userId) {
+        if (!validateVersion) {
+            return decks.get(userId, id -> loadDeck(id, 0));
+        }
+        VocabularySyncService.Watermark watermark = vocabularySyncService.watermark(userId);
+        CachedDeck deck = decks.getIfPresent(userId);
+        if (deck != null && !watermark.pending() && deck.version == watermark.version()) {
+            return deck;
+        }
+        // Missing, or changed since it was cached (possibly through another instance): reload.
+        // The watermark is read before the deck, so a write racing with the load only makes the next read reload.
+        deck = loadDeck(userId, watermark.version());
+        if (watermark.pending()) {
+            // A reserved write may or may not be visible yet: serve it uncached
+            decks.invalidate(userId);
+        } else {
+            decks.put(userId, deck);
+        }
+        return deck;
+    }
+
+    private CachedDeck loadDeck(String userId, long version) {
+        List<VocabularyEntry> entries = vocabularyRepository.findDeck(userId, Set.of());
+        logger.debug("Vocabulary cache load: userId={}, entries={}, version={}", userId, entries.size(), version);
+        return new CachedDeck(version, entries);
+    }
+
+    private static final class CachedDeck {
+        private final long version;
+        private final List<VocabularyEntry> entries;
+
+        private CachedDeck(long version, List<VocabularyEntry> entries) {
+            this.version = version;
+            this.entries = List.copyOf(entries);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.dto.VocabularyEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory, per-user fan-out of vocabulary change events for GraphQL subscriptions.
+ * <p>
+ * A user only has a channel while at least one subscriber is connected, so publishing
+ * for a user nobody is watching is a map lookup. Every subscriber gets its own bounded
+ * buffer: a subscriber that falls more than app.vocabulary.events.buffer-size events
+ * behind is terminated with an error instead of slowing the writer or other tabs down.
+ * Clients re-subscribe and catch up with vocabularyChanges(sinceVersion).
+ * <p>
+ * Events are local to this instance; with several backend instances a client only hears
+ * about writes that went through the instance it is connected to.
+ */
+@Service
+public class VocabularyEventPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyEventPublisher.class);
+
+    private final Map<String, UserChannel> channels = new ConcurrentHashMap<>();
+    private final int bufferSize;
+
+    public VocabularyEventPublisher(@Value("${app.vocabulary.events.buffer-size:64}") int bufferSize) {
+        this.bufferSize = Math.max(1, bufferSize);
+    }
+
+    /**
+     * Events for one user, from the moment of subscription on (no replay).
+     */
+    public Flux<VocabularyEvent> subscribe(String userId) {
+        return Flux.defer(() -> {
+            UserChannel channel = channels.compute(userId, (key, existing) -> {
+                UserChannel c = existing == null ? new UserChannel() : existing;
+                c.subscribers++;
+                return c;
+            });
+            logger.debug("Vocabulary events subscriber added: userId={}", userId);
+
+            return channel.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize,
+                            dropped -> logger.warn("Vocabulary events subscriber too slow, closing: userId={}", userId))
+                    .doFinally(signal -> channels.computeIfPresent(userId, (key, c) -> --c.subscribers == 0 ? null : c));
+        });
+    }
+
+    /**
+     * Push an event to the user's live subscribers, if any. Never throws.
+     */
+    public void publish(VocabularyEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        UserChannel channel = channels.get(event.getUserId());
+        if (channel == null) {
+            return;
+        }
+        // Sinks must not be emitted to concurrently. A lock rather than synchronized: delivery can
+        // run all the way into a WebSocket write, which must not pin a virtual thread.
+        channel.lock.lock();
+        try {
+            Sinks.EmitResult result = channel.sink.tryEmitNext(event);
+            if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                logger.warn("Failed to publish vocabulary event {} for userId={}: {}",
+                        event.getType(), event.getUserId(), result);
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    public int subscriberCount(String userId) {
+        UserChannel channel = channels.get(userId);
+        return channel == null ? 0 : channel.sink.currentSubscriberCount();
+    }
+
+    private static final class UserChannel {
+        // Per-subscriber buffering happens downstream, so the sink itself never queues
+        private final Sinks.Many<VocabularyEvent> sink = Sinks.many().multicast().directBestEffort();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int subscribers;
+    }
+}
@@ -0,0 +1,88 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.dto.VocabularyCursor;
+import com.vocabulary.vocabularyBackend.dto.VocabularyEntryConnection;
+import com.vocabulary.vocabularyBackend.dto.VocabularyOrder;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-side service for vocabulary listings.
+ * All sorting and paging is done by MongoDB; nothing here sorts in the JVM.
+ */
+@Service
+public class VocabularyQueryService {
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyQueryService.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final VocabularyRepository vocabularyRepository;
+    private final VocabularyCache vocabularyCache;
+
+    public VocabularyQueryService(VocabularyRepository vocabularyRepository, VocabularyCache vocabularyCache) {
+        this.vocabularyRepository = vocabularyRepository;
+        this.vocabularyCache = vocabularyCache;
+    }
+
+    /**
+     * Whole deck ordered by due date, then createdAt (index-backed sort).
+     * Served from VocabularyCache when it is enabled (full documents then, fields is ignored).
+     *
+     * @param fields Stored fields to load (empty loads full documents)
+     */
+    public List<VocabularyEntry> listEntries(String userId, Set<String> fields) {
+        if (vocabularyCache.isEnabled(userId)) {
+            return vocabularyCache.deck(userId);
+        }
+        return vocabularyRepository.findDeck(userId, fields);
+    }
+
+    /**
+     * @param fields Stored fields to load (empty loads the full document)
+     */
+    public Optional<VocabularyEntry> findEntry(String id, Set<String> fields) {
+        return vocabularyRepository.findProjectedById(id, fields);
+    }
+
+    /**
+     * One page of a user's deck.
+     *
+     * @param userId The user's ID
+     * @param first Page size (default 50, max 200)
+     * @param after Opaque cursor from a previous page's endCursor / edge cursor
+     * @param orderBy Sort order (default DUE_DATE_ASC)
+     * @param fields Stored fields to load for each node (empty loads full documents)
+     * @return Connection with edges and pageInfo
+     */
+    public VocabularyEntryConnection connection(String userId, Integer first, String after, VocabularyOrder orderBy,
+                                                Set<String> fields) {
+        VocabularyOrder order = orderBy == null ? VocabularyOrder.DUE_DATE_ASC : orderBy;
+        int pageSize = first == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(first, MAX_PAGE_SIZE));
+        VocabularyCursor cursor = after == null || after.isBlank() ? null : VocabularyCursor.decode(after, order);
+
+        // Fetch one extra entry to know whether another page exists
+        List<VocabularyEntry> page = vocabularyRepository.findPage(userId, order, cursor, pageSize + 1, fields);
+        boolean hasNextPage = page.size() > pageSize;
+        if (hasNextPage) {
+            page = page.subList(0, pageSize);
+        }
+
+        List<VocabularyEntryConnection.Edge> edges = new ArrayList<>(page.size());
+        for (VocabularyEntry entry : page) {
+            edges.add(new VocabularyEntryConnection.Edge(VocabularyCursor.after(entry, order).encode(), entry));
+        }
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+
+        logger.debug("vocabularyEntriesConnection: userId={}, order={}, returned={}, hasNextPage={}",
+                userId, order, edges.size(), hasNextPage);
+        return new VocabularyEntryConnection(edges, new VocabularyEntryConnection.PageInfo(hasNextPage, endCursor));
+    }
+}
@@ -0,0 +1,222 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.dto.VocabularyChanges;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import com.vocabulary.vocabularyBackend.model.VocabularySyncState;
+import com.vocabulary.vocabularyBackend.model.VocabularyTombstone;
+import com.vocabulary.vocabularyBackend.repository.VocabularyRepository;
+import com.vocabulary.vocabularyBackend.repository.VocabularyTombstoneRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Delta sync for vocabulary.
+ * <p>
+ * Each user has a monotonic version counter. Every write to one of their entries stamps
+ * the entry with the next version; every delete leaves a tombstone with the next version.
+ * A client that remembers the last version it saw only downloads what changed since.
+ * <p>
+ * Versions are reserved before the write that uses them and released after it
+ * ({@link #reserve}/{@link #release}). The cursor handed to clients is the committed
+ * watermark: just below the oldest reservation still being written, so a write that is
+ * slower than a concurrent sync is never skipped. A reservation whose writer died stops
+ * holding the watermark back after app.vocabulary.sync.reservation-timeout.
+ * <p>
+ * Tombstones older than app.vocabulary.sync.tombstone-retention are pruned when the user
+ * deletes again; a cursor older than the pruned tombstones gets a full sync.
+ */
+@Service
+public class VocabularySyncService {
+    private static final Logger logger = LoggerFactory.getLogger(VocabularySyncService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final VocabularyRepository vocabularyRepository;
+    private final VocabularyTombstoneRepository tombstoneRepository;
+    private final Duration reservationTimeout;
+    private final Duration tombstoneRetention;
+
+    public VocabularySyncService(
+            MongoTemplate mongoTemplate,
+            VocabularyRepository vocabularyRepository,
+            VocabularyTombstoneRepository tombstoneRepository,
+            @Value("${app.vocabulary.sync.reservation-timeout:30s}") Duration reservationTimeout,
+            @Value("${app.vocabulary.sync.tombstone-retention:30d}") Duration tombstoneRetention
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.vocabularyRepository = vocabularyRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.reservationTimeout = reservationTimeout;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * A block of versions [first, last] that is being written. Release it when the write is done.
+     */
+    public record Reservation(String userId, String token, long first, long last) {
+    }
+
+    /**
+     * Committed version of a user's vocabulary; pending is true while a reserved write above it is in flight.
+     */
+    public record Watermark(long version, boolean pending) {
+    }
+
+    /**
+     * Reserve a block of versions in one round trip (creates the counter on first use) and
+     * record it as pending. Expired pending blocks are dropped by the same update.
+     */
+    public Reservation reserve(String userId, int count) {
+        String token = new ObjectId().toHexString();
+        long now = System.currentTimeMillis();
+        Document currentVersion = new Document("$ifNull", List.of("$version", 0L));
+        Document live = new Document("$filter", new Document("input", new Document("$ifNull", List.of("$pending", List.of())))
+                .append("cond", new Document("$gt", List.of("$$this.expiresAt", now))));
+        Document reserved = new Document("token", token)
+                .append("first", new Document("$add", List.of(currentVersion, 1L)))
+                .append("expiresAt", now + reservationTimeout.toMillis());
+        // pending is computed from the version before the increment, so it goes first
+        AggregationOperation addPending = context -> new Document("$set",
+                new Document("pending", new Document("$concatArrays", List.of(live, List.of(reserved)))));
+        AggregationOperation increment = context -> new Document("$set",
+                new Document("version", new Document("$add", List.of(currentVersion, (long) count))));
+
+        VocabularySyncState state = mongoTemplate.findAndModify(
+                new Query(where("userId").is(userId)),
+                AggregationUpdate.from(List.of(addPending, increment)),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                VocabularySyncState.class
+        );
+        long last = state == null ? count : state.getVersion();
+        return new Reservation(userId, token, last - count + 1, last);
+    }
+
+    /**
+     * The write that used a reservation is done (or failed): stop holding the watermark back.
+     */
+    public void release(Reservation reservation) {
+        mongoTemplate.updateFirst(
+                new Query(where("userId").is(reservation.userId())),
+                new Update().pull("pending", new Document("token", reservation.token())),
+                VocabularySyncState.class
+        );
+    }
+
+    /**
+     * Stamp an entry that is about to be saved. Release the reservation after the save.
+     */
+    public Reservation stamp(VocabularyEntry entry) {
+        Reservation reservation = reserve(entry.getUserId(), 1);
+        entry.setVersion(reservation.last());
+        entry.setUpdatedAt(LocalDateTime.now());
+        return reservation;
+    }
+
+    /**
+     * Leave a tombstone for a deleted entry, and prune the user's expired tombstones.
+     *
+     * @return The version the deletion was recorded at
+     */
+    public long recordDeletion(String userId, String vocabularyId) {
+        Reservation reservation = reserve(userId, 1);
+        try {
+            tombstoneRepository.save(new VocabularyTombstone(userId, vocabularyId, reservation.last()));
+        } finally {
+            release(reservation);
+        }
+        pruneTombstones(userId);
+        return reservation.last();
+    }
+
+    private void pruneTombstones(String userId) {
+        tombstoneRepository.findFirstByUserIdAndDeletedAtBeforeOrderByVersionDesc(
+                userId, LocalDateTime.now().minus(tombstoneRetention)
+        ).ifPresent(newestExpired -> {
+            // Record the cut-off before deleting, so a concurrent sync never misses a deletion
+            mongoTemplate.updateFirst(
+                    new Query(where("userId").is(userId)),
+                    new Update().max("tombstonesPrunedThrough", newestExpired.getVersion()),
+                    VocabularySyncState.class
+            );
+            long pruned = tombstoneRepository.deleteByUserIdAndVersionLessThanEqual(userId, newestExpired.getVersion());
+            logger.info("Pruned {} vocabulary tombstones: userId={}, throughVersion={}",
+                    pruned, userId, newestExpired.getVersion());
+        });
+    }
+
+    /**
+     * The user's committed watermark (one indexed point read).
+     */
+    public Watermark watermark(String userId) {
+        VocabularySyncState state = loadState(userId);
+        long committed = committedVersion(state, System.currentTimeMillis());
+        return new Watermark(committed, state != null && committed < state.getVersion());
+    }
+
+    /**
+     * Highest version below which every reserved version has been written (or given up on).
+     */
+    static long committedVersion(VocabularySyncState state, long now) {
+        if (state == null) {
+            return 0;
+        }
+        long committed = state.getVersion();
+        if (state.getPending() != null) {
+            for (VocabularySyncState.PendingVersions pending : state.getPending()) {
+                if (pending.getExpiresAt() > now) {
+                    committed = Math.min(committed, pending.getFirst() - 1);
+                }
+            }
+        }
+        return committed;
+    }
+
+    /**
+     * Everything that changed for a user after sinceVersion.
+     * sinceVersion null or 0 (or older than the pruned tombstones) returns the whole deck as a full sync.
+     *
+     * @param fields Stored fields to load for upserted entries (empty loads full documents)
+     */
+    public VocabularyChanges changesSince(String userId, Long sinceVersion, Set<String> fields) {
+        // Read the watermark first: anything committed after this is picked up again next time
+        VocabularySyncState state = loadState(userId);
+        long version = committedVersion(state, System.currentTimeMillis());
+        long prunedThrough = state == null ? 0 : state.getTombstonesPrunedThrough();
+
+        if (sinceVersion == null || sinceVersion <= 0 || sinceVersion < prunedThrough) {
+            List<VocabularyEntry> all = vocabularyRepository.findDeck(userId, fields);
+            logger.info("Vocabulary full sync: userId={}, entries={}, version={}", userId, all.size(), version);
+            return new VocabularyChanges(version, true, all, List.of());
+        }
+
+        List<VocabularyEntry> upserted = vocabularyRepository.findChangedSince(userId, sinceVersion, fields);
+        List<String> deletedIds = tombstoneRepository.findByUserIdAndVersionGreaterThan(userId, sinceVersion)
+                .stream()
+                .map(VocabularyTombstone::getVocabularyId)
+                .toList();
+
+        logger.info("Vocabulary delta sync: userId={}, since={}, upserted={}, deleted={}, version={}",
+                userId, sinceVersion, upserted.size(), deletedIds.size(), version);
+        return new VocabularyChanges(Math.max(version, sinceVersion), false, upserted, deletedIds);
+    }
+
+    private VocabularySyncState loadState(String userId) {
+        return mongoTemplate.findOne(new Query(where("userId").is(userId)), VocabularySyncState.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.repository.VoiceSessionRepository;
+import com.vocabulary.vocabularyBackend.repository.VoiceTranscriptChunkRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Keeps each user at MAX_SESSIONS_PER_USER voice sessions.
+ * <p>
+ * Only session IDs are read (newest first on user_updated_idx, skipping the ones kept) and
+ * deleted in batches of app.voice.prune.batch-size. By default this runs on a single background
+ * thread, off the request path; several prune requests for the same user collapse into one run.
+ * Set app.voice.prune.async=false to prune inline.
+ * <p>
+ * Callers pass a hook that runs before each batch is deleted, so buffered snapshot saves of
+ * the pruned sessions are dropped instead of being flushed later and recreating them.
+ */
+@Service
+public class VoiceSessionPruner {
+    private static final Logger logger = LoggerFactory.getLogger(VoiceSessionPruner.class);
+
+    static final int MAX_SESSIONS_PER_USER = 30;
+
+    private final VoiceSessionRepository voiceSessionRepository;
+    private final VoiceTranscriptChunkRepository transcriptChunkRepository;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Set<String> pendingUsers = ConcurrentHashMap.newKeySet();
+
+    public VoiceSessionPruner(
+            VoiceSessionRepository voiceSessionRepository,
+            VoiceTranscriptChunkRepository transcriptChunkRepository,
+            @Value("${app.voice.prune.async:true}") boolean async,
+            @Value("${app.voice.prune.batch-size:100}") int batchSize
+    ) {
+        this.voiceSessionRepository = voiceSessionRepository;
+        this.transcriptChunkRepository = transcriptChunkRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = async
+                ? Executors.newSingleThreadExecutor(Thread.ofPlatform().name("voice-session-pruner").daemon().factory())
+                : null;
+    }
+
+    /**
+     * Prune a user's overflow sessions now or in the background (see class doc).
+     *
+     * @param beforeDelete Called with each batch of session IDs before it is deleted
+     */
+    public void requestPrune(String userId, Consumer<List<String>> beforeDelete) {
+        if (executor == null) {
+            prune(userId, beforeDelete);
+            return;
+        }
+        if (!pendingUsers.add(userId)) {
+            return; // already queued
+        }
+        try {
+            executor.execute(() -> {
+                pendingUsers.remove(userId);
+                try {
+                    prune(userId, beforeDelete);
+                } catch (RuntimeException e) {
+                    logger.warn("Voice session pruning failed for userId={}: {}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingUsers.remove(userId);
+        }
+    }
+
+    /**
+     * Delete everything past the newest MAX_SESSIONS_PER_USER sessions.
+     *
+     * @param beforeDelete Called with each batch of session IDs before it is deleted
+     * @return Number of sessions deleted
+     */
+    public long prune(String userId, Consumer<List<String>> beforeDelete) {
+        long deleted = 0;
+        List<String> overflow;
+        while (!(overflow = voiceSessionRepository.findSessionIdsBeyond(userId, MAX_SESSIONS_PER_USER, batchSize)).isEmpty()) {
+            beforeDelete.accept(overflow);
+            long removed = voiceSessionRepository.deleteSessions(userId, overflow);
+            transcriptChunkRepository.deleteByUserIdAndSessionIdIn(userId, overflow);
+            deleted += removed;
+            if (removed == 0) {
+                break; // deleted concurrently by someone else
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Pruned {} overflow voice sessions for userId={}", deleted, userId);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,20 +1,46 @@
 package com.vocabulary.vocabularyBackend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionMessagePage;
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionSummary;
 import com.vocabulary.vocabularyBackend.model.UserVoiceState;
 import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import com.vocabulary.vocabularyBackend.model.VoiceTranscriptChunk;
 import com.vocabulary.vocabularyBackend.repository.UserVoiceStateRepository;
 import com.vocabulary.vocabularyBackend.repository.VoiceSessionRepository;
+import com.vocabulary.vocabularyBackend.repository.VoiceTranscriptChunkRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
 
 @Service
 public class VoiceSessionService {
+    private static final Logger logger = LoggerFactory.getLogger(VoiceSessionService.class);
 
     public static class DeleteVoiceSessionsResult {
         private int deletedCount;
@@ -32,25 +58,200 @@ public class VoiceSessionService {
         }
     }
 
-    private static final int MAX_SESSIONS_PER_USER = 30;
+    /**
+     * globalReviewProgressState result. When notModified is true the client's copy is current
+     * and progressJson is left out.
+     */
+    public static class GlobalReviewProgressState {
+        private Long version;
+        private boolean notModified;
+        private String progressJson;
+
+        public GlobalReviewProgressState(Long version, boolean notModified, String progressJson) {
+            this.version = version;
+            this.notModified = notModified;
+            this.progressJson = progressJson;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+
+        public boolean isNotModified() {
+            return notModified;
+        }
+
+        public void setNotModified(boolean notModified) {
+            this.notModified = notModified;
+        }
+
+        public String getProgressJson() {
+            return progressJson;
+        }
+
+        public void setProgressJson(String progressJson) {
+            this.progressJson = progressJson;
+        }
+    }
+
+    // Every stored field except the large JSON payloads
+    private static final Set<String> META_FIELDS = Set.of(
+            "sessionId", "userId", "title", "titleSource", "createdAt", "updatedAt",
+            "messageCount", "transcriptChunked", "transcriptLength", "transcriptGeneration",
+            "payloadHash", "version");
+
+    // Compare-and-set attempts for patchGlobalReviewProgress before giving up
+    private static final int MAX_PATCH_ATTEMPTS = 5;
+    private static final long TRANSCRIPT_WRITE_LEASE_MILLIS = 30_000;
+    // Chunk reads retried when a replacement's cleanup removed chunks between two reads
+    private static final int MAX_TRANSCRIPT_READ_ATTEMPTS = 3;
+
+    // voiceSessionMessages page size (default, max)
+    private static final int DEFAULT_MESSAGE_PAGE = 50;
+    private static final int MAX_MESSAGE_PAGE = 200;
 
     private final VoiceSessionRepository voiceSessionRepository;
     private final UserVoiceStateRepository userVoiceStateRepository;
-
+    private final VoiceTranscriptChunkRepository transcriptChunkRepository;
+    private final VoiceSessionPruner voiceSessionPruner;
+    private final ObjectMapper objectMapper;
+    private final VoiceSnapshotWriteBehind snapshotWriteBehind;
+
+    /**
+     * @param snapshotWindow Write-behind window for saveSessionSnapshot bursts
+     *                       (app.voice.snapshot.write-behind-window, 0 = write every save through)
+     */
     public VoiceSessionService(
             VoiceSessionRepository voiceSessionRepository,
-            UserVoiceStateRepository userVoiceStateRepository
+            UserVoiceStateRepository userVoiceStateRepository,
+            VoiceTranscriptChunkRepository transcriptChunkRepository,
+            VoiceSessionPruner voiceSessionPruner,
+            ObjectMapper objectMapper,
+            @Value("${app.voice.snapshot.write-behind-window:0}") Duration snapshotWindow
     ) {
         this.voiceSessionRepository = voiceSessionRepository;
         this.userVoiceStateRepository = userVoiceStateRepository;
+        this.transcriptChunkRepository = transcriptChunkRepository;
+        this.voiceSessionPruner = voiceSessionPruner;
+        this.objectMapper = objectMapper;
+        this.snapshotWriteBehind = new VoiceSnapshotWriteBehind(snapshotWindow, this::writeSnapshot);
+    }
+
+    @PreDestroy
+    public void flushPendingSnapshots() {
+        snapshotWriteBehind.flushAll();
+    }
+
+    /**
+     * Whether the user has buffered snapshot saves that a direct read of voice_sessions would
+     * miss (the reactive session list flushes them with {@link #flushPendingSnapshots(String)} first).
+     */
+    public boolean hasPendingSnapshots(String userId) {
+        return snapshotWriteBehind.hasPending(userId);
+    }
+
+    public void flushPendingSnapshots(String userId) {
+        snapshotWriteBehind.flushUser(userId);
     }
 
-    public List<VoiceSessionDocument> loadSessions(String userId) {
-        return voiceSessionRepository.findByUserIdOrderByUpdatedAtDesc(userId);
+    /**
+     * Session list (metadata only, newest first).
+     */
+    public List<VoiceSessionSummary> loadSessions(String userId) {
+        snapshotWriteBehind.flushUser(userId);
+        return voiceSessionRepository.findSummaries(userId);
     }
 
-    public Optional<VoiceSessionDocument> loadSessionSnapshot(String userId, String sessionId) {
-        return voiceSessionRepository.findByUserIdAndSessionId(userId, sessionId);
+    /**
+     * @param ifNoneMatch Version of the client's copy; if it is still current only the metadata
+     *                    is read and the result is flagged notModified
+     */
+    public Optional<VoiceSessionDocument> loadSessionSnapshot(String userId, String sessionId, Set<String> fields, Long ifNoneMatch) {
+        snapshotWriteBehind.flush(userId, sessionId);
+        if (ifNoneMatch != null) {
+            Optional<VoiceSessionDocument> current = voiceSessionRepository.findSnapshot(userId, sessionId, META_FIELDS);
+            if (current.isEmpty()) {
+                return current;
+            }
+            if (ifNoneMatch.equals(current.get().getVersion())) {
+                current.get().setNotModified(true);
+                return current;
+            }
+        }
+
+        boolean wantsTranscript = fields.isEmpty() || fields.contains("transcriptJson");
+        Set<String> resolved = fields;
+        if (!fields.isEmpty() && wantsTranscript) {
+            resolved = new HashSet<>(fields);
+            resolved.add("transcriptChunked");
+            resolved.add("transcriptLength");
+            resolved.add("transcriptGeneration");
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Optional<VoiceSessionDocument> doc = voiceSessionRepository.findSnapshot(userId, sessionId, resolved);
+            if (wantsTranscript && doc.isPresent() && doc.get().isTranscriptChunked()) {
+                VoiceSessionDocument d = doc.get();
+                int length = d.getTranscriptLength() == null ? 0 : d.getTranscriptLength();
+                List<String> items = transcriptChunkRepository.findItemRange(
+                        userId, sessionId, d.getTranscriptGeneration(), 0, length);
+                if (items.size() < length) {
+                    requireReadAttempt(attempt, sessionId);
+                    continue;
+                }
+                d.setTranscriptJson(joinItems(items));
+            }
+            doc.ifPresent(d -> d.setNotModified(false));
+            return doc;
+        }
+    }
+
+    /**
+     * A window of transcript items ending before `before` (the newest items if null).
+     * Chunked transcripts read only the chunks that overlap the window; a transcript that is
+     * still stored inline (last written as a full snapshot) is read and sliced.
+     *
+     * @param before Transcript index to stop before (the previous page's startIndex)
+     * @param limit Maximum number of items (default 50, max 200)
+     */
+    public Optional<VoiceSessionMessagePage> loadMessages(String userId, String sessionId, Integer before, Integer limit) {
+        snapshotWriteBehind.flush(userId, sessionId);
+        int pageSize = limit == null ? DEFAULT_MESSAGE_PAGE : Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE));
+        for (int attempt = 1; ; attempt++) {
+            Optional<VoiceSessionDocument> found = voiceSessionRepository.findSnapshot(userId, sessionId, META_FIELDS);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            VoiceSessionDocument doc = found.get();
+
+            List<String> inline = null;
+            int length;
+            if (doc.isTranscriptChunked()) {
+                length = doc.getTranscriptLength() == null ? 0 : doc.getTranscriptLength();
+            } else {
+                inline = splitItems(voiceSessionRepository.findSnapshot(userId, sessionId, Set.of("transcriptJson"))
+                        .map(VoiceSessionDocument::getTranscriptJson)
+                        .orElse("[]"));
+                length = inline.size();
+            }
+
+            int end = before == null ? length : Math.max(0, Math.min(before, length));
+            int start = Math.max(0, end - pageSize);
+            List<String> window = inline != null
+                    ? inline.subList(start, end)
+                    : transcriptChunkRepository.findItemRange(userId, sessionId, doc.getTranscriptGeneration(), start, end);
+            if (window.size() < end - start) {
+                requireReadAttempt(attempt, sessionId);
+                continue;
+            }
+
+            return Optional.of(new VoiceSessionMessagePage(
+                    sessionId, joinItems(window), start, end, length, doc.getVersion()));
+        }
     }
 
     public VoiceSessionDocument createSession(String userId, String title) {
@@ -68,13 +269,18 @@ public class VoiceSessionService {
         doc.setTranscriptJson("[]");
         doc.setActiveWordsJson("[]");
         doc.setRuntimeContextJson(null);
+        doc.setVersion(1L);
 
         VoiceSessionDocument saved = voiceSessionRepository.save(doc);
-        pruneOverflowSessions(userId);
+        voiceSessionPruner.requestPrune(userId, ids -> snapshotWriteBehind.discard(userId, ids));
         setActiveSession(userId, saved.getSessionId());
         return saved;
     }
 
+    /**
+     * Save a full snapshot. With a write-behind window configured, a burst of saves for the
+     * same session turns into one write per window (see VoiceSnapshotWriteBehind).
+     */
     public VoiceSessionDocument saveSessionSnapshot(
             String userId,
             String sessionId,
@@ -84,48 +290,309 @@ public class VoiceSessionService {
             String activeWordsJson,
             String runtimeContextJson
     ) {
+        VoiceSnapshotWriteBehind.SnapshotWrite write = new VoiceSnapshotWriteBehind.SnapshotWrite(
+                userId, sessionId, title, titleSource, transcriptJson, activeWordsJson, runtimeContextJson);
+
+        if (snapshotWriteBehind.isEnabled()) {
+            Optional<VoiceSessionDocument> stored = snapshotWriteBehind.offer(write);
+            if (stored.isPresent()) {
+                // Buffered: answer with what will be written
+                VoiceSessionDocument view = new VoiceSessionDocument();
+                view.setId(stored.get().getId());
+                view.setSessionId(sessionId);
+                view.setUserId(userId);
+                view.setCreatedAt(stored.get().getCreatedAt());
+                applySnapshot(view, write, Instant.now().toString());
+                view.setPayloadWritten(false); // written when the window closes
+                view.setVersion(null); // not known until then
+                return view;
+            }
+        }
+
+        VoiceSessionDocument saved = writeSnapshot(write);
+        if (snapshotWriteBehind.isEnabled()) {
+            snapshotWriteBehind.opened(saved);
+        }
+        voiceSessionPruner.requestPrune(userId, ids -> snapshotWriteBehind.discard(userId, ids));
+        return saved;
+    }
+
+    /**
+     * Write one snapshot. The stored document is read without its payloads; if the incoming
+     * payload hashes the same as the stored one, only the metadata is $set, and the version is
+     * only bumped when the title or its source changed. A payload write always bumps it, in the
+     * same atomic update.
+     */
+    private VoiceSessionDocument writeSnapshot(VoiceSnapshotWriteBehind.SnapshotWrite write) {
         String now = Instant.now().toString();
         VoiceSessionDocument doc = voiceSessionRepository
-                .findByUserIdAndSessionId(userId, sessionId)
+                .findSnapshot(write.userId(), write.sessionId(), META_FIELDS)
                 .orElseGet(VoiceSessionDocument::new);
 
         if (doc.getSessionId() == null || doc.getSessionId().isBlank()) {
-            doc.setSessionId(sessionId);
-            doc.setUserId(userId);
+            doc.setSessionId(write.sessionId());
+            doc.setUserId(write.userId());
             doc.setCreatedAt(now);
         }
 
+        // A full snapshot replaces an appended transcript
+        boolean wasChunked = doc.isTranscriptChunked();
+        String storedHash = doc.getPayloadHash();
+        String storedTitle = doc.getTitle();
+        String storedTitleSource = doc.getTitleSource();
+        applySnapshot(doc, write, now);
+
+        if (!wasChunked && doc.getPayloadHash().equals(storedHash)) {
+            Update touch = new Update()
+                    .set("title", doc.getTitle())
+                    .set("titleSource", doc.getTitleSource())
+                    .set("updatedAt", now);
+            if (!Objects.equals(storedTitle, doc.getTitle()) || !Objects.equals(storedTitleSource, doc.getTitleSource())) {
+                touch.inc("version", 1);
+            }
+            // Same condition as appends use, so a concurrent append forces a full write
+            Optional<VoiceSessionDocument> touched =
+                    voiceSessionRepository.updateIfTranscriptLength(write.userId(), write.sessionId(), null, touch);
+            if (touched.isPresent()) {
+                doc.setVersion(touched.get().getVersion());
+                doc.setPayloadWritten(false);
+                return doc;
+            }
+        }
+
+        Update update = new Update()
+                .setOnInsert("createdAt", doc.getCreatedAt())
+                .set("title", doc.getTitle())
+                .set("titleSource", doc.getTitleSource())
+                .set("updatedAt", now)
+                .set("messageCount", doc.getMessageCount())
+                .set("transcriptJson", doc.getTranscriptJson())
+                .set("activeWordsJson", doc.getActiveWordsJson())
+                .set("transcriptChunked", false)
+                .unset("transcriptLength")
+                .set("payloadHash", doc.getPayloadHash());
+        if (doc.getRuntimeContextJson() == null) {
+            update.unset("runtimeContextJson");
+        } else {
+            update.set("runtimeContextJson", doc.getRuntimeContextJson());
+        }
+        VoiceSessionDocument written = voiceSessionRepository
+                .updateVersioned(write.userId(), write.sessionId(), update, true, Set.of("version"))
+                .orElseThrow();
+        if (wasChunked) {
+            transcriptChunkRepository.deleteByUserIdAndSessionIdIn(write.userId(), List.of(write.sessionId()));
+        }
+        doc.setId(written.getId());
+        doc.setVersion(written.getVersion());
+        doc.setPayloadWritten(true);
+        return doc;
+    }
+
+    private void applySnapshot(VoiceSessionDocument doc, VoiceSnapshotWriteBehind.SnapshotWrite write, String now) {
+        String title = write.title();
+        String titleSource = write.titleSource();
         doc.setTitle((title == null || title.isBlank()) ? "Untitled session" : title.trim());
         doc.setTitleSource((titleSource == null || titleSource.isBlank()) ? "auto" : titleSource.trim());
         doc.setUpdatedAt(now);
-        doc.setTranscriptJson(transcriptJson == null ? "[]" : transcriptJson);
-        doc.setActiveWordsJson(activeWordsJson == null ? "[]" : activeWordsJson);
-        doc.setRuntimeContextJson(runtimeContextJson);
+        doc.setTranscriptJson(write.transcriptJson() == null ? "[]" : write.transcriptJson());
+        doc.setActiveWordsJson(write.activeWordsJson() == null ? "[]" : write.activeWordsJson());
+        doc.setRuntimeContextJson(write.runtimeContextJson());
         doc.setMessageCount(estimateMessageCount(doc.getTranscriptJson()));
+        doc.setTranscriptChunked(false);
+        doc.setTranscriptLength(null);
+        doc.setPayloadHash(payloadHash(doc.getTranscriptJson(), doc.getActiveWordsJson(), doc.getRuntimeContextJson()));
+    }
 
-        VoiceSessionDocument saved = voiceSessionRepository.save(doc);
-        pruneOverflowSessions(userId);
-        return saved;
+    /**
+     * SHA-256 over the payload fields (length-prefixed, null distinct from empty).
+     */
+    static String payloadHash(String... payloads) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String payload : payloads) {
+                if (payload == null) {
+                    digest.update((byte) 0);
+                    continue;
+                }
+                byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+                digest.update((byte) 1);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    public Optional<VoiceSessionDocument> updateSessionMeta(
+    /**
+     * Append (or replace the tail of) a session transcript without resending the whole thing.
+     * <p>
+     * messagesJson holds transcript items fromIndex, fromIndex + 1, ...; everything stored at
+     * fromIndex and after is replaced by them. Items are kept in fixed-size chunks
+     * (voice_transcript_chunks), so only the chunks at the tail are written.
+     * A session still holding an inline transcriptJson is moved to chunks on its first append.
+     * <p>
+     * The append takes a short write lease on the session (a concurrent append fails fast),
+     * writes the chunks, and only then commits the new transcriptLength and version:
+     * <ul>
+     *   <li>Appending at the stored length writes past the committed length of the current
+     *       chunk generation; readers are bounded by that length, so they never see the
+     *       unwritten tail</li>
+     *   <li>Replacing items below the stored length (the client sends the first index that
+     *       differs) writes the affected chunks, from the one holding fromIndex on, as the next
+     *       generation. Readers keep using the committed generation until the commit switches
+     *       transcriptGeneration together with the length; the replaced chunks are deleted
+     *       afterwards (a reader that loses that race re-reads the session)</li>
+     * </ul>
+     * Either way a failed chunk write, or a crash before the commit, leaves the committed
+     * transcript untouched; the unused chunks are dropped by the next write.
+     *
+     * @param fromIndex Transcript index of the first item in messagesJson (0..current length)
+     * @param activeWordsJson New active words; null leaves them unchanged
+     * @param runtimeContextJson New runtime context; null leaves it unchanged
+     * @return Session metadata after the append
+     */
+    public VoiceSessionDocument appendMessages(
             String userId,
             String sessionId,
+            int fromIndex,
+            String messagesJson,
             String title,
-            String titleSource
+            String titleSource,
+            String activeWordsJson,
+            String runtimeContextJson
     ) {
-        Optional<VoiceSessionDocument> existing = voiceSessionRepository.findByUserIdAndSessionId(userId, sessionId);
-        if (existing.isEmpty()) {
-            return Optional.empty();
+        snapshotWriteBehind.flush(userId, sessionId);
+        VoiceSessionDocument doc = voiceSessionRepository.findSnapshot(userId, sessionId, META_FIELDS)
+                .orElseThrow(() -> new IllegalArgumentException("Voice session not found: " + sessionId));
+        List<String> newItems = splitItems(messagesJson);
+
+        Integer expectedLength;
+        long storedGeneration = doc.getTranscriptGeneration();
+        long generation;
+        int writeFrom;
+        List<String> toWrite;
+        int messageCount;
+        if (doc.isTranscriptChunked()) {
+            int length = doc.getTranscriptLength() == null ? 0 : doc.getTranscriptLength();
+            requireIndex(fromIndex, length);
+            expectedLength = length;
+            if (fromIndex == length) {
+                generation = storedGeneration;
+                writeFrom = fromIndex;
+                toWrite = newItems;
+                messageCount = doc.getMessageCount() + countMessages(newItems);
+            } else {
+                // New generation from the chunk holding fromIndex: its items before fromIndex are copied
+                int chunkStart = fromIndex - fromIndex % VoiceTranscriptChunk.MAX_ITEMS;
+                List<String> stored = transcriptChunkRepository.findItemRange(
+                        userId, sessionId, storedGeneration, chunkStart, length);
+                if (stored.size() < length - chunkStart) {
+                    throw new IllegalStateException("Voice session transcript changed concurrently; save a full snapshot");
+                }
+                int replacedMessages = countMessages(stored.subList(fromIndex - chunkStart, stored.size()));
+                generation = storedGeneration + 1;
+                writeFrom = chunkStart;
+                toWrite = new ArrayList<>(stored.subList(0, fromIndex - chunkStart));
+                toWrite.addAll(newItems);
+                messageCount = Math.max(0, doc.getMessageCount() - replacedMessages) + countMessages(newItems);
+            }
+        } else {
+            // One-time move of the inline transcript into chunks
+            String inline = voiceSessionRepository.findSnapshot(userId, sessionId, Set.of("transcriptJson"))
+                    .map(VoiceSessionDocument::getTranscriptJson)
+                    .orElse("[]");
+            List<String> existing = splitItems(inline);
+            requireIndex(fromIndex, existing.size());
+            expectedLength = null;
+            // A fresh generation, so chunks left by an earlier chunked life of the session never show
+            generation = storedGeneration + 1;
+            writeFrom = 0;
+            toWrite = new ArrayList<>(existing.subList(0, fromIndex));
+            toWrite.addAll(newItems);
+            messageCount = countMessages(toWrite);
         }
+        int newLength = fromIndex + newItems.size();
 
-        VoiceSessionDocument doc = existing.get();
-        doc.setTitle((title == null || title.isBlank()) ? doc.getTitle() : title.trim());
+        String now = Instant.now().toString();
+        Update update = new Update()
+                .set("transcriptChunked", true)
+                .set("transcriptLength", newLength)
+                .set("transcriptGeneration", generation)
+                .set("messageCount", messageCount)
+                .set("updatedAt", now)
+                .unset("transcriptJson")
+                .unset("payloadHash");
+        if (title != null && !title.isBlank()) {
+            update.set("title", title.trim());
+            doc.setTitle(title.trim());
+        }
         if (titleSource != null && !titleSource.isBlank()) {
+            update.set("titleSource", titleSource.trim());
             doc.setTitleSource(titleSource.trim());
         }
-        doc.setUpdatedAt(Instant.now().toString());
-        return Optional.of(voiceSessionRepository.save(doc));
+        if (activeWordsJson != null) {
+            update.set("activeWordsJson", activeWordsJson);
+        }
+        if (runtimeContextJson != null) {
+            update.set("runtimeContextJson", runtimeContextJson);
+        }
+
+        // Lease first (a concurrent append fails here), chunks next, then the new length
+        String token = UUID.randomUUID().toString();
+        if (!voiceSessionRepository.claimTranscriptWrite(userId, sessionId, expectedLength, token, TRANSCRIPT_WRITE_LEASE_MILLIS)) {
+            throw new IllegalStateException("Voice session transcript changed concurrently; save a full snapshot");
+        }
+        try {
+            if (generation != storedGeneration) {
+                // Whatever an earlier failed write left under this generation must not become visible
+                transcriptChunkRepository.deleteGeneration(userId, sessionId, generation);
+            }
+            transcriptChunkRepository.writeItems(userId, sessionId, generation, writeFrom, toWrite);
+        } catch (RuntimeException e) {
+            voiceSessionRepository.releaseTranscriptWrite(userId, sessionId, token);
+            throw e;
+        }
+        VoiceSessionDocument committed = voiceSessionRepository
+                .commitTranscriptWrite(userId, sessionId, expectedLength, token, update)
+                .orElseThrow(() -> new IllegalStateException("Voice session transcript changed concurrently; save a full snapshot"));
+        doc.setVersion(committed.getVersion());
+
+        if (generation != storedGeneration) {
+            try {
+                transcriptChunkRepository.deleteReplaced(userId, sessionId, generation,
+                        writeFrom / VoiceTranscriptChunk.MAX_ITEMS);
+            } catch (RuntimeException e) {
+                // Harmless: readers never pick a replaced chunk over the committed generation
+                logger.warn("Failed to delete replaced transcript chunks: userId={}, sessionId={}: {}",
+                        userId, sessionId, e.getMessage());
+            }
+        }
+
+        doc.setTranscriptChunked(true);
+        doc.setTranscriptLength(newLength);
+        doc.setTranscriptGeneration(generation);
+        doc.setMessageCount(messageCount);
+        doc.setUpdatedAt(now);
+        return doc;
+    }
+
+    public Optional<VoiceSessionDocument> updateSessionMeta(
+            String userId,
+            String sessionId,
+            String title,
+            String titleSource
+    ) {
+        snapshotWriteBehind.flush(userId, sessionId);
+        Update update = new Update().set("updatedAt", Instant.now().toString());
+        if (title != null && !title.isBlank()) {
+            update.set("title", title.trim());
+        }
+        if (titleSource != null && !titleSource.isBlank()) {
+            update.set("titleSource", titleSource.trim());
+        }
+        return voiceSessionRepository.updateVersioned(userId, sessionId, update, false, META_FIELDS);
     }
 
     public DeleteVoiceSessionsResult deleteSessions(String userId, List<String> sessionIds) {
@@ -140,63 +607,116 @@ public class VoiceSessionService {
             return new DeleteVoiceSessionsResult(0);
         }
 
-        int before = voiceSessionRepository.findByUserIdOrderByUpdatedAtDesc(userId).size();
-        voiceSessionRepository.deleteByUserIdAndSessionIdIn(userId, ids);
-        int after = voiceSessionRepository.findByUserIdOrderByUpdatedAtDesc(userId).size();
+        snapshotWriteBehind.discard(userId, ids);
+        long deleted = voiceSessionRepository.deleteSessions(userId, ids);
+        transcriptChunkRepository.deleteByUserIdAndSessionIdIn(userId, ids);
 
-        Optional<UserVoiceState> stateOpt = userVoiceStateRepository.findByUserId(userId);
-        if (stateOpt.isPresent()) {
-            UserVoiceState state = stateOpt.get();
-            if (state.getActiveSessionId() != null && ids.contains(state.getActiveSessionId())) {
-                state.setActiveSessionId(null);
-                state.setUpdatedAt(Instant.now().toString());
-                userVoiceStateRepository.save(state);
-            }
+        boolean activeDeleted = userVoiceStateRepository.findState(userId, Set.of("activeSessionId"))
+                .map(UserVoiceState::getActiveSessionId)
+                .filter(ids::contains)
+                .isPresent();
+        if (activeDeleted) {
+            Update update = new Update().unset("activeSessionId").set("updatedAt", Instant.now().toString());
+            userVoiceStateRepository.updateVersioned(userId, update, false, Set.of("version"));
         }
 
-        return new DeleteVoiceSessionsResult(Math.max(0, before - after));
+        return new DeleteVoiceSessionsResult((int) deleted);
     }
 
     public String setActiveSession(String userId, String sessionId) {
-        UserVoiceState state = userVoiceStateRepository.findByUserId(userId).orElseGet(UserVoiceState::new);
-        state.setUserId(userId);
-        state.setActiveSessionId(sessionId);
-        state.setUpdatedAt(Instant.now().toString());
-        userVoiceStateRepository.save(state);
-        return state.getActiveSessionId();
+        Update update = new Update().set("updatedAt", Instant.now().toString());
+        if (sessionId == null) {
+            update.unset("activeSessionId");
+        } else {
+            update.set("activeSessionId", sessionId);
+        }
+        userVoiceStateRepository.updateVersioned(userId, update, true, Set.of("version"));
+        return sessionId;
     }
 
     public String loadActiveSession(String userId) {
-        return userVoiceStateRepository.findByUserId(userId)
+        return userVoiceStateRepository.findState(userId, Set.of("activeSessionId"))
                 .map(UserVoiceState::getActiveSessionId)
                 .orElse(null);
     }
 
     public String saveGlobalReviewProgress(String userId, String progressJson) {
-        UserVoiceState state = userVoiceStateRepository.findByUserId(userId).orElseGet(UserVoiceState::new);
-        state.setUserId(userId);
-        state.setGlobalReviewProgressJson(progressJson);
-        state.setUpdatedAt(Instant.now().toString());
-        userVoiceStateRepository.save(state);
-        return state.getGlobalReviewProgressJson();
+        Update update = new Update()
+                .set("globalReviewProgressJson", progressJson)
+                .set("updatedAt", Instant.now().toString());
+        userVoiceStateRepository.updateVersioned(userId, update, true, Set.of("version"));
+        return progressJson;
     }
 
     public String loadGlobalReviewProgress(String userId) {
-        return userVoiceStateRepository.findByUserId(userId)
+        return userVoiceStateRepository.findState(userId, Set.of("globalReviewProgressJson"))
                 .map(UserVoiceState::getGlobalReviewProgressJson)
                 .orElse(null);
     }
 
-    public boolean clearGlobalReviewProgress(String userId) {
-        Optional<UserVoiceState> stateOpt = userVoiceStateRepository.findByUserId(userId);
-        if (stateOpt.isEmpty()) {
-            return true;
+    /**
+     * Review progress plus its version. If ifNoneMatch is still the stored version only the
+     * version is read and the progress JSON is left out.
+     */
+    public GlobalReviewProgressState loadGlobalReviewProgressState(String userId, Long ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Long current = userVoiceStateRepository.findState(userId, Set.of("version"))
+                    .map(UserVoiceState::getVersion)
+                    .orElse(null);
+            if (ifNoneMatch.equals(current)) {
+                return new GlobalReviewProgressState(current, true, null);
+            }
         }
+        return userVoiceStateRepository.findState(userId, Set.of("version", "globalReviewProgressJson"))
+                .map(state -> new GlobalReviewProgressState(state.getVersion(), false, state.getGlobalReviewProgressJson()))
+                .orElseGet(() -> new GlobalReviewProgressState(null, false, null));
+    }
+
+    /**
+     * Apply an RFC 7386 JSON merge patch to the stored review progress: objects merge
+     * recursively, null removes a member, anything else replaces the target.
+     * <p>
+     * The patch is applied to the stored copy and written back only if the version did not
+     * change in between (retried a few times), so concurrent tabs never drop each other's updates.
+     *
+     * @param patchJson Merge patch document
+     * @return Progress after the patch, with its new version
+     */
+    public GlobalReviewProgressState patchGlobalReviewProgress(String userId, String patchJson) {
+        JsonNode patch = readJson(patchJson, "merge patch");
+        for (int attempt = 0; attempt < MAX_PATCH_ATTEMPTS; attempt++) {
+            Optional<UserVoiceState> current =
+                    userVoiceStateRepository.findState(userId, Set.of("version", "globalReviewProgressJson"));
+            String stored = current.map(UserVoiceState::getGlobalReviewProgressJson).orElse(null);
+            JsonNode merged = mergePatch(stored == null ? null : readJson(stored, "stored review progress"), patch);
+
+            String mergedJson = merged == null || merged.isNull() ? null : merged.toString();
+            Update update = new Update().set("updatedAt", Instant.now().toString());
+            if (mergedJson == null) {
+                update.unset("globalReviewProgressJson");
+            } else {
+                update.set("globalReviewProgressJson", mergedJson);
+            }
+
+            Long expectedVersion = current.map(UserVoiceState::getVersion).orElse(null);
+            try {
+                Optional<UserVoiceState> written = userVoiceStateRepository.updateIfVersion(
+                        userId, expectedVersion, update, current.isEmpty(), Set.of("version"));
+                if (written.isPresent()) {
+                    return new GlobalReviewProgressState(written.get().getVersion(), false, mergedJson);
+                }
+            } catch (DuplicateKeyException e) {
+                // another request created the state first: patch on top of it
+            }
+        }
+        throw new IllegalStateException("Review progress kept changing concurrently; retry the patch");
+    }
 
-        UserVoiceState state = stateOpt.get();
-        state.setGlobalReviewProgressJson(null);
-        state.setUpdatedAt(Instant.now().toString());
-        userVoiceStateRepository.save(state);
+    public boolean clearGlobalReviewProgress(String userId) {
+        Update update = new Update()
+                .unset("globalReviewProgressJson")
+                .set("updatedAt", Instant.now().toString());
+        userVoiceStateRepository.updateVersioned(userId, update, false, Set.of("version"));
         return true;
     }
 
@@ -214,13 +734,80 @@ public class VoiceSessionService {
         return count;
     }
 
-    private void pruneOverflowSessions(String userId) {
-        List<VoiceSessionDocument> ordered = voiceSessionRepository.findByUserIdOrderByUpdatedAtDesc(userId);
-        if (ordered.size() <= MAX_SESSIONS_PER_USER) {
-            return;
+    private int countMessages(List<String> items) {
+        int count = 0;
+        for (String item : items) {
+            count += estimateMessageCount(item);
+        }
+        return count;
+    }
+
+    private static void requireIndex(int fromIndex, int length) {
+        if (fromIndex < 0 || fromIndex > length) {
+            throw new IllegalArgumentException(
+                    "fromIndex " + fromIndex + " is outside the stored transcript (length " + length + "); save a full snapshot");
         }
+    }
 
-        List<VoiceSessionDocument> toDelete = new ArrayList<>(ordered.subList(MAX_SESSIONS_PER_USER, ordered.size()));
-        voiceSessionRepository.deleteAll(toDelete);
+    /**
+     * RFC 7386 MergePatch(target, patch). Returns a new tree; target is not modified.
+     */
+    static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonNode> member : patch.properties()) {
+            if (member.getValue().isNull()) {
+                result.remove(member.getKey());
+            } else {
+                result.set(member.getKey(), mergePatch(result.get(member.getKey()), member.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private JsonNode readJson(String json, String what) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid " + what + " JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Split a JSON array into the compact JSON of each element.
+     */
+    private List<String> splitItems(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            JsonNode array = objectMapper.readTree(json);
+            if (!array.isArray()) {
+                throw new IllegalArgumentException("Transcript JSON must be an array");
+            }
+            List<String> items = new ArrayList<>(array.size());
+            for (JsonNode item : array) {
+                items.add(objectMapper.writeValueAsString(item));
+            }
+            return items;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid transcript JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String joinItems(List<String> items) {
+        StringJoiner joined = new StringJoiner(",", "[", "]");
+        items.forEach(joined::add);
+        return joined.toString();
+    }
+
+    private static void requireReadAttempt(int attempt, String sessionId) {
+        if (attempt >= MAX_TRANSCRIPT_READ_ATTEMPTS) {
+            throw new IllegalStateException("Voice session transcript kept changing while reading: " + sessionId);
+        }
     }
 }
@@ -0,0 +1,214 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Per-session write-behind buffer for voice snapshot saves.
+ * <p>
+ * The first save of a session is written straight through and opens a window. Saves that
+ * arrive while the window is open only replace the pending snapshot; when the window closes
+ * the latest one is written (and a new window opens if something was written). Under a steady
+ * stream of saves that is one MongoDB write per session per window.
+ * <ul>
+ *   <li>Bounded staleness: a buffered snapshot reaches MongoDB within one window</li>
+ *   <li>Flush on read: callers flush a session (or a user's sessions) before reading them</li>
+ *   <li>Flush on shutdown: {@link #flushAll()}</li>
+ * </ul>
+ * Writes for one session are serialized on its window's lock, so they can never land out of
+ * order. (A ReentrantLock, not synchronized: the lock is held across a MongoDB write, which
+ * would pin a virtual thread.) A window of 0 disables buffering.
+ */
+class VoiceSnapshotWriteBehind {
+    private static final Logger logger = LoggerFactory.getLogger(VoiceSnapshotWriteBehind.class);
+
+    /**
+     * One buffered saveSessionSnapshot call.
+     */
+    record SnapshotWrite(
+            String userId,
+            String sessionId,
+            String title,
+            String titleSource,
+            String transcriptJson,
+            String activeWordsJson,
+            String runtimeContextJson
+    ) {
+    }
+
+    private static final class Window {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final String userId;
+        private VoiceSessionDocument lastWritten;
+        private SnapshotWrite pending;
+        private boolean closed;
+
+        private Window(String userId, VoiceSessionDocument lastWritten) {
+            this.userId = userId;
+            this.lastWritten = lastWritten;
+        }
+    }
+
+    private final Duration window;
+    private final Function<SnapshotWrite, VoiceSessionDocument> writer;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    VoiceSnapshotWriteBehind(Duration window, Function<SnapshotWrite, VoiceSessionDocument> writer) {
+        this.window = window;
+        this.writer = writer;
+        this.scheduler = isEnabled()
+                ? Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("voice-snapshot-write-behind").daemon().factory())
+                : null;
+    }
+
+    boolean isEnabled() {
+        return !window.isZero() && !window.isNegative();
+    }
+
+    /**
+     * Buffer a save if the session has an open window.
+     *
+     * @return Empty if the caller must write through (then call {@link #opened}),
+     *         otherwise the stored metadata the buffered save will be written on top of
+     */
+    Optional<VoiceSessionDocument> offer(SnapshotWrite write) {
+        Window w = windows.get(key(write.userId(), write.sessionId()));
+        if (w == null) {
+            return Optional.empty();
+        }
+        w.lock.lock();
+        try {
+            if (w.closed) {
+                return Optional.empty();
+            }
+            w.pending = write;
+            return Optional.of(w.lastWritten);
+        } finally {
+            w.lock.unlock();
+        }
+    }
+
+    /**
+     * Open a window after a write-through.
+     */
+    void opened(VoiceSessionDocument written) {
+        String key = key(written.getUserId(), written.getSessionId());
+        if (windows.putIfAbsent(key, new Window(written.getUserId(), written)) == null) {
+            schedule(key);
+        }
+    }
+
+    /**
+     * Write a session's pending snapshot now (before reading or changing it another way).
+     */
+    void flush(String userId, String sessionId) {
+        Window w = windows.get(key(userId, sessionId));
+        if (w != null) {
+            writePending(w);
+        }
+    }
+
+    /**
+     * Unlocked peek: a save racing with it may or may not be seen, like any concurrent write.
+     */
+    boolean hasPending(String userId) {
+        return windows.values().stream().anyMatch(w -> w.userId.equals(userId) && w.pending != null);
+    }
+
+    void flushUser(String userId) {
+        windows.values().stream()
+                .filter(w -> w.userId.equals(userId))
+                .forEach(this::writePending);
+    }
+
+    /**
+     * Drop pending snapshots of sessions that are being deleted.
+     */
+    void discard(String userId, Collection<String> sessionIds) {
+        for (String sessionId : sessionIds) {
+            Window w = windows.remove(key(userId, sessionId));
+            if (w != null) {
+                w.lock.lock();
+                try {
+                    w.closed = true;
+                    w.pending = null;
+                } finally {
+                    w.lock.unlock();
+                }
+            }
+        }
+    }
+
+    void flushAll() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        windows.values().forEach(this::writePending);
+        windows.clear();
+    }
+
+    private void schedule(String key) {
+        scheduler.schedule(() -> close(key), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void close(String key) {
+        Window w = windows.get(key);
+        if (w == null) {
+            return;
+        }
+        w.lock.lock();
+        try {
+            boolean keepOpen;
+            try {
+                keepOpen = writePending(w); // still busy: keep coalescing
+            } catch (RuntimeException e) {
+                logger.error("Write-behind flush failed for session {}, retrying next window: {}",
+                        w.lastWritten.getSessionId(), e.getMessage(), e);
+                keepOpen = true;
+            }
+            if (keepOpen && !w.closed && !scheduler.isShutdown()) {
+                schedule(key);
+            } else if (w.pending == null) {
+                w.closed = true;
+                windows.remove(key, w);
+            }
+        } finally {
+            w.lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if a pending snapshot was written (it stays pending if the write fails)
+     */
+    private boolean writePending(Window w) {
+        w.lock.lock();
+        try {
+            if (w.pending == null) {
+                return false;
+            }
+            w.lastWritten = writer.apply(w.pending);
+            w.pending = null;
+            return true;
+        } finally {
+            w.lock.unlock();
+        }
+    }
+
+    private static String key(String userId, String sessionId) {
+        return userId + '\u0000' + sessionId;
+    }
+}
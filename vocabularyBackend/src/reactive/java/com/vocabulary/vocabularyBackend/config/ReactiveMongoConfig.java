@@ -0,0 +1,15 @@
+package com.vocabulary.vocabularyBackend.config;
+
+import com.vocabulary.vocabularyBackend.repository.reactive.ReactiveVocabularyRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive MongoDB repositories, only compiled into the -Preactive (WebFlux) build.
+ * The blocking repositories stay enabled: mutations and the heavier reads still go
+ * through the existing services.
+ */
+@Configuration
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveVocabularyRepository.class)
+public class ReactiveMongoConfig {
+}
@@ -0,0 +1,23 @@
+package com.vocabulary.vocabularyBackend.controller;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bridge from the reactive controllers to the blocking services.
+ */
+final class BlockingCalls {
+
+    private BlockingCalls() {
+    }
+
+    /**
+     * Run a blocking call on the bounded elastic scheduler, never on an event loop thread.
+     * A null result completes the Mono empty (GraphQL null).
+     */
+    static <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,213 @@
+package com.vocabulary.vocabularyBackend.controller;
+
+import com.vocabulary.vocabularyBackend.dto.VocabularyChanges;
+import com.vocabulary.vocabularyBackend.dto.VocabularyEntryConnection;
+import com.vocabulary.vocabularyBackend.dto.VocabularyEvent;
+import com.vocabulary.vocabularyBackend.dto.VocabularyInput;
+import com.vocabulary.vocabularyBackend.dto.VocabularyOrder;
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import com.vocabulary.vocabularyBackend.repository.reactive.ReactiveVocabularyRepository;
+import com.vocabulary.vocabularyBackend.service.ReviewLoadForecastService;
+import com.vocabulary.vocabularyBackend.service.ReviewLoadForecastService.ReviewLoadForecast;
+import com.vocabulary.vocabularyBackend.service.ReviewService;
+import com.vocabulary.vocabularyBackend.service.ReviewService.CardUpdate;
+import com.vocabulary.vocabularyBackend.service.ReviewService.SaveSessionResult;
+import com.vocabulary.vocabularyBackend.service.VocabularyCache;
+import com.vocabulary.vocabularyBackend.service.VocabularyEventPublisher;
+import com.vocabulary.vocabularyBackend.service.VocabularyQueryService;
+import com.vocabulary.vocabularyBackend.service.VocabularySyncService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GraphQL controller for vocabulary operations on the reactive stack (-Preactive build).
+ * Same schema and results as VocabularyController.
+ * <p>
+ * Deck reads, the due count and the single-document writes use ReactiveVocabularyRepository and
+ * never hold a thread while MongoDB works; vocabularyEntries streams the deck as a Flux instead
+ * of building a List first. Reads here bypass VocabularyCache (every mutation still invalidates it).
+ * Review sessions, paging and delta sync run the existing blocking services on the bounded
+ * elastic scheduler ({@link BlockingCalls}), so their write rules live in one place.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVocabularyController {
+    private final ReactiveVocabularyRepository vocabularyRepository;
+    private final ReviewService reviewService;
+    private final ReviewLoadForecastService reviewLoadForecastService;
+    private final VocabularyQueryService vocabularyQueryService;
+    private final VocabularySyncService vocabularySyncService;
+    private final VocabularyEventPublisher vocabularyEventPublisher;
+    private final VocabularyCache vocabularyCache;
+    private final SelectionProjection selectionProjection;
+
+    public ReactiveVocabularyController(
+        ReactiveVocabularyRepository vocabularyRepository,
+        ReviewService reviewService,
+        ReviewLoadForecastService reviewLoadForecastService,
+        VocabularyQueryService vocabularyQueryService,
+        VocabularySyncService vocabularySyncService,
+        VocabularyEventPublisher vocabularyEventPublisher,
+        VocabularyCache vocabularyCache,
+        SelectionProjection selectionProjection
+    ) {
+        this.vocabularyRepository = vocabularyRepository;
+        this.reviewService = reviewService;
+        this.reviewLoadForecastService = reviewLoadForecastService;
+        this.vocabularyQueryService = vocabularyQueryService;
+        this.vocabularySyncService = vocabularySyncService;
+        this.vocabularyEventPublisher = vocabularyEventPublisher;
+        this.vocabularyCache = vocabularyCache;
+        this.selectionProjection = selectionProjection;
+    }
+
+    @MutationMapping
+    public Mono<VocabularyEntry> saveVocabulary(@Argument VocabularyInput input) {
+        VocabularyEntry entry = new VocabularyEntry(
+                input.getText(),
+                input.getDefinition(),
+                input.getExample(),
+                input.getExampleTrans(),
+                input.getRealLifeDef(),
+                input.getSurroundingText(),
+                input.getVideoTitle(),
+                input.getSourceVideoUrl(),
+                input.getUserId()
+        );
+        // The sync version comes from a findAndModify on the blocking template
+        return stampAndSave(entry)
+                .doOnNext(saved -> afterWrite(VocabularyEvent.Type.SAVED, saved));
+    }
+
+    @QueryMapping
+    public Mono<VocabularyEntry> vocabularyEntry(@Argument String id) {
+        return vocabularyRepository.findById(id);
+    }
+
+    /**
+     * Streams the deck in due date then createdAt order.
+     */
+    @QueryMapping
+    public Flux<VocabularyEntry> vocabularyEntries(@Argument String userId) {
+        return vocabularyRepository.findByUserIdOrderByFsrsCardDueDateAscCreatedAtAsc(userId);
+    }
+
+    @QueryMapping
+    public Mono<VocabularyEntryConnection> vocabularyEntriesConnection(
+        @Argument String userId,
+        @Argument Integer first,
+        @Argument String after,
+        @Argument VocabularyOrder orderBy,
+        DataFetchingFieldSelectionSet selection
+    ) {
+        Set<String> fields = selectionProjection.fieldsFor(
+            selection, VocabularyEntry.class, "edges/node/", "id", "fsrsCard", "createdAt");
+        return BlockingCalls.offload(() -> vocabularyQueryService.connection(userId, first, after, orderBy, fields));
+    }
+
+    @QueryMapping
+    public Mono<VocabularyChanges> vocabularyChanges(
+        @Argument String userId,
+        @Argument Long sinceVersion,
+        DataFetchingFieldSelectionSet selection
+    ) {
+        Set<String> fields = selectionProjection.fieldsFor(selection, VocabularyEntry.class, "upserted/");
+        return BlockingCalls.offload(() -> vocabularySyncService.changesSince(userId, sinceVersion, fields));
+    }
+
+    @MutationMapping
+    public Mono<VocabularyEntry> updateVocabularyDueDate(
+        @Argument String userId,
+        @Argument String vocabularyId,
+        @Argument String dueDate
+    ) {
+        LocalDateTime parsedDueDate = VocabularyController.parseDueDate(dueDate);
+        return vocabularyRepository.findByIdAndUserId(vocabularyId, userId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Vocabulary entry not found for this user")))
+                .flatMap(entry -> {
+                    if (entry.getFsrsCard() == null) {
+                        return Mono.error(new IllegalArgumentException("FSRS card is missing"));
+                    }
+                    entry.getFsrsCard().setDueDate(parsedDueDate);
+                    return stampAndSave(entry);
+                })
+                .doOnNext(saved -> afterWrite(VocabularyEvent.Type.DUE_DATE_UPDATED, saved));
+    }
+
+    @MutationMapping
+    public Mono<Boolean> deleteVocabularyEntry(
+        @Argument String userId,
+        @Argument String vocabularyId
+    ) {
+        return vocabularyRepository.deleteByIdAndUserId(vocabularyId, userId)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.just(false)
+                        : BlockingCalls.offload(() -> {
+                            long version = vocabularySyncService.recordDeletion(userId, vocabularyId);
+                            vocabularyCache.invalidate(userId);
+                            vocabularyEventPublisher.publish(new VocabularyEvent(
+                                VocabularyEvent.Type.DELETED, userId, version, List.of(vocabularyId), null));
+                            return true;
+                        }));
+    }
+
+    @MutationMapping
+    public Mono<List<VocabularyEntry>> startReviewSession(@Argument String userId, @Argument Integer limit) {
+        return BlockingCalls.offload(() -> reviewService.startReviewSession(userId, limit));
+    }
+
+    @QueryMapping
+    public Mono<Integer> dueReviewCount(@Argument String userId) {
+        return vocabularyRepository.countDueCards(userId, LocalDateTime.now())
+                .map(count -> (int) Math.min(Integer.MAX_VALUE, count));
+    }
+
+    @QueryMapping
+    public Mono<ReviewLoadForecast> reviewLoadForecast(@Argument String userId, @Argument int days,
+                                                       @Argument Integer newCards, @Argument Integer dailyLimit) {
+        return BlockingCalls.offload(() -> reviewLoadForecastService.forecast(userId, days, newCards, dailyLimit));
+    }
+
+    @MutationMapping
+    public Mono<SaveSessionResult> saveReviewSession(@Argument String userId, @Argument List<CardUpdate> updates) {
+        return BlockingCalls.offload(() -> reviewService.saveReviewSession(userId, updates));
+    }
+
+    /**
+     * Same event stream as the servlet stack; on WebFlux an idle subscription holds no thread.
+     */
+    @SubscriptionMapping
+    public Flux<VocabularyEvent> vocabularyEvents(@Argument String userId) {
+        return vocabularyEventPublisher.subscribe(userId);
+    }
+
+    /**
+     * Save with the user's next sync version; the reservation is released once the save is done.
+     */
+    private Mono<VocabularyEntry> stampAndSave(VocabularyEntry entry) {
+        return Mono.usingWhen(
+                BlockingCalls.offload(() -> vocabularySyncService.stamp(entry)),
+                reservation -> vocabularyRepository.save(entry),
+                reservation -> BlockingCalls.offload(() -> {
+                    vocabularySyncService.release(reservation);
+                    return reservation;
+                }));
+    }
+
+    private void afterWrite(VocabularyEvent.Type type, VocabularyEntry saved) {
+        vocabularyCache.invalidate(saved.getUserId());
+        vocabularyEventPublisher.publish(VocabularyEvent.ofEntry(type, saved));
+    }
+}
@@ -0,0 +1,191 @@
+package com.vocabulary.vocabularyBackend.controller;
+
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionMessagePage;
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionSummary;
+import com.vocabulary.vocabularyBackend.graphql.SelectionProjection;
+import com.vocabulary.vocabularyBackend.model.UserVoiceState;
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import com.vocabulary.vocabularyBackend.repository.reactive.ReactiveUserVoiceStateRepository;
+import com.vocabulary.vocabularyBackend.repository.reactive.ReactiveVoiceSessionRepository;
+import com.vocabulary.vocabularyBackend.service.VoiceSessionService;
+import com.vocabulary.vocabularyBackend.service.VoiceSessionService.DeleteVoiceSessionsResult;
+import com.vocabulary.vocabularyBackend.service.VoiceSessionService.GlobalReviewProgressState;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GraphQL controller for voice sessions on the reactive stack (-Preactive build).
+ * Same schema and results as VoiceSessionController.
+ * <p>
+ * The session list, active session and review progress are read with the reactive repositories.
+ * Snapshots, transcript pages and every mutation go through VoiceSessionService on the bounded
+ * elastic scheduler: they depend on its write-behind buffer, chunked transcripts and versioning.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVoiceSessionController {
+
+    private final VoiceSessionService voiceSessionService;
+    private final ReactiveVoiceSessionRepository voiceSessionRepository;
+    private final ReactiveUserVoiceStateRepository userVoiceStateRepository;
+    private final SelectionProjection selectionProjection;
+
+    public ReactiveVoiceSessionController(
+            VoiceSessionService voiceSessionService,
+            ReactiveVoiceSessionRepository voiceSessionRepository,
+            ReactiveUserVoiceStateRepository userVoiceStateRepository,
+            SelectionProjection selectionProjection
+    ) {
+        this.voiceSessionService = voiceSessionService;
+        this.voiceSessionRepository = voiceSessionRepository;
+        this.userVoiceStateRepository = userVoiceStateRepository;
+        this.selectionProjection = selectionProjection;
+    }
+
+    /**
+     * Streams the session list (metadata only, newest first). Buffered snapshot saves are
+     * flushed first, as in VoiceSessionService.loadSessions.
+     */
+    @QueryMapping
+    public Flux<VoiceSessionSummary> voiceSessions(@Argument String userId) {
+        Flux<VoiceSessionSummary> sessions = voiceSessionRepository.findByUserIdOrderByUpdatedAtDesc(userId);
+        if (!voiceSessionService.hasPendingSnapshots(userId)) {
+            return sessions;
+        }
+        return BlockingCalls.offload(() -> {
+            voiceSessionService.flushPendingSnapshots(userId);
+            return true;
+        }).thenMany(sessions);
+    }
+
+    @QueryMapping
+    public Mono<VoiceSessionDocument> voiceSessionSnapshot(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument Long ifNoneMatch,
+            DataFetchingFieldSelectionSet selection
+    ) {
+        Set<String> fields = selectionProjection.fieldsFor(selection, VoiceSessionDocument.class, "");
+        return BlockingCalls.offload(() ->
+                voiceSessionService.loadSessionSnapshot(userId, sessionId, fields, ifNoneMatch).orElse(null));
+    }
+
+    @QueryMapping
+    public Mono<VoiceSessionMessagePage> voiceSessionMessages(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument Integer before,
+            @Argument Integer limit
+    ) {
+        return BlockingCalls.offload(() -> voiceSessionService.loadMessages(userId, sessionId, before, limit).orElse(null));
+    }
+
+    @QueryMapping
+    public Mono<String> activeVoiceSession(@Argument String userId) {
+        return userVoiceStateRepository.findByUserId(userId).mapNotNull(UserVoiceState::getActiveSessionId);
+    }
+
+    @QueryMapping
+    public Mono<String> globalReviewProgress(@Argument String userId) {
+        return userVoiceStateRepository.findByUserId(userId).mapNotNull(UserVoiceState::getGlobalReviewProgressJson);
+    }
+
+    @QueryMapping
+    public Mono<GlobalReviewProgressState> globalReviewProgressState(@Argument String userId, @Argument Long ifNoneMatch) {
+        return BlockingCalls.offload(() -> voiceSessionService.loadGlobalReviewProgressState(userId, ifNoneMatch));
+    }
+
+    @MutationMapping
+    public Mono<VoiceSessionDocument> createVoiceSession(@Argument String userId, @Argument String title) {
+        return BlockingCalls.offload(() -> voiceSessionService.createSession(userId, title));
+    }
+
+    @MutationMapping
+    public Mono<VoiceSessionDocument> saveVoiceSessionSnapshot(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument String title,
+            @Argument String titleSource,
+            @Argument String transcriptJson,
+            @Argument String activeWordsJson,
+            @Argument String runtimeContextJson
+    ) {
+        return BlockingCalls.offload(() -> voiceSessionService.saveSessionSnapshot(
+                userId,
+                sessionId,
+                title,
+                titleSource,
+                transcriptJson,
+                activeWordsJson,
+                runtimeContextJson
+        ));
+    }
+
+    @MutationMapping
+    public Mono<VoiceSessionDocument> appendVoiceSessionMessages(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument int fromIndex,
+            @Argument String messagesJson,
+            @Argument String title,
+            @Argument String titleSource,
+            @Argument String activeWordsJson,
+            @Argument String runtimeContextJson
+    ) {
+        return BlockingCalls.offload(() -> voiceSessionService.appendMessages(
+                userId,
+                sessionId,
+                fromIndex,
+                messagesJson,
+                title,
+                titleSource,
+                activeWordsJson,
+                runtimeContextJson
+        ));
+    }
+
+    @MutationMapping
+    public Mono<VoiceSessionDocument> updateVoiceSessionMeta(
+            @Argument String userId,
+            @Argument String sessionId,
+            @Argument String title,
+            @Argument String titleSource
+    ) {
+        return BlockingCalls.offload(() ->
+                voiceSessionService.updateSessionMeta(userId, sessionId, title, titleSource).orElse(null));
+    }
+
+    @MutationMapping
+    public Mono<DeleteVoiceSessionsResult> deleteVoiceSessions(@Argument String userId, @Argument List<String> sessionIds) {
+        return BlockingCalls.offload(() -> voiceSessionService.deleteSessions(userId, sessionIds));
+    }
+
+    @MutationMapping
+    public Mono<String> setActiveVoiceSession(@Argument String userId, @Argument String sessionId) {
+        return BlockingCalls.offload(() -> voiceSessionService.setActiveSession(userId, sessionId));
+    }
+
+    @MutationMapping
+    public Mono<String> saveGlobalReviewProgress(@Argument String userId, @Argument String progressJson) {
+        return BlockingCalls.offload(() -> voiceSessionService.saveGlobalReviewProgress(userId, progressJson));
+    }
+
+    @MutationMapping
+    public Mono<GlobalReviewProgressState> patchGlobalReviewProgress(@Argument String userId, @Argument String patchJson) {
+        return BlockingCalls.offload(() -> voiceSessionService.patchGlobalReviewProgress(userId, patchJson));
+    }
+
+    @MutationMapping
+    public Mono<Boolean> clearGlobalReviewProgress(@Argument String userId) {
+        return BlockingCalls.offload(() -> voiceSessionService.clearGlobalReviewProgress(userId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.vocabulary.vocabularyBackend.repository.reactive;
+
+import com.vocabulary.vocabularyBackend.model.UserVoiceState;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of UserVoiceStateRepository for the -Preactive (WebFlux) build.
+ */
+@Repository
+public interface ReactiveUserVoiceStateRepository extends ReactiveMongoRepository<UserVoiceState, String> {
+
+    Mono<UserVoiceState> findByUserId(String userId);
+}
@@ -0,0 +1,51 @@
+package com.vocabulary.vocabularyBackend.repository.reactive;
+
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of VocabularyRepository for the -Preactive (WebFlux) build.
+ * Only the reads the reactive controllers serve directly; writes go through the blocking services.
+ */
+@Repository
+public interface ReactiveVocabularyRepository extends ReactiveMongoRepository<VocabularyEntry, String> {
+
+    /**
+     * Find all user entries sorted by due date first and createdAt second, streamed as they arrive.
+     * @param userId The user's ID
+     * @return Ordered entries
+     */
+    Flux<VocabularyEntry> findByUserIdOrderByFsrsCardDueDateAscCreatedAtAsc(String userId);
+
+    /**
+     * Find a vocabulary entry by its ID and owner.
+     * @param id vocabulary entry ID
+     * @param userId owner ID
+     * @return The entry, or empty
+     */
+    Mono<VocabularyEntry> findByIdAndUserId(String id, String userId);
+
+    /**
+     * Delete a vocabulary entry by id with owner guard.
+     * @param id vocabulary entry id
+     * @param userId owner id
+     * @return Number of deleted entries (0 or 1)
+     */
+    Mono<Long> deleteByIdAndUserId(String id, String userId);
+
+    /**
+     * Count all cards due for review (the full backlog, not just one session).
+     *
+     * @param userId User ID
+     * @param dueDate Current date/time (cards with dueDate <= this)
+     * @return Number of due cards
+     */
+    @Query(value = "{ 'userId': ?0, 'fsrsCard.dueDate': { $lte: ?1 } }", count = true)
+    Mono<Long> countDueCards(String userId, LocalDateTime dueDate);
+}
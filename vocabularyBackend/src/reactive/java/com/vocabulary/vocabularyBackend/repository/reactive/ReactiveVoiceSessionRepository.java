@@ -0,0 +1,20 @@
+package com.vocabulary.vocabularyBackend.repository.reactive;
+
+import com.vocabulary.vocabularyBackend.dto.VoiceSessionSummary;
+import com.vocabulary.vocabularyBackend.model.VoiceSessionDocument;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive counterpart of VoiceSessionRepository for the -Preactive (WebFlux) build.
+ */
+@Repository
+public interface ReactiveVoiceSessionRepository extends ReactiveMongoRepository<VoiceSessionDocument, String> {
+
+    /**
+     * Session list, newest first. DTO projection: only the VoiceSessionSummary fields are read,
+     * never the transcript, active words or runtime context.
+     */
+    Flux<VoiceSessionSummary> findByUserIdOrderByUpdatedAtDesc(String userId);
+}
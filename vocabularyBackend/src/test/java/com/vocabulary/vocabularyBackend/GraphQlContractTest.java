@@ -0,0 +1,190 @@
+package com.vocabulary.vocabularyBackend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GraphQL contract shared by both stacks: the same operations over HTTP, the same expected results.
+ * <ul>
+ *   <li>./gradlew test: Spring MVC + blocking repositories (VocabularyController, VoiceSessionController)</li>
+ *   <li>./gradlew test -Preactive: WebFlux + reactive repositories (ReactiveVocabularyController,
+ *       ReactiveVoiceSessionController)</li>
+ * </ul>
+ * Each run uses a fresh database. Needs a MongoDB instance:
+ * MONGODB_TEST_URI=mongodb://localhost:27017 ./gradlew test --tests '*GraphQlContractTest' [-Preactive]
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class GraphQlContractTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    private static ConfigurableApplicationContext context;
+    private static URI endpoint;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(Mark1VocabularyBuilderApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=" + System.getenv("MONGODB_TEST_URI"),
+                        "spring.data.mongodb.database=contract_" + UUID.randomUUID().toString().replace("-", ""),
+                        "logging.level.com.vocabulary=WARN")
+                .run();
+        endpoint = URI.create("http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port") + "/graphql");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.getBean(MongoTemplate.class).getDb().drop();
+            context.close();
+        }
+    }
+
+    @Test
+    void vocabularyOperations() throws Exception {
+        String userId = "contract-" + UUID.randomUUID();
+
+        JsonNode saved = execute("""
+                mutation($input: VocabularyInput!) {
+                  saveVocabulary(input: $input) { id text userId fsrsCard { state } }
+                }""", Map.of("input", Map.of(
+                "text", "serendipity", "definition", "a happy accident", "example", "pure serendipity",
+                "exampleTrans", "-", "realLifeDef", "luck", "surroundingText", "it was pure serendipity",
+                "videoTitle", "contract", "userId", userId))).get("saveVocabulary");
+        String id = saved.get("id").asText();
+        assertEquals("serendipity", saved.get("text").asText());
+        assertEquals(userId, saved.get("userId").asText());
+
+        JsonNode entries = execute("query($u: String!) { vocabularyEntries(userId: $u) { id text } }",
+                Map.of("u", userId)).get("vocabularyEntries");
+        assertEquals(1, entries.size());
+        assertEquals(id, entries.get(0).get("id").asText());
+
+        assertEquals("serendipity", execute("query($id: ID!) { vocabularyEntry(id: $id) { text } }",
+                Map.of("id", id)).get("vocabularyEntry").get("text").asText());
+
+        // New cards are due immediately
+        assertEquals(1, execute("query($u: String!) { dueReviewCount(userId: $u) }",
+                Map.of("u", userId)).get("dueReviewCount").asInt());
+
+        JsonNode updated = execute("""
+                mutation($u: String!, $id: ID!) {
+                  updateVocabularyDueDate(userId: $u, vocabularyId: $id, dueDate: "2099-01-01T00:00:00Z") { fsrsCard { dueDate } }
+                }""", Map.of("u", userId, "id", id)).get("updateVocabularyDueDate");
+        assertTrue(updated.get("fsrsCard").get("dueDate").asText().startsWith("2099-01-01"));
+        assertEquals(0, execute("query($u: String!) { dueReviewCount(userId: $u) }",
+                Map.of("u", userId)).get("dueReviewCount").asInt());
+
+        JsonNode changes = execute("query($u: String!) { vocabularyChanges(userId: $u) { fullSync upserted { id } } }",
+                Map.of("u", userId)).get("vocabularyChanges");
+        assertTrue(changes.get("fullSync").asBoolean());
+        assertEquals(id, changes.get("upserted").get(0).get("id").asText());
+
+        String delete = "mutation($u: String!, $id: ID!) { deleteVocabularyEntry(userId: $u, vocabularyId: $id) }";
+        assertTrue(execute(delete, Map.of("u", userId, "id", id)).get("deleteVocabularyEntry").asBoolean());
+        assertFalse(execute(delete, Map.of("u", userId, "id", id)).get("deleteVocabularyEntry").asBoolean());
+        assertTrue(execute("query($id: ID!) { vocabularyEntry(id: $id) { id } }",
+                Map.of("id", id)).get("vocabularyEntry").isNull());
+
+        List<String> errors = errors("""
+                mutation($u: String!) {
+                  updateVocabularyDueDate(userId: $u, vocabularyId: "missing", dueDate: "2099-01-01T00:00:00Z") { id }
+                }""", Map.of("u", userId));
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void voiceSessionOperations() throws Exception {
+        String userId = "contract-" + UUID.randomUUID();
+
+        JsonNode created = execute("mutation($u: String!) { createVoiceSession(userId: $u, title: \"First\") { sessionId version } }",
+                Map.of("u", userId)).get("createVoiceSession");
+        String sessionId = created.get("sessionId").asText();
+
+        String transcript = "[{\"type\":\"MESSAGE\",\"role\":\"user\",\"text\":\"hello\"},"
+                + "{\"type\":\"MESSAGE\",\"role\":\"assistant\",\"text\":\"hi\"}]";
+        execute("""
+                mutation($u: String!, $s: ID!, $t: String!) {
+                  saveVoiceSessionSnapshot(userId: $u, sessionId: $s, title: "First", transcriptJson: $t, activeWordsJson: "[]") { sessionId }
+                }""", Map.of("u", userId, "s", sessionId, "t", transcript));
+
+        JsonNode sessions = execute("query($u: String!) { voiceSessions(userId: $u) { sessionId title messageCount } }",
+                Map.of("u", userId)).get("voiceSessions");
+        assertEquals(1, sessions.size());
+        assertEquals(sessionId, sessions.get(0).get("sessionId").asText());
+        assertEquals(2, sessions.get(0).get("messageCount").asInt());
+
+        JsonNode snapshot = execute("query($u: String!, $s: ID!) { voiceSessionSnapshot(userId: $u, sessionId: $s) { transcriptJson version } }",
+                Map.of("u", userId, "s", sessionId)).get("voiceSessionSnapshot");
+        assertEquals(transcript, snapshot.get("transcriptJson").asText());
+        JsonNode notModified = execute("""
+                query($u: String!, $s: ID!, $v: Int) {
+                  voiceSessionSnapshot(userId: $u, sessionId: $s, ifNoneMatch: $v) { notModified transcriptJson }
+                }""", Map.of("u", userId, "s", sessionId, "v", snapshot.get("version").asLong())).get("voiceSessionSnapshot");
+        assertTrue(notModified.get("notModified").asBoolean());
+        assertTrue(notModified.get("transcriptJson").isNull());
+
+        assertEquals(sessionId, execute("query($u: String!) { activeVoiceSession(userId: $u) }",
+                Map.of("u", userId)).get("activeVoiceSession").asText());
+
+        execute("mutation($u: String!) { saveGlobalReviewProgress(userId: $u, progressJson: \"{\\\"a\\\":1}\") }", Map.of("u", userId));
+        execute("mutation($u: String!) { patchGlobalReviewProgress(userId: $u, patchJson: \"{\\\"b\\\":2}\") { version } }", Map.of("u", userId));
+        JsonNode progress = objectMapper.readTree(execute("query($u: String!) { globalReviewProgress(userId: $u) }",
+                Map.of("u", userId)).get("globalReviewProgress").asText());
+        assertEquals(1, progress.get("a").asInt());
+        assertEquals(2, progress.get("b").asInt());
+
+        assertEquals(1, execute("mutation($u: String!, $s: [ID!]!) { deleteVoiceSessions(userId: $u, sessionIds: $s) { deletedCount } }",
+                Map.of("u", userId, "s", List.of(sessionId))).get("deleteVoiceSessions").get("deletedCount").asInt());
+        assertEquals(0, execute("query($u: String!) { voiceSessions(userId: $u) { sessionId } }",
+                Map.of("u", userId)).get("voiceSessions").size());
+        assertTrue(execute("query($u: String!) { activeVoiceSession(userId: $u) }",
+                Map.of("u", userId)).get("activeVoiceSession").isNull());
+    }
+
+    /**
+     * Run an operation that must succeed and return its data.
+     */
+    private static JsonNode execute(String query, Map<String, Object> variables) throws Exception {
+        JsonNode response = post(query, variables);
+        assertFalse(response.has("errors"), () -> "GraphQL errors: " + response.get("errors"));
+        return response.get("data");
+    }
+
+    private static List<String> errors(String query, Map<String, Object> variables) throws Exception {
+        List<String> messages = new ArrayList<>();
+        post(query, variables).path("errors").forEach(error -> messages.add(error.path("message").asText()));
+        return messages;
+    }
+
+    private static JsonNode post(String query, Map<String, Object> variables) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(Map.of("query", query, "variables", variables))))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
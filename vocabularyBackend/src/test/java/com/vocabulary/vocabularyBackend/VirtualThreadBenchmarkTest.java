@@ -0,0 +1,218 @@
+package com.vocabulary.vocabularyBackend;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput / latency comparison of the default (platform thread) mode and virtual-thread
+ * mode (spring.threads.virtual.enabled=true).
+ * <p>
+ * The application is started once per mode and loaded with CONCURRENCY concurrent clients:
+ * <ul>
+ *   <li>rest-fsrs: POST /api/fsrs/review with app.fsrs.engine=http against a stub FSRS service
+ *       that answers after FSRS_DELAY (Tomcat thread blocked on outbound HTTP)</li>
+ *   <li>graphql: the dueReviewCount query (GraphQL controller method + MongoDB read)</li>
+ * </ul>
+ * Prints throughput, p50/p99 latency and the number of pinned virtual threads per mode; only
+ * errors fail the test, the numbers are for comparison.
+ * <p>
+ * Needs a MongoDB instance (reads only, indexes are not created):
+ * MONGODB_TEST_URI=mongodb://localhost:27017 RUN_BENCHMARKS=true ./gradlew test --tests '*VirtualThreadBenchmarkTest'
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class VirtualThreadBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int WARMUP_REQUESTS = 200;
+    private static final Duration FSRS_DELAY = Duration.ofMillis(50);
+
+    private static final String FSRS_RESPONSE = """
+            {"difficulty":5.0,"stability":3.0,"due":"2025-01-20T00:00:00+00:00","state":"Review",\
+            "last_review":"2025-01-17T00:00:00+00:00","step":null}""";
+    private static final String REVIEW_REQUEST = """
+            {"card":{"state":"Learning","step":0},"rating":3,"review_time":"2025-01-17T00:00:00Z"}""";
+    private static final String DUE_COUNT_QUERY = """
+            {"query":"query($u:String!){dueReviewCount(userId:$u)}","variables":{"u":"%s"}}""";
+
+    private static HttpServer fsrsStub;
+    private static ExecutorService clientThreads;
+    private static HttpClient client;
+
+    private record Result(String mode, String workload, double throughput, double p50Ms, double p99Ms, int errors, long pinned) {
+    }
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        fsrsStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        fsrsStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        fsrsStub.createContext("/review", exchange -> {
+            try {
+                Thread.sleep(FSRS_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = FSRS_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        fsrsStub.start();
+
+        clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (fsrsStub != null) {
+            fsrsStub.stop(0);
+        }
+        if (clientThreads != null) {
+            clientThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+                HttpRequest review = HttpRequest.newBuilder(URI.create(base + "/api/fsrs/review"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(REVIEW_REQUEST))
+                        .build();
+
+                run(n -> review, WARMUP_REQUESTS);
+                results.add(measure(context, mode, "rest-fsrs", n -> review));
+
+                results.add(measure(context, mode, "graphql", n -> HttpRequest.newBuilder(URI.create(base + "/graphql"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(DUE_COUNT_QUERY.formatted("vt-bench-" + (n % 50))))
+                        .build()));
+            }
+        }
+
+        StringBuilder table = new StringBuilder(String.format("%-9s %-10s %12s %9s %9s %7s %7s",
+                "mode", "workload", "req/s", "p50 ms", "p99 ms", "errors", "pinned"));
+        for (Result r : results) {
+            table.append(String.format("%n%-9s %-10s %12.1f %9.1f %9.1f %7d %7d",
+                    r.mode(), r.workload(), r.throughput(), r.p50Ms(), r.p99Ms(), r.errors(), r.pinned()));
+        }
+        logger.info("Virtual thread benchmark:\n{}", table);
+        for (Result r : results) {
+            assertEquals(0, r.errors(), r.mode() + "/" + r.workload() + " had failed requests");
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(Mark1VocabularyBuilderApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.data.mongodb.uri=" + System.getenv("MONGODB_TEST_URI"),
+                        "spring.data.mongodb.database=vt_bench_" + UUID.randomUUID().toString().replace("-", ""),
+                        "app.mongo.ensure-indexes=false",
+                        "app.fsrs.engine=http",
+                        "app.fsrs.base-url=http://127.0.0.1:" + fsrsStub.getAddress().getPort(),
+                        "logging.level.com.vocabulary=WARN")
+                .run();
+    }
+
+    private interface RequestFactory {
+        HttpRequest create(int n);
+    }
+
+    private static Result measure(ConfigurableApplicationContext context, String mode, String workload, RequestFactory requests)
+            throws InterruptedException {
+        long pinnedBefore = pinnedCount(context);
+        long started = System.nanoTime();
+        long[] latencies = run(requests, CONCURRENCY * REQUESTS_PER_CLIENT);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] ok = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+        int errors = latencies.length - ok.length;
+        return new Result(mode, workload, ok.length / seconds,
+                percentileMs(ok, 0.50), percentileMs(ok, 0.99), errors, pinnedCount(context) - pinnedBefore);
+    }
+
+    /**
+     * Send total requests from CONCURRENCY virtual-thread clients.
+     *
+     * @return Latency of each request in nanoseconds, -1 for a failed one
+     */
+    private static long[] run(RequestFactory requests, int total) throws InterruptedException {
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        List<Thread> clients = new ArrayList<>(CONCURRENCY);
+        for (int c = 0; c < CONCURRENCY; c++) {
+            clients.add(Thread.ofVirtual().start(() -> {
+                int n;
+                while ((n = next.getAndIncrement()) < total) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(requests.create(n), HttpResponse.BodyHandlers.ofString());
+                        boolean failed = response.statusCode() != 200 || response.body().contains("\"errors\"");
+                        latencies[n] = failed ? -1 : System.nanoTime() - start;
+                    } catch (Exception e) {
+                        latencies[n] = -1;
+                    }
+                }
+            }));
+        }
+        for (Thread t : clients) {
+            t.join();
+        }
+        return latencies;
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static long pinnedCount(ConfigurableApplicationContext context) {
+        Timer pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+        return pinned == null ? 0 : pinned.count();
+    }
+}
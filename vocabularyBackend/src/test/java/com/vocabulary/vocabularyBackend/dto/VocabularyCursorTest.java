@@ -0,0 +1,85 @@
+package com.vocabulary.vocabularyBackend.dto;
+
+import com.vocabulary.vocabularyBackend.model.FSRSCard;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opaque cursor encoding used by vocabularyEntriesConnection.
+ */
+class VocabularyCursorTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_000_000);
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 12, 24, 18, 0);
+
+    @Test
+    void roundTripsEveryField() {
+        VocabularyCursor cursor = VocabularyCursor.decode(
+                new VocabularyCursor(VocabularyOrder.DUE_DATE_ASC, DUE, CREATED, "65f0c0ffee").encode(),
+                VocabularyOrder.DUE_DATE_ASC);
+
+        assertEquals(VocabularyOrder.DUE_DATE_ASC, cursor.getOrder());
+        assertEquals(DUE, cursor.getDueDate());
+        assertEquals(CREATED, cursor.getCreatedAt());
+        assertEquals("65f0c0ffee", cursor.getId());
+    }
+
+    @Test
+    void roundTripsMissingDates() {
+        VocabularyCursor cursor = VocabularyCursor.decode(
+                new VocabularyCursor(VocabularyOrder.DUE_DATE_ASC, null, null, "id-1").encode(),
+                VocabularyOrder.DUE_DATE_ASC);
+
+        assertNull(cursor.getDueDate());
+        assertNull(cursor.getCreatedAt());
+        assertEquals("id-1", cursor.getId());
+    }
+
+    @Test
+    void afterKeepsTheDueDateOnlyForDueDateOrder() {
+        VocabularyEntry entry = new VocabularyEntry();
+        entry.setId("id-2");
+        entry.setCreatedAt(CREATED);
+        entry.setFsrsCard(new FSRSCard(null, null, DUE, null, null, 0));
+
+        assertEquals(DUE, VocabularyCursor.after(entry, VocabularyOrder.DUE_DATE_ASC).getDueDate());
+        VocabularyCursor byCreated = VocabularyCursor.after(entry, VocabularyOrder.CREATED_AT_DESC);
+        assertNull(byCreated.getDueDate());
+        assertEquals(CREATED, byCreated.getCreatedAt());
+        assertEquals("id-2", byCreated.getId());
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+        String encoded = new VocabularyCursor(VocabularyOrder.CREATED_AT_DESC, null, CREATED, "id?/+").encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void rejectsCursorOfAnotherOrder() {
+        String encoded = new VocabularyCursor(VocabularyOrder.CREATED_AT_DESC, null, CREATED, "id-1").encode();
+        assertThrows(IllegalArgumentException.class,
+                () -> VocabularyCursor.decode(encoded, VocabularyOrder.DUE_DATE_ASC));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String raw : new String[]{
+                "v2|DUE_DATE_ASC|||id",
+                "v1|DUE_DATE_ASC||id",
+                "v1|NEWEST_FIRST|||id",
+                "v1|DUE_DATE_ASC|tomorrow||id"}) {
+            String encoded = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThrows(IllegalArgumentException.class,
+                    () -> VocabularyCursor.decode(encoded, VocabularyOrder.DUE_DATE_ASC), raw);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> VocabularyCursor.decode("not base64!", VocabularyOrder.DUE_DATE_ASC));
+    }
+}
@@ -0,0 +1,127 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import com.vocabulary.vocabularyBackend.dto.FSRSReviewRequest;
+import com.vocabulary.vocabularyBackend.service.FSRSClient;
+import com.vocabulary.vocabularyBackend.service.FSRSResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays recorded card/rating pairs through the native engine and checks that it produces
+ * the same schedule as the Python service.
+ * <p>
+ * review-pairs.json holds each pair's expected output (due, stability, difficulty, state,
+ * step) from the service's review_one() with fuzzing off; re-record it with
+ * fsrs-service/record_review_pairs.py after upgrading py-fsrs.
+ * <p>
+ * The live comparison needs a running fsrs-service, e.g.:
+ * FSRS_BASE_URL=http://localhost:6060 ./gradlew test --tests '*FSRSDifferentialTest'
+ * <p>
+ * The service's Scheduler() fuzzes review intervals, so for fuzzed intervals the Python due
+ * date only has to fall inside the fuzz range of the native (unfuzzed) interval.
+ */
+class FSRSDifferentialTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final FSRSParameters parameters = FSRSParameters.defaults();
+    private final Scheduler nativeEngine = new NativeFSRSScheduler(parameters, false);
+
+    record ReviewPair(FSRSCardDTO card, Integer rating, @JsonProperty("review_time") String reviewTime,
+                      FSRSCardDTO expected) {
+    }
+
+    record Fixture(@JsonProperty("recorded_with") String recordedWith, List<ReviewPair> pairs) {
+    }
+
+    @Test
+    void nativeEngineMatchesRecordedPythonOutputs() throws Exception {
+        List<ReviewPair> pairs = loadPairs();
+        assertFalse(pairs.isEmpty());
+
+        for (int i = 0; i < pairs.size(); i++) {
+            ReviewPair pair = pairs.get(i);
+            String label = label(i, pair);
+            assertNotNull(pair.expected(), label + " has no recorded output");
+
+            FSRSCardDTO actual = nativeEngine.reviewCard(pair.card(), pair.rating(), pair.reviewTime());
+
+            assertSameMemoryState(pair.expected(), actual, label);
+            assertEquals(NativeFSRSScheduler.parseUtc(pair.expected().getDue()),
+                    NativeFSRSScheduler.parseUtc(actual.getDue()), label + " due");
+        }
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "FSRS_BASE_URL", matches = ".+")
+    void nativeEngineMatchesPythonService() throws Exception {
+        Scheduler pythonEngine = new FSRSClient(HttpClient.newHttpClient(), new ObjectMapper(),
+                new FSRSResilience(new SimpleMeterRegistry(), 4, 64, 20, 10, 0.5, Duration.ofSeconds(10), 3,
+                        3, Duration.ofMillis(100), Duration.ofSeconds(1), false, Duration.ofMillis(20), 20),
+                System.getenv("FSRS_BASE_URL"), Duration.ofSeconds(5), 100);
+
+        List<ReviewPair> pairs = loadPairs();
+        assertFalse(pairs.isEmpty());
+
+        for (int i = 0; i < pairs.size(); i++) {
+            ReviewPair pair = pairs.get(i);
+            String label = label(i, pair);
+
+            FSRSCardDTO expected = pythonEngine.reviewCard(pair.card(), pair.rating(), pair.reviewTime());
+            FSRSCardDTO actual = nativeEngine.reviewCard(pair.card(), pair.rating(), pair.reviewTime());
+
+            assertSameMemoryState(expected, actual, label);
+
+            Instant reviewedAt = NativeFSRSScheduler.parseUtc(pair.reviewTime());
+            Instant expectedDue = NativeFSRSScheduler.parseUtc(expected.getDue());
+            Instant actualDue = NativeFSRSScheduler.parseUtc(actual.getDue());
+            long actualDays = Duration.between(reviewedAt, actualDue).toDays();
+
+            if ("REVIEW".equalsIgnoreCase(actual.getState()) && actualDays >= 3) {
+                int[] range = parameters.fuzzRange((int) actualDays);
+                long expectedDays = Duration.between(reviewedAt, expectedDue).toDays();
+                assertTrue(expectedDays >= range[0] && expectedDays <= range[1],
+                        label + " python interval " + expectedDays + " outside native fuzz range "
+                                + range[0] + ".." + range[1]);
+            } else {
+                long driftMillis = Math.abs(Duration.between(expectedDue, actualDue).toMillis());
+                assertTrue(driftMillis <= 1000, label + " due drift " + driftMillis + "ms");
+            }
+        }
+    }
+
+    private static List<ReviewPair> loadPairs() throws Exception {
+        try (InputStream in = FSRSDifferentialTest.class.getResourceAsStream("/fsrs/review-pairs.json")) {
+            return new ObjectMapper().readValue(in, Fixture.class).pairs();
+        }
+    }
+
+    private static String label(int index, ReviewPair pair) {
+        return "pair #" + index + " (state=" + pair.card().getState() + ", rating=" + pair.rating() + ")";
+    }
+
+    private static void assertSameMemoryState(FSRSCardDTO expected, FSRSCardDTO actual, String label) {
+        assertEquals(expected.getState().toUpperCase(), actual.getState().toUpperCase(), label + " state");
+        assertEquals(expected.getStep(), actual.getStep(), label + " step");
+        assertClose(expected.getStability(), actual.getStability(), label + " stability");
+        assertClose(expected.getDifficulty(), actual.getDifficulty(), label + " difficulty");
+    }
+
+    private static void assertClose(Double expected, Double actual, String label) {
+        assertNotNull(expected, label);
+        assertNotNull(actual, label);
+        assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), label);
+    }
+}
@@ -0,0 +1,88 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRSOptimizerTest {
+
+    private static final double[] W = FSRSParameters.DEFAULT_WEIGHTS;
+
+    @Test
+    void lossMatchesHandComputedReplay() {
+        FSRSParameters p = FSRSParameters.defaults();
+        ReviewHistory history = ReviewHistory.builder()
+                .first(3)
+                .next(0, 3)   // same day: short-term update, not scored
+                .next(5, 1)   // forgotten after 5 days
+                .resume(10.0, 5.0, 7, 3)
+                .build();
+        assertEquals(2, history.lossTerms());
+
+        double s = p.shortTermStability(p.initialStability(3), 3);
+        double forgotten = Math.log(1 - p.retrievability(5, s));
+        double recalled = Math.log(p.retrievability(7, 10.0));
+
+        FSRSOptimizer optimizer = new FSRSOptimizer(p, 0, 0.04, 0);
+        assertEquals(-(forgotten + recalled) / 2, optimizer.logLoss(history, W), 1e-9);
+    }
+
+    @Test
+    void fitRecoversMostOfTheGapToTheTrueWeights() {
+        // A learner who forgets faster than the defaults assume
+        double[] truth = W.clone();
+        truth[8] = 1.2;
+        truth[10] = 0.6;
+        truth[11] = 2.4;
+        ReviewHistory history = simulate(new FSRSParameters(truth, 0.9, 36500), 400, 8, 7);
+
+        FSRSOptimizer optimizer = new FSRSOptimizer(FSRSParameters.defaults(), 60, 0.04, 1.0);
+        FSRSOptimizer.Result result = optimizer.fit(history, W);
+
+        double defaultLoss = optimizer.logLoss(history, W);
+        double trueLoss = optimizer.logLoss(history, truth);
+        double fittedLoss = optimizer.logLoss(history, result.weights());
+        assertTrue(result.loss() <= result.initialLoss());
+        assertTrue(fittedLoss < defaultLoss, "fitted " + fittedLoss + " vs default " + defaultLoss);
+        assertTrue(defaultLoss - fittedLoss > 0.5 * (defaultLoss - trueLoss),
+                "fitted " + fittedLoss + ", default " + defaultLoss + ", true " + trueLoss);
+        for (int i = 0; i < W.length; i++) {
+            assertTrue(result.weights()[i] >= FSRSOptimizer.LOWER_BOUNDS[i]
+                    && result.weights()[i] <= FSRSOptimizer.UPPER_BOUNDS[i], "w" + i + " out of bounds");
+        }
+    }
+
+    @Test
+    void emptyHistoryCannotBeFitted() {
+        FSRSOptimizer optimizer = new FSRSOptimizer(FSRSParameters.defaults(), 10, 0.04, 1.0);
+        ReviewHistory history = ReviewHistory.builder().first(3).next(0, 3).build();
+
+        assertTrue(Double.isNaN(optimizer.logLoss(history, W)));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.fit(history, W));
+    }
+
+    /**
+     * Cards reviewed around their scheduled interval, recalled with the model's probability.
+     */
+    private static ReviewHistory simulate(FSRSParameters truth, int cards, int reviewsPerCard, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ReviewHistory.Builder builder = ReviewHistory.builder();
+        for (int c = 0; c < cards; c++) {
+            int rating = 1 + random.nextInt(4);
+            builder.first(rating);
+            double s = truth.initialStability(rating);
+            double d = truth.initialDifficulty(rating);
+            for (int r = 1; r < reviewsPerCard; r++) {
+                int elapsed = Math.max(1, (int) Math.round(truth.nextIntervalDays(s) * (0.5 + random.nextDouble())));
+                double retrievability = truth.retrievability(elapsed, s);
+                rating = random.nextDouble() < retrievability ? 2 + random.nextInt(3) : 1;
+                builder.next(elapsed, rating);
+                s = truth.nextStability(d, s, retrievability, rating);
+                d = truth.nextDifficulty(d, rating);
+            }
+        }
+        return builder.build();
+    }
+}
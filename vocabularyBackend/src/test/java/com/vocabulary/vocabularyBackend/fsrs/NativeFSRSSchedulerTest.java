@@ -0,0 +1,113 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeFSRSSchedulerTest {
+
+    private static final String REVIEW_TIME = "2025-01-18T10:00:00Z";
+    private static final double[] W = FSRSParameters.DEFAULT_WEIGHTS;
+
+    private final NativeFSRSScheduler scheduler = new NativeFSRSScheduler(FSRSParameters.defaults(), false);
+
+    @Test
+    void newCardGoodMovesToSecondLearningStep() {
+        FSRSCardDTO result = scheduler.reviewCard(newCard(), 3, REVIEW_TIME);
+
+        assertEquals("Learning", result.getState());
+        assertEquals(1, result.getStep());
+        assertEquals(W[2], result.getStability(), 1e-12);
+        assertEquals(W[4] - Math.exp(W[5] * 2) + 1, result.getDifficulty(), 1e-12);
+        assertEquals("2025-01-18T10:10:00+00:00", result.getDue());
+        assertEquals("2025-01-18T10:00:00+00:00", result.getLastReview());
+    }
+
+    @Test
+    void newCardHardUsesMidpointOfFirstTwoSteps() {
+        FSRSCardDTO result = scheduler.reviewCard(newCard(), 2, REVIEW_TIME);
+
+        assertEquals("Learning", result.getState());
+        assertEquals(0, result.getStep());
+        assertEquals("2025-01-18T10:05:30+00:00", result.getDue());
+    }
+
+    @Test
+    void newCardEasyGraduatesWithStabilityAsInterval() {
+        FSRSCardDTO result = scheduler.reviewCard(newCard(), 4, REVIEW_TIME);
+
+        assertEquals("Review", result.getState());
+        assertNull(result.getStep());
+        // At 90% desired retention the interval equals the stability, rounded to whole days
+        assertEquals(Math.round(W[3]), daysUntilDue(result));
+    }
+
+    @Test
+    void forgottenReviewCardEntersRelearning() {
+        FSRSCardDTO card = new FSRSCardDTO(5.0, 20.0, "2025-01-10T10:00:00Z", "REVIEW", "2024-12-20T10:00:00Z", 0);
+
+        FSRSCardDTO result = scheduler.reviewCard(card, 1, REVIEW_TIME);
+
+        assertEquals("Relearning", result.getState());
+        assertEquals(0, result.getStep());
+        assertTrue(result.getStability() < 20.0);
+        assertTrue(result.getDifficulty() > 5.0);
+        assertEquals("2025-01-18T10:10:00+00:00", result.getDue());
+    }
+
+    @Test
+    void recalledReviewCardGrowsStability() {
+        FSRSCardDTO card = new FSRSCardDTO(5.0, 20.0, "2025-01-10T10:00:00Z", "REVIEW", "2024-12-20T10:00:00Z", 0);
+
+        FSRSCardDTO hard = scheduler.reviewCard(card, 2, REVIEW_TIME);
+        FSRSCardDTO good = scheduler.reviewCard(card, 3, REVIEW_TIME);
+        FSRSCardDTO easy = scheduler.reviewCard(card, 4, REVIEW_TIME);
+
+        assertEquals("Review", good.getState());
+        assertTrue(hard.getStability() > 20.0);
+        assertTrue(good.getStability() > hard.getStability());
+        assertTrue(easy.getStability() > good.getStability());
+        assertTrue(daysUntilDue(good) >= 20);
+    }
+
+    @Test
+    void fuzzStaysInsideFuzzRange() {
+        NativeFSRSScheduler fuzzed = new NativeFSRSScheduler(FSRSParameters.defaults(), true, () -> new Random(42));
+        FSRSCardDTO card = new FSRSCardDTO(5.0, 30.0, "2025-01-10T10:00:00Z", "REVIEW", "2024-12-10T10:00:00Z", 0);
+
+        long unfuzzed = daysUntilDue(scheduler.reviewCard(card, 3, REVIEW_TIME));
+        int[] range = FSRSParameters.defaults().fuzzRange((int) unfuzzed);
+
+        for (int i = 0; i < 50; i++) {
+            long days = daysUntilDue(fuzzed.reviewCard(card, 3, REVIEW_TIME));
+            assertTrue(days >= range[0] && days <= range[1], "fuzzed interval " + days + " outside " + range[0] + ".." + range[1]);
+        }
+    }
+
+    @Test
+    void naiveTimestampsAreTreatedAsUtc() {
+        FSRSCardDTO result = scheduler.reviewCard(newCard(), 1, "2025-01-18T10:00:00");
+
+        assertEquals("2025-01-18T10:01:00+00:00", result.getDue());
+    }
+
+    @Test
+    void rejectsRatingOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> scheduler.reviewCard(newCard(), 5, REVIEW_TIME));
+    }
+
+    private static FSRSCardDTO newCard() {
+        return new FSRSCardDTO(null, null, REVIEW_TIME, "LEARNING", null, 0);
+    }
+
+    private static long daysUntilDue(FSRSCardDTO card) {
+        Instant due = NativeFSRSScheduler.parseUtc(card.getDue());
+        Instant reviewed = NativeFSRSScheduler.parseUtc(card.getLastReview());
+        return Duration.between(reviewed, due).toDays();
+    }
+}
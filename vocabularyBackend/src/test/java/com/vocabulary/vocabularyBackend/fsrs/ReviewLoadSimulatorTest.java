@@ -0,0 +1,85 @@
+package com.vocabulary.vocabularyBackend.fsrs;
+
+import com.vocabulary.vocabularyBackend.model.FSRSState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewLoadSimulatorTest {
+
+    private static final long TODAY = 20_000;
+    private static final double[] PERCENTILES = {0.1, 0.5, 0.9};
+
+    private final ReviewLoadSimulator simulator = new ReviewLoadSimulator(FSRSParameters.defaults(), true);
+
+    @Test
+    void sameSeedGivesTheSameForecast() {
+        DeckColumns deck = deck(500, 1);
+        ReviewLoadSimulator.Scenario scenario = new ReviewLoadSimulator.Scenario(30, 200, 20, 0);
+
+        ReviewLoadSimulator.Forecast a = simulator.simulate(deck, TODAY, scenario, PERCENTILES, 7);
+        ReviewLoadSimulator.Forecast b = simulator.simulate(deck, TODAY, scenario, PERCENTILES, 7);
+
+        assertArrayEquals(a.mean(), b.mean());
+        assertTrue(Arrays.deepEquals(a.values(), b.values()));
+        for (int day = 0; day < 30; day++) {
+            assertTrue(a.values()[0][day] <= a.values()[1][day] && a.values()[1][day] <= a.values()[2][day]);
+        }
+    }
+
+    @Test
+    void poolGivesTheSameForecastAsSequential() {
+        DeckColumns deck = deck(500, 2);
+        ReviewLoadSimulator.Scenario scenario = new ReviewLoadSimulator.Scenario(20, 300, 0, 40);
+
+        ExecutorService pool = new ForkJoinPool(4);
+        try {
+            ReviewLoadSimulator.Forecast pooled = simulator.simulate(deck, TODAY, scenario, PERCENTILES, 3, pool);
+            ReviewLoadSimulator.Forecast sequential = simulator.simulate(deck, TODAY, scenario, PERCENTILES, 3, null);
+
+            assertArrayEquals(sequential.mean(), pooled.mean());
+            assertTrue(Arrays.deepEquals(sequential.values(), pooled.values()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void newCardsAreAllReviewedToday() {
+        DeckColumns empty = DeckColumns.builder(0).build();
+
+        ReviewLoadSimulator.Forecast forecast = simulator.simulate(empty, TODAY,
+                new ReviewLoadSimulator.Scenario(10, 100, 100, 0), PERCENTILES, 1);
+        assertEquals(100.0, forecast.mean()[0]);
+        assertEquals(100, forecast.values()[0][0]);
+
+        ReviewLoadSimulator.Forecast capped = simulator.simulate(empty, TODAY,
+                new ReviewLoadSimulator.Scenario(10, 100, 100, 30), PERCENTILES, 1);
+        assertEquals(30.0, capped.mean()[0]);
+        assertEquals(30.0, capped.mean()[1]);
+    }
+
+    /**
+     * A mix of new cards, overdue cards and cards due over the next months.
+     */
+    private static DeckColumns deck(int cards, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        DeckColumns.Builder builder = DeckColumns.builder(cards);
+        for (int c = 0; c < cards; c++) {
+            if (random.nextInt(10) == 0) {
+                builder.addNew(TODAY);
+                continue;
+            }
+            double stability = 0.5 + random.nextDouble() * 120;
+            long lastReview = TODAY - random.nextInt(60);
+            long due = lastReview + Math.max(1, Math.round(stability * (0.5 + random.nextDouble())));
+            builder.addReviewed(due, lastReview, stability, 1 + random.nextDouble() * 9, FSRSState.REVIEW);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.vocabulary.vocabularyBackend.config.MongoIndexConfig;
+import com.vocabulary.vocabularyBackend.dto.VocabularyCursor;
+import com.vocabulary.vocabularyBackend.dto.VocabularyOrder;
+import com.vocabulary.vocabularyBackend.model.VocabularyEntry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explain-plan check for every VocabularyRepository query.
+ * <p>
+ * Each repository method is executed against a scratch database; the commands the driver
+ * actually sends are captured and re-run through explain. The test fails when a winning plan
+ * contains a COLLSCAN or an in-memory SORT stage, i.e. when a query is not index-backed.
+ * <p>
+ * Needs a MongoDB instance (a throwaway database is created and dropped):
+ * MONGODB_TEST_URI=mongodb://localhost:27017 ./gradlew test --tests '*VocabularyIndexExplainTest'
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class VocabularyIndexExplainTest {
+
+    private static final Set<String> EXPLAINABLE = Set.of("find", "count", "aggregate");
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+
+    private static final List<Document> captured = new CopyOnWriteArrayList<>();
+    private static MongoClient client;
+    private static MongoTemplate template;
+    private static VocabularyRepository repository;
+    private static String databaseName;
+    private static String sampleId;
+
+    @BeforeAll
+    static void setUp() {
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (EXPLAINABLE.contains(event.getCommandName())) {
+                    captured.add(Document.parse(event.getCommand().toJson()));
+                }
+            }
+        };
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(System.getenv("MONGODB_TEST_URI")))
+                .addCommandListener(listener)
+                .build();
+        client = MongoClients.create(settings);
+        databaseName = "explain_" + UUID.randomUUID().toString().replace("-", "");
+        template = new MongoTemplate(client, databaseName);
+
+        MongoIndexConfig.ensureIndexes(template, MongoIndexConfig.INDEXED_DOCUMENTS);
+        repository = new MongoRepositoryFactory(template).getRepository(VocabularyRepository.class);
+
+        List<VocabularyEntry> entries = new ArrayList<>();
+        for (int user = 0; user < 5; user++) {
+            for (int i = 0; i < 200; i++) {
+                VocabularyEntry entry = new VocabularyEntry(
+                        "word-" + i, "definition", "example", "exampleTrans", "realLifeDef",
+                        "surroundingText", "video-" + (i % 10), null, "user-" + user);
+                entry.getFsrsCard().setDueDate(LocalDateTime.now().plusDays(i - 100));
+                entries.add(entry);
+            }
+        }
+        sampleId = repository.saveAll(entries).get(0).getId();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (template != null) {
+            template.getDb().drop();
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void findDueCardsUsesIndex() {
+        assertIndexBacked("findDueCards", () -> repository.findDueCards(
+                "user-1", LocalDateTime.now(),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "fsrsCard.dueDate"))));
+    }
+
+    @Test
+    void countDueCardsUsesIndex() {
+        assertIndexBacked("countDueCards", () -> repository.countDueCards("user-1", LocalDateTime.now()));
+    }
+
+    @Test
+    void findByUserIdUsesIndex() {
+        assertIndexBacked("findByUserId", () -> repository.findByUserId("user-1"));
+    }
+
+    @Test
+    void findByUserIdOrderedByDueDateUsesIndex() {
+        assertIndexBacked("findByUserIdOrderByFsrsCardDueDateAscCreatedAtAsc",
+                () -> repository.findByUserIdOrderByFsrsCardDueDateAscCreatedAtAsc("user-1"));
+    }
+
+    @Test
+    void findByUserIdOrderByCreatedAtDescUsesIndex() {
+        assertIndexBacked("findByUserIdOrderByCreatedAtDesc",
+                () -> repository.findByUserIdOrderByCreatedAtDesc("user-1"));
+    }
+
+    @Test
+    void existsByUserIdAndTextUsesIndex() {
+        assertIndexBacked("existsByUserIdAndText", () -> repository.existsByUserIdAndText("user-1", "word-7"));
+    }
+
+    @Test
+    void findByUserIdAndVideoTitleUsesIndex() {
+        assertIndexBacked("findByUserIdAndVideoTitle",
+                () -> repository.findByUserIdAndVideoTitle("user-1", "video-3"));
+    }
+
+    @Test
+    void countByUserIdUsesIndex() {
+        assertIndexBacked("countByUserId", () -> repository.countByUserId("user-1"));
+    }
+
+    @Test
+    void findByIdAndUserIdUsesIndex() {
+        assertIndexBacked("findByIdAndUserId", () -> repository.findByIdAndUserId(sampleId, "user-0"));
+    }
+
+    @Test
+    void findPageByDueDateUsesIndex() {
+        List<VocabularyEntry> first = repository.findPage("user-1", VocabularyOrder.DUE_DATE_ASC, null, 20, Set.of());
+        VocabularyCursor cursor = VocabularyCursor.after(first.get(first.size() - 1), VocabularyOrder.DUE_DATE_ASC);
+        assertIndexBacked("findPage(DUE_DATE_ASC)",
+                () -> repository.findPage("user-1", VocabularyOrder.DUE_DATE_ASC, cursor, 20, Set.of()));
+    }
+
+    @Test
+    void findPageByCreatedAtUsesIndex() {
+        List<VocabularyEntry> first = repository.findPage("user-1", VocabularyOrder.CREATED_AT_DESC, null, 20, Set.of());
+        VocabularyCursor cursor = VocabularyCursor.after(first.get(first.size() - 1), VocabularyOrder.CREATED_AT_DESC);
+        assertIndexBacked("findPage(CREATED_AT_DESC)",
+                () -> repository.findPage("user-1", VocabularyOrder.CREATED_AT_DESC, cursor, 20, Set.of()));
+    }
+
+    private void assertIndexBacked(String label, Runnable repositoryCall) {
+        captured.clear();
+        repositoryCall.run();
+        List<Document> commands = new ArrayList<>(captured);
+        assertFalse(commands.isEmpty(), label + " sent no query command");
+
+        for (Document command : commands) {
+            Document explain = template.getDb().runCommand(new Document("explain", stripDriverFields(command))
+                    .append("verbosity", "queryPlanner"));
+            List<String> stages = new ArrayList<>();
+            collectWinningStages(explain, stages, false);
+
+            assertFalse(stages.isEmpty(), label + " explain returned no winning plan: " + explain.toJson());
+            for (String stage : stages) {
+                assertFalse(FORBIDDEN_STAGES.contains(stage),
+                        label + " uses " + stage + " stage: " + explain.toJson());
+            }
+        }
+    }
+
+    private static Document stripDriverFields(Document command) {
+        Document copy = new Document();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")) {
+                copy.append(key, value);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Collect every "stage" name below a winningPlan, at any depth (inputStage, inputStages,
+     * aggregation $cursor wrappers, SBE queryPlan wrappers...).
+     */
+    private static void collectWinningStages(Object node, List<String> stages, boolean inWinningPlan) {
+        if (node instanceof Document doc) {
+            for (var entry : doc.entrySet()) {
+                if (entry.getKey().equals("rejectedPlans")) {
+                    continue;
+                }
+                boolean winning = inWinningPlan || entry.getKey().equals("winningPlan");
+                if (winning && entry.getKey().equals("stage") && entry.getValue() instanceof String stage) {
+                    stages.add(stage);
+                }
+                collectWinningStages(entry.getValue(), stages, winning);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object item : list) {
+                collectWinningStages(item, stages, inWinningPlan);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.vocabulary.vocabularyBackend.config.MongoIndexConfig;
+import com.vocabulary.vocabularyBackend.model.VoiceTranscriptChunk;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chunk generations against a real MongoDB: the steps appendMessages takes to replace items
+ * below the stored length, checked from the point of view of readers on either generation.
+ * <p>
+ * Needs a MongoDB instance (a throwaway database is created and dropped):
+ * MONGODB_TEST_URI=mongodb://localhost:27017 ./gradlew test --tests '*VoiceTranscriptChunkRepositoryTest'
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class VoiceTranscriptChunkRepositoryTest {
+
+    private static final String USER = "user-1";
+
+    private static MongoClient client;
+    private static MongoTemplate template;
+    private static VoiceTranscriptChunkRepositoryCustom repository;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(System.getenv("MONGODB_TEST_URI"));
+        template = new MongoTemplate(client, "chunks_" + UUID.randomUUID().toString().replace("-", ""));
+        MongoIndexConfig.ensureIndexes(template, List.of(VoiceTranscriptChunk.class));
+        repository = new VoiceTranscriptChunkRepositoryCustomImpl(template);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (template != null) {
+            template.getDb().drop();
+        }
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void replacementBelowStoredLength() {
+        String session = UUID.randomUUID().toString();
+        List<String> original = items("old", 0, 250);
+        repository.writeItems(USER, session, 0, 0, original.subList(0, 120));
+        repository.writeItems(USER, session, 0, 120, original.subList(120, 250));
+        assertEquals(original, repository.findItemRange(USER, session, 0, 0, 250));
+
+        // Replace from 130: copy 100..129, write generation 1 from chunk 1
+        List<String> replacement = new ArrayList<>(repository.findItemRange(USER, session, 0, 100, 130));
+        replacement.addAll(items("new", 130, 135));
+        repository.deleteGeneration(USER, session, 1);
+        repository.writeItems(USER, session, 1, 100, replacement);
+
+        // Before the commit readers of generation 0 still see every committed item
+        assertEquals(original, repository.findItemRange(USER, session, 0, 0, 250));
+
+        List<String> expected = new ArrayList<>(original.subList(0, 130));
+        expected.addAll(items("new", 130, 135));
+        assertEquals(expected, repository.findItemRange(USER, session, 1, 0, 135));
+
+        repository.deleteReplaced(USER, session, 1, 1);
+        assertEquals(100, repository.findItemRange(USER, session, 0, 0, 250).size());
+        assertEquals(expected, repository.findItemRange(USER, session, 1, 0, 135));
+
+        // Appends continue in generation 1
+        repository.writeItems(USER, session, 1, 135, items("more", 135, 210));
+        expected.addAll(items("more", 135, 210));
+        assertEquals(expected, repository.findItemRange(USER, session, 1, 0, 210));
+    }
+
+    private static List<String> items(String prefix, int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "{\"id\":\"" + prefix + "-" + i + "\"}").toList();
+    }
+}
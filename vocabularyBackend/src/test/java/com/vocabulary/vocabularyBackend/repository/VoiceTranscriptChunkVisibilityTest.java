@@ -0,0 +1,80 @@
+package com.vocabulary.vocabularyBackend.repository;
+
+import com.vocabulary.vocabularyBackend.model.VoiceTranscriptChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Which chunk items a reader sees while a tail replacement below the stored length is written
+ * as the next generation, committed, and its replaced chunks are cleaned up.
+ */
+class VoiceTranscriptChunkVisibilityTest {
+
+    private static final int MAX = VoiceTranscriptChunk.MAX_ITEMS;
+
+    @Test
+    void replacementBelowStoredLengthIsInvisibleUntilCommitted() {
+        List<String> original = items("old", 0, 250);
+        List<VoiceTranscriptChunk> stored = new ArrayList<>(chunks(0, 0, original));
+
+        // Replace from index 130 with 5 items: generation 1 holds chunk 1 = old 100..129 + new
+        List<String> replacement = new ArrayList<>(original.subList(100, 130));
+        replacement.addAll(items("new", 130, 135));
+        stored.addAll(chunks(1, 100, replacement));
+
+        // Not committed yet (or the writer died here): generation 0 readers see the whole old transcript
+        assertEquals(original, read(stored, 0, 0, 250));
+
+        // Committed: generation 1, length 135
+        List<String> expected = new ArrayList<>(original.subList(0, 130));
+        expected.addAll(items("new", 130, 135));
+        assertEquals(expected, read(stored, 1, 0, 135));
+        assertEquals(expected.subList(120, 135), read(stored, 1, 120, 135));
+
+        // Replaced chunks cleaned up: a reader still on generation 0 gets a short read and retries
+        stored.removeIf(chunk -> chunk.getGeneration() < 1 && chunk.getChunkIndex() >= 1);
+        assertEquals(100, read(stored, 0, 0, 250).size());
+        assertEquals(expected, read(stored, 1, 0, 135));
+    }
+
+    @Test
+    void newerGenerationAboveTheCommittedOneIsIgnored() {
+        List<String> original = items("old", 0, 150);
+        List<VoiceTranscriptChunk> stored = new ArrayList<>(chunks(0, 0, original));
+        // Left by a failed write of generation 2 while generation 0 is committed
+        stored.addAll(chunks(2, 0, items("junk", 0, 40)));
+
+        assertEquals(original, read(stored, 0, 0, 150));
+    }
+
+    private static List<String> read(List<VoiceTranscriptChunk> stored, long generation, int from, int to) {
+        List<VoiceTranscriptChunk> visible = stored.stream()
+                .filter(chunk -> chunk.getGeneration() <= generation)
+                .sorted(Comparator.comparingInt(VoiceTranscriptChunk::getChunkIndex)
+                        .thenComparing(Comparator.comparingLong(VoiceTranscriptChunk::getGeneration).reversed()))
+                .toList();
+        return VoiceTranscriptChunkRepositoryCustomImpl.visibleItems(visible, from, to);
+    }
+
+    private static List<VoiceTranscriptChunk> chunks(long generation, int fromIndex, List<String> items) {
+        List<VoiceTranscriptChunk> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += MAX) {
+            VoiceTranscriptChunk chunk = new VoiceTranscriptChunk();
+            chunk.setChunkIndex((fromIndex + start) / MAX);
+            chunk.setGeneration(generation);
+            chunk.setItems(new ArrayList<>(items.subList(start, Math.min(items.size(), start + MAX))));
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static List<String> items(String prefix, int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "{\"id\":\"" + prefix + "-" + i + "\"}").toList();
+    }
+}
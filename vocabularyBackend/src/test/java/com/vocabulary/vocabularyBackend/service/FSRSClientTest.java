@@ -0,0 +1,210 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import com.vocabulary.vocabularyBackend.dto.FSRSReviewRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FSRSClient against a local stub of the Python service. The stub answers every request after
+ * LATENCY (standing in for network + Flask overhead) and returns each card with difficulty + 1,
+ * so result order can be checked.
+ */
+class FSRSClientTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FSRSClientTest.class);
+    private static final Duration LATENCY = Duration.ofMillis(2);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer stub;
+    private final AtomicInteger singleRequests = new AtomicInteger();
+    private final AtomicInteger batchRequests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @AfterEach
+    void stopStub() {
+        if (stub != null) {
+            stub.stop(0);
+        }
+    }
+
+    @Test
+    void batchIsChunkedAndKeepsOrder() {
+        FSRSClient client = client(true, 16, 100);
+
+        List<FSRSCardDTO> results = client.reviewCards(reviews(250));
+
+        assertEquals(250, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1.0, results.get(i).getDifficulty(), "result #" + i);
+        }
+        assertEquals(3, batchRequests.get());
+        assertEquals(0, singleRequests.get());
+    }
+
+    @Test
+    void fallsBackToConcurrentSingleReviewsWithoutBatchEndpoint() {
+        FSRSClient client = client(false, 4, 100);
+
+        List<FSRSCardDTO> results = client.reviewCards(reviews(40));
+        assertEquals(40, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1.0, results.get(i).getDifficulty(), "result #" + i);
+        }
+        assertEquals(40, singleRequests.get());
+        assertTrue(maxInFlight.get() <= 4, "max in flight " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "requests were not sent concurrently");
+
+        // The missing endpoint is remembered
+        client.reviewCards(reviews(10));
+        assertEquals(50, singleRequests.get());
+    }
+
+    @Test
+    void rejectedBatchFails() {
+        FSRSClient client = client(true, 16, 100);
+        List<FSRSReviewRequest> reviews = new ArrayList<>(reviews(3));
+        reviews.set(1, new FSRSReviewRequest(new FSRSCardDTO(), 9, null));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.reviewCards(reviews));
+        assertEquals("Invalid card data sent to FSRS service", e.getMessage());
+    }
+
+    /**
+     * Per-card cost of one POST /review per card (the old call pattern) against batched reviews.
+     * Timing only, so it runs with RUN_BENCHMARKS=true:
+     * RUN_BENCHMARKS=true ./gradlew test --tests '*FSRSClientTest.perCardOverhead'
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+    void perCardOverhead() {
+        int cards = 200;
+        FSRSClient client = client(true, 16, 100);
+        List<FSRSReviewRequest> reviews = reviews(cards);
+        client.reviewCards(reviews(20)); // warm up connections
+        for (int i = 0; i < 20; i++) {
+            client.reviewCard(reviews.get(i).getCard(), 3, null);
+        }
+
+        long started = System.nanoTime();
+        for (FSRSReviewRequest review : reviews) {
+            client.reviewCard(review.getCard(), review.getRating(), review.getReviewTime());
+        }
+        double sequentialMs = (System.nanoTime() - started) / 1e6 / cards;
+
+        started = System.nanoTime();
+        client.reviewCards(reviews);
+        double batchedMs = (System.nanoTime() - started) / 1e6 / cards;
+
+        logger.info("FSRS per-card overhead (stub latency {} ms): sequential {} ms, batched {} ms",
+                LATENCY.toMillis(), String.format("%.3f", sequentialMs), String.format("%.3f", batchedMs));
+        assertTrue(batchedMs < sequentialMs);
+    }
+
+    private FSRSClient client(boolean batchEndpoint, int maxConcurrency, int batchSize) {
+        try {
+            stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/review", exchange -> handle(exchange, singleRequests, request -> reviewed(request.get("card"))));
+        if (batchEndpoint) {
+            stub.createContext("/review-batch", exchange -> handle(exchange, batchRequests, request -> {
+                ArrayNode results = objectMapper.createArrayNode();
+                for (JsonNode review : request.get("reviews")) {
+                    if (review.get("rating").asInt() > 4) {
+                        return null;
+                    }
+                    results.add(reviewed(review.get("card")));
+                }
+                return objectMapper.createObjectNode().set("results", results);
+            }));
+        }
+        stub.start();
+
+        FSRSResilience resilience = new FSRSResilience(new FSRSResilience.Settings(
+                maxConcurrency, 1000, 20, 10, 0.5, Duration.ofSeconds(10), 3, 1, Duration.ZERO, Duration.ZERO,
+                false, Duration.ZERO, 20), new SimpleMeterRegistry(), System::nanoTime);
+        return new FSRSClient(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build(),
+                objectMapper,
+                resilience,
+                "http://127.0.0.1:" + stub.getAddress().getPort(),
+                Duration.ofSeconds(5),
+                batchSize);
+    }
+
+    private interface Handler {
+        JsonNode respond(JsonNode request);
+    }
+
+    private void handle(HttpExchange exchange, AtomicInteger counter, Handler handler) throws IOException {
+        // Contexts match by prefix: without a /review-batch context it would land on /review
+        if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        counter.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(LATENCY);
+            JsonNode response = handler.respond(objectMapper.readTree(exchange.getRequestBody()));
+            byte[] body = objectMapper.writeValueAsBytes(response == null
+                    ? objectMapper.createObjectNode().put("error", "invalid rating")
+                    : response);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response == null ? 400 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static ObjectNode reviewed(JsonNode card) {
+        return objectMapper.createObjectNode()
+                .put("difficulty", card.get("difficulty").asDouble() + 1)
+                .put("stability", 3.0)
+                .put("state", "Review")
+                .put("due", "2025-01-20T00:00:00+00:00")
+                .put("last_review", "2025-01-17T00:00:00+00:00")
+                .putNull("step");
+    }
+
+    private static List<FSRSReviewRequest> reviews(int count) {
+        List<FSRSReviewRequest> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FSRSCardDTO card = new FSRSCardDTO((double) i, 2.0, null, "Review", "2025-01-10T00:00:00Z", null);
+            reviews.add(new FSRSReviewRequest(card, 3, "2025-01-17T00:00:00Z"));
+        }
+        return reviews;
+    }
+}
@@ -0,0 +1,216 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.vocabulary.vocabularyBackend.dto.FSRSCardDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FSRSResilience through FSRSClient against a local fault-injecting stub of the FSRS service:
+ * each request (numbered from 0) gets a status code and a delay from the current fault plan.
+ */
+class FSRSResilienceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FSRSResilienceTest.class);
+
+    private static final String CARD = """
+            {"difficulty":5.0,"stability":3.0,"due":"2025-01-20T00:00:00+00:00","state":"Review",\
+            "last_review":"2025-01-17T00:00:00+00:00","step":null}""";
+
+    private record Fault(int status, long delayMillis) {
+        static final Fault OK = new Fault(200, 0);
+    }
+
+    private HttpServer stub;
+    private volatile IntFunction<Fault> faults = n -> Fault.OK;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong clockOffset = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/review", exchange -> {
+            Fault fault = faults.apply(requests.getAndIncrement());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(fault.delayMillis());
+                byte[] body = (fault.status() == 200 ? CARD : "{\"error\":\"injected\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(fault.status(), body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        stub.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(1); // let stalled requests (lost hedges) finish
+    }
+
+    @Test
+    void retriesTransientFailures() {
+        faults = n -> n < 2 ? new Fault(503, 0) : Fault.OK;
+        FSRSClient client = client(settings(3, 16, 64, false));
+
+        assertEquals("Review", review(client).getState());
+        assertEquals(3, requests.get());
+        assertEquals(2.0, meterRegistry.get("fsrs.client.retries").counter().count());
+    }
+
+    @Test
+    void clientErrorsAreNotRetriedAndDoNotOpenTheCircuit() {
+        faults = n -> new Fault(400, 0);
+        FSRSClient client = client(settings(3, 16, 64, false));
+
+        for (int i = 0; i < 20; i++) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> review(client));
+            assertEquals("Invalid card data sent to FSRS service", e.getMessage());
+        }
+        assertEquals(20, requests.get());
+        assertEquals(0.0, circuitState());
+    }
+
+    @Test
+    void circuitOpensFailsFastAndRecovers() {
+        faults = n -> new Fault(500, 0);
+        FSRSClient client = client(settings(1, 16, 64, false));
+
+        // Window 10, minimum 5 calls, 50% failure rate: opens on the 5th failure
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0.0, circuitState());
+            assertThrows(RuntimeException.class, () -> review(client));
+        }
+        assertEquals(1.0, circuitState());
+        int sent = requests.get();
+
+        // Open: rejected without a request
+        assertThrows(FSRSResilience.RejectedException.class, () -> review(client));
+        assertEquals(sent, requests.get());
+        assertEquals(1.0, meterRegistry.get("fsrs.client.requests").tag("outcome", "circuit_open").counter().count());
+
+        // After the open duration: trial calls go through and close it again
+        faults = n -> Fault.OK;
+        clockOffset.addAndGet(Duration.ofSeconds(11).toNanos());
+        for (int i = 0; i < 3; i++) {
+            review(client);
+        }
+        assertEquals(0.0, circuitState());
+    }
+
+    @Test
+    void bulkheadCapsInFlightAndRejectsOverflow() {
+        faults = n -> new Fault(200, 300);
+        FSRSClient client = client(settings(1, 2, 1, false));
+
+        List<CompletableFuture<FSRSCardDTO>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            calls.add(client.reviewCardAsync(card(), 3, "2025-01-17T00:00:00Z"));
+        }
+        int rejected = 0;
+        for (CompletableFuture<FSRSCardDTO> call : calls) {
+            try {
+                call.join();
+            } catch (CompletionException e) {
+                assertInstanceOf(FSRSResilience.RejectedException.class, e.getCause());
+                rejected++;
+            }
+        }
+        assertEquals(2, rejected);
+        assertEquals(3, requests.get());
+        assertTrue(maxInFlight.get() <= 2, "max in flight " + maxInFlight.get());
+    }
+
+    /**
+     * One request in 25 stalls for 800 ms. With hedging a second copy goes out after the recent
+     * p95 (a few ms), so no call waits for the stalled one.
+     */
+    @Test
+    void hedgingCutsTailLatency() {
+        faults = n -> n % 25 == 24 ? new Fault(200, 800) : new Fault(200, 2);
+        FSRSClient client = client(settings(1, 16, 64, true));
+
+        for (int i = 0; i < 30; i++) {
+            review(client); // latency samples for the p95
+        }
+        long slowest = 0;
+        for (int i = 0; i < 50; i++) {
+            long started = System.nanoTime();
+            review(client);
+            slowest = Math.max(slowest, System.nanoTime() - started);
+        }
+
+        double won = meterRegistry.get("fsrs.client.hedges").tag("result", "won").counter().count();
+        logger.debug("Hedging: slowest call {} ms, hedges won {}", slowest / 1_000_000, (long) won);
+        assertTrue(won >= 1, "no hedge won");
+        assertTrue(slowest < Duration.ofMillis(400).toNanos(), "slowest call " + slowest / 1e6 + " ms");
+    }
+
+    private FSRSResilience.Settings settings(int maxAttempts, int maxConcurrency, int maxQueued, boolean hedge) {
+        return new FSRSResilience.Settings(
+                maxConcurrency, maxQueued,
+                10, 5, 0.5, Duration.ofSeconds(10), 3,
+                maxAttempts, Duration.ofMillis(5), Duration.ofMillis(20),
+                hedge, Duration.ofMillis(5), 20);
+    }
+
+    private FSRSClient client(FSRSResilience.Settings settings) {
+        FSRSResilience resilience = new FSRSResilience(settings, meterRegistry, () -> System.nanoTime() + clockOffset.get());
+        return new FSRSClient(
+                HttpClient.newHttpClient(),
+                new ObjectMapper(),
+                resilience,
+                "http://127.0.0.1:" + stub.getAddress().getPort(),
+                Duration.ofSeconds(5),
+                100);
+    }
+
+    private double circuitState() {
+        // Endpoint meters are registered on its first call; before that the circuit is closed
+        Gauge state = meterRegistry.find("fsrs.client.circuit.state").tag("endpoint", "/review").gauge();
+        return state == null ? 0.0 : state.value();
+    }
+
+    private static FSRSCardDTO review(FSRSClient client) {
+        return client.reviewCard(card(), 3, "2025-01-17T00:00:00Z");
+    }
+
+    private static FSRSCardDTO card() {
+        return new FSRSCardDTO(5.0, 2.0, null, "Review", "2025-01-10T00:00:00Z", null);
+    }
+}
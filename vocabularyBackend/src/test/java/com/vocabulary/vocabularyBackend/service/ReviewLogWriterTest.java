@@ -0,0 +1,141 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.model.ReviewLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReviewLogWriter against an in-memory sink (no MongoDB needed).
+ */
+class ReviewLogWriterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<ReviewLog>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void batchesBySizeAndInterval() throws Exception {
+        ReviewLogWriter writer = writer(batch -> batches.add(List.copyOf(batch)), 100, 10, Duration.ofMillis(200));
+        try {
+            writer.append(logs(25));
+            waitFor(() -> written() == 25);
+
+            // Full batches go out right away, the remainder after the flush interval
+            assertEquals(List.of(10, 10, 5), batches.stream().map(List::size).toList());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void dropsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ReviewLogWriter writer = writer(batch -> {
+            await(release);
+            batches.add(List.copyOf(batch));
+        }, 5, 1, Duration.ofMillis(50));
+        try {
+            writer.append(logs(1));
+            waitFor(() -> meterRegistry.get("review.logs.queued").gauge().value() == 0); // taken by the blocked writer
+            writer.append(logs(8));
+
+            assertEquals(3, counter("dropped"));
+            release.countDown();
+            waitFor(() -> written() == 6);
+        } finally {
+            release.countDown();
+            writer.close();
+        }
+    }
+
+    @Test
+    void failedInsertIsCountedAndWriterKeepsGoing() throws Exception {
+        ReviewLogWriter writer = writer(batch -> {
+            if (batches.isEmpty()) {
+                batches.add(List.of());
+                throw new IllegalStateException("insert failed");
+            }
+            batches.add(List.copyOf(batch));
+        }, 100, 10, Duration.ofMillis(20));
+        try {
+            writer.append(logs(3));
+            waitFor(() -> counter("failed") == 3);
+            writer.append(logs(2));
+            waitFor(() -> written() == 2);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void closeWritesQueuedEntries() {
+        ReviewLogWriter writer = writer(batch -> batches.add(List.copyOf(batch)), 100, 50, Duration.ofSeconds(30));
+        writer.append(logs(7));
+        writer.close();
+
+        assertEquals(7, written());
+        assertEquals(7, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void disabledWriterIgnoresEntries() {
+        ReviewLogWriter writer = new ReviewLogWriter(batches::add, meterRegistry, false, 100, 10, Duration.ofMillis(10));
+        writer.append(logs(3));
+        writer.close();
+
+        assertFalse(writer.isEnabled());
+        assertTrue(batches.isEmpty());
+    }
+
+    private ReviewLogWriter writer(Consumer<List<ReviewLog>> sink, int capacity, int batchSize, Duration interval) {
+        return new ReviewLogWriter(sink, meterRegistry, true, capacity, batchSize, interval);
+    }
+
+    private static List<ReviewLog> logs(int count) {
+        List<ReviewLog> logs = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> {
+            ReviewLog log = new ReviewLog();
+            log.setUserId("user");
+            log.setVocabularyId("v" + i);
+            log.setRating(3);
+            logs.add(log);
+        });
+        return logs;
+    }
+
+    private double written() {
+        return counter("written");
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("review.logs").tag("outcome", outcome).counter().count();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.vocabulary.vocabularyBackend.model.VocabularySyncState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The committed sync watermark computed from a stored VocabularySyncState (no MongoDB needed).
+ */
+class VocabularySyncServiceTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void noStateIsVersionZero() {
+        assertEquals(0, VocabularySyncService.committedVersion(null, NOW));
+    }
+
+    @Test
+    void nothingPendingIsTheCurrentVersion() {
+        assertEquals(42, VocabularySyncService.committedVersion(state(42), NOW));
+
+        VocabularySyncState legacy = state(42);
+        legacy.setPending(null); // stored before pending blocks existed
+        assertEquals(42, VocabularySyncService.committedVersion(legacy, NOW));
+    }
+
+    @Test
+    void stopsBelowTheLowestLivePendingBlock() {
+        VocabularySyncState state = state(50, pending(31, NOW + 1), pending(41, NOW + 1000));
+        assertEquals(30, VocabularySyncService.committedVersion(state, NOW));
+    }
+
+    @Test
+    void expiredPendingBlocksAreIgnored() {
+        VocabularySyncState state = state(50, pending(31, NOW), pending(41, NOW + 1000));
+        assertEquals(40, VocabularySyncService.committedVersion(state, NOW));
+
+        VocabularySyncState allExpired = state(50, pending(31, NOW - 1), pending(41, NOW));
+        assertEquals(50, VocabularySyncService.committedVersion(allExpired, NOW));
+    }
+
+    private static VocabularySyncState state(long version, VocabularySyncState.PendingVersions... pending) {
+        VocabularySyncState state = new VocabularySyncState();
+        state.setUserId("user-1");
+        state.setVersion(version);
+        if (pending.length > 0) {
+            state.setPending(new ArrayList<>(List.of(pending)));
+        }
+        return state;
+    }
+
+    private static VocabularySyncState.PendingVersions pending(long first, long expiresAt) {
+        VocabularySyncState.PendingVersions pending = new VocabularySyncState.PendingVersions();
+        pending.setToken("token-" + first);
+        pending.setFirst(first);
+        pending.setExpiresAt(expiresAt);
+        return pending;
+    }
+}
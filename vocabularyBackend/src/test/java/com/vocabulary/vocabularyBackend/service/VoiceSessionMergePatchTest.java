@@ -0,0 +1,50 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VoiceSessionService.mergePatch against the examples of RFC 7386, Appendix A.
+ */
+class VoiceSessionMergePatchTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // original, patch, result
+    private static final String[][] RFC_7386_EXAMPLES = {
+            {"{\"a\":\"b\"}", "{\"a\":\"c\"}", "{\"a\":\"c\"}"},
+            {"{\"a\":\"b\"}", "{\"b\":\"c\"}", "{\"a\":\"b\",\"b\":\"c\"}"},
+            {"{\"a\":\"b\"}", "{\"a\":null}", "{}"},
+            {"{\"a\":\"b\",\"b\":\"c\"}", "{\"a\":null}", "{\"b\":\"c\"}"},
+            {"{\"a\":[\"b\"]}", "{\"a\":\"c\"}", "{\"a\":\"c\"}"},
+            {"{\"a\":\"c\"}", "{\"a\":[\"b\"]}", "{\"a\":[\"b\"]}"},
+            {"{\"a\":{\"b\":\"c\"}}", "{\"a\":{\"b\":\"d\",\"c\":null}}", "{\"a\":{\"b\":\"d\"}}"},
+            {"{\"a\":[{\"b\":\"c\"}]}", "{\"a\":[1]}", "{\"a\":[1]}"},
+            {"[\"a\",\"b\"]", "[\"c\",\"d\"]", "[\"c\",\"d\"]"},
+            {"{\"a\":\"b\"}", "[\"c\"]", "[\"c\"]"},
+            {"{\"a\":\"foo\"}", "null", "null"},
+            {"{\"a\":\"foo\"}", "\"bar\"", "\"bar\""},
+            {"{\"e\":null}", "{\"a\":1}", "{\"e\":null,\"a\":1}"},
+            {"[1,2]", "{\"a\":\"b\",\"c\":null}", "{\"a\":\"b\"}"},
+            {"{}", "{\"a\":{\"bb\":{\"ccc\":null}}}", "{\"a\":{\"bb\":{}}}"},
+    };
+
+    @Test
+    void matchesRfc7386Examples() throws Exception {
+        for (String[] example : RFC_7386_EXAMPLES) {
+            JsonNode original = MAPPER.readTree(example[0]);
+            JsonNode merged = VoiceSessionService.mergePatch(original, MAPPER.readTree(example[1]));
+            assertEquals(MAPPER.readTree(example[2]), merged, example[0] + " + " + example[1]);
+            assertEquals(MAPPER.readTree(example[0]), original, "target modified by " + example[1]);
+        }
+    }
+
+    @Test
+    void missingTargetIsTreatedAsEmptyObject() throws Exception {
+        JsonNode merged = VoiceSessionService.mergePatch(null, MAPPER.readTree("{\"a\":{\"b\":null,\"c\":1}}"));
+        assertEquals(MAPPER.readTree("{\"a\":{\"c\":1}}"), merged);
+    }
+}
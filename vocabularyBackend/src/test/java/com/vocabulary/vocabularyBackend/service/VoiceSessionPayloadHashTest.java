@@ -0,0 +1,47 @@
+package com.vocabulary.vocabularyBackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VoiceSessionService.payloadHash, which decides whether a snapshot save changed anything.
+ */
+class VoiceSessionPayloadHashTest {
+
+    @Test
+    void matchesTheStoredFormat() {
+        // SHA-256 of 0x01 len "[]", 0x01 len "[]", 0x00 (lengths as 4-byte big-endian)
+        assertEquals("5ea992045293b69b9114c63d6dedcc77178383215dd752c5c046e65f781c33dd",
+                VoiceSessionService.payloadHash("[]", "[]", null));
+    }
+
+    @Test
+    void isStableForEqualPayloads() {
+        String transcript = "[{\"role\":\"user\",\"text\":\"héllo\"}]";
+        assertEquals(VoiceSessionService.payloadHash(transcript, "[\"word\"]", "{}"),
+                VoiceSessionService.payloadHash(new String(transcript), "[\"word\"]", "{}"));
+    }
+
+    @Test
+    void fieldBoundariesAreNotAmbiguous() {
+        assertNotEquals(VoiceSessionService.payloadHash("ab", "c", null),
+                VoiceSessionService.payloadHash("a", "bc", null));
+        assertNotEquals(VoiceSessionService.payloadHash("[]", "", null),
+                VoiceSessionService.payloadHash("[]", null, ""));
+    }
+
+    @Test
+    void nullIsDistinctFromEmpty() {
+        assertNotEquals(VoiceSessionService.payloadHash("[]", "[]", null),
+                VoiceSessionService.payloadHash("[]", "[]", ""));
+    }
+
+    @Test
+    void anyChangedFieldChangesTheHash() {
+        String base = VoiceSessionService.payloadHash("[1]", "[2]", "{\"a\":1}");
+        assertNotEquals(base, VoiceSessionService.payloadHash("[1 ]", "[2]", "{\"a\":1}"));
+        assertNotEquals(base, VoiceSessionService.payloadHash("[1]", "[3]", "{\"a\":1}"));
+        assertNotEquals(base, VoiceSessionService.payloadHash("[1]", "[2]", "{\"a\":2}"));
+    }
+}